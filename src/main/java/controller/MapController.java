@@ -172,11 +172,12 @@ public class MapController implements PropertyChangeListener {
     public void propertyChange(PropertyChangeEvent evt) {
         // These enable buttons immediately, which is generally safe, but safer inside invokeLater
         SwingUtilities.invokeLater(() -> {
-            toggleButtons(true);
-
             if ("state".equals(evt.getPropertyName())) {
                 final FireState state = (FireState) evt.getNewValue();
 
+                // Partial results arrive while the load is still running, so keep the buttons disabled until it ends
+                toggleButtons(!state.isLoading());
+
                 if (state.getError() != null) {
                     JOptionPane.showMessageDialog(mainFrame, state.getError(), "Error", JOptionPane.ERROR_MESSAGE);
                 }
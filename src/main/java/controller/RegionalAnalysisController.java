@@ -85,6 +85,10 @@ public class RegionalAnalysisController {
                             MultiRegionFireStats resultStats = output.getStats();
                             setStats(resultStats);
                             popupView.updateStats(resultStats);
+                            if (output.isPartial()) {
+                                popupView.showWarning("Some days could not be loaded and are missing: "
+                                        + String.join("; ", output.getFailedChunks()));
+                            }
 
                             // Update the main map with the aggregated fires
                             if (mainFrame.getMapView() != null) {
@@ -5,19 +5,28 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import entities.Region;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.jxmapviewer.viewer.GeoPosition;
 import usecase.compare.CompareBoundaryDataAccess;
 import usecase.load_fires.LoadFiresBoundaryDataAccess;
@@ -27,14 +36,22 @@ import usecase.national_overview.NationalOverviewBoundaryDataAccess;
  * Data access object for fetching geographical boundary data from the Nominatim API.
  */
 public class BoundariesDataAccess implements LoadFiresBoundaryDataAccess, NationalOverviewBoundaryDataAccess, CompareBoundaryDataAccess {
-    private static final String API_URL_TEMPLATE =
-            "https://nominatim.openstreetmap.org/search?q=%s+canada&format=json&polygon_geojson=1&polygon_threshold=0.1";
-    private static final String NAME_KEY = "name";
-    private static final String GEOJSON_KEY = "geojson";
-    private static final String TYPE_KEY = "type";
-    private static final String COORDINATES_KEY = "coordinates";
-    private static final String POLYGON_TYPE = "Polygon";
-    private static final String MULTIPOLYGON_TYPE = "MultiPolygon";
+    /**
+     * System property that points the API requests at another server, for example a local stand-in.
+     */
+    public static final String BASE_URL_PROPERTY = "nominatim.baseUrl";
+    private static final String DEFAULT_BASE_URL = "https://nominatim.openstreetmap.org";
+    private static final String BOUNDARIES_RESOURCE = "boundaries.json";
+    private static final String BOUNDARY_CACHE_DIR = "data";
+    private static final String COMPILED_BOUNDARIES = "boundaries.bin";
+    private static final String FETCHED_BOUNDARIES = "nominatim_boundaries.bin";
+    // Nominatim's usage policy allows at most one request per second, which in practice means one at a time:
+    // request starts are spaced out, and a slow response is never overlapped by the next request
+    private static final int MAX_CONCURRENT_REQUESTS = 1;
+    private static final Duration REQUEST_INTERVAL = Duration.ofSeconds(1);
+    private static final String CANADA = "Canada";
+    private static final String API_PATH_TEMPLATE =
+            "/search?q=%s+canada&format=json&polygon_geojson=1&polygon_threshold=0.1";
 
     private static final Map<Province, String> PROVINCES_TO_API = new HashMap<>() {
         {
@@ -54,8 +71,55 @@ public class BoundariesDataAccess implements LoadFiresBoundaryDataAccess, Nation
         }
     };
 
-    private final Map<String, Region> provincesToRegionMap = new HashMap<>();
+    private final Map<String, Region> provincesToRegionMap = new ConcurrentHashMap<>();
     private final OkHttpClient client = new OkHttpClient();
+    private final String baseUrl;
+    private final String boundariesResource;
+    private final Path compiledBoundaries;
+    private final Path fetchedBoundaries;
+    private final long requestIntervalNanos;
+    private final Object requestLock = new Object();
+    private long nextRequestNanos;
+
+    /**
+     * Creates a BoundariesDataAccess that queries Nominatim, or the server named by the
+     * {@value #BASE_URL_PROPERTY} system property.
+     */
+    public BoundariesDataAccess() {
+        this(System.getProperty(BASE_URL_PROPERTY, DEFAULT_BASE_URL));
+    }
+
+    /**
+     * Creates a BoundariesDataAccess that sends its requests to the given server.
+     *
+     * @param baseUrl the scheme, host and port of the server, without a trailing slash.
+     */
+    public BoundariesDataAccess(final String baseUrl) {
+        this(baseUrl, BOUNDARIES_RESOURCE, Paths.get(BOUNDARY_CACHE_DIR), REQUEST_INTERVAL);
+    }
+
+    /**
+     * Creates a BoundariesDataAccess that sends its requests to the given server and keeps its boundary files in
+     * the given directory.
+     *
+     * @param baseUrl the scheme, host and port of the server, without a trailing slash.
+     * @param boundariesResource the name of the JSON resource with the provinces' boundaries.
+     * @param cacheDirectory where the compiled and fetched boundaries are kept.
+     * @param requestInterval the shortest time between the starts of two API requests.
+     */
+    BoundariesDataAccess(final String baseUrl, final String boundariesResource, final Path cacheDirectory,
+                         final Duration requestInterval) {
+        if (baseUrl.endsWith("/")) {
+            this.baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        } else {
+            this.baseUrl = baseUrl;
+        }
+        this.boundariesResource = boundariesResource;
+        this.compiledBoundaries = cacheDirectory.resolve(COMPILED_BOUNDARIES);
+        this.fetchedBoundaries = cacheDirectory.resolve(FETCHED_BOUNDARIES);
+        this.requestIntervalNanos = requestInterval.toNanos();
+        this.nextRequestNanos = System.nanoTime();
+    }
 
     /**
      * Retrieves a cached {@link Region} object by its province name.
@@ -70,32 +134,211 @@ public class BoundariesDataAccess implements LoadFiresBoundaryDataAccess, Nation
 
     /**
      * Loads the boundary data for all Canadian provinces and territories.
-     * This method first tries to load from boundaries.json file in resources.
-     * If the file is not found or fails to load, it falls back to fetching from the API.
+     * This method first tries to load from boundaries.json file in resources, which is compiled into a
+     * memory-mapped binary file on first use and read from that file afterwards.
+     * If the file is not found or fails to load, it falls back to the boundaries fetched from the API on an earlier
+     * run, or fetches them now.
+     * The "Canada" region is never fetched: it comes from the boundaries file or is derived from the provinces.
      *
      * @throws GetFireData.InvalidDataException if an error occurs during loading or parsing.
      */
     public void loadProvinces() throws GetFireData.InvalidDataException {
+        loadProvinces(region -> { });
+    }
+
+    /**
+     * Loads the boundary data for all Canadian provinces and territories, reporting each region as soon as it is
+     * available. When the boundaries are fetched from the API, the other provinces are still loaded if one fails.
+     *
+     * @param listener called with every loaded region, including "Canada"; it may be called from another thread.
+     * @throws GetFireData.InvalidDataException if an error occurs during loading or parsing.
+     */
+    public void loadProvinces(final Consumer<Region> listener) throws GetFireData.InvalidDataException {
         // Locate the local file in resources
-        InputStream inputStream = getClass().getClassLoader().getResourceAsStream("boundaries.json");
+        final URL resource = getClass().getClassLoader().getResource(this.boundariesResource);
 
-        if (inputStream != null) {
+        GetFireData.InvalidDataException failure = null;
+        if (resource != null) {
             System.out.println("JSON file exists");
-            loadProvincesFromJson(inputStream);
+            for (Region region : loadCompiledProvinces(resource).values()) {
+                this.publish(region, listener);
+            }
         } else {
             System.out.println("JSON file not found or failed to load. Falling back to API.");
+            failure = loadFetchedProvinces(listener);
+        }
+
+        // For the entire Canada, derived locally unless the boundaries file already has it
+        final Region canada = this.provincesToRegionMap.get(CANADA);
+        if (canada == null || canada.getBoundary() == null || canada.getBoundary().isEmpty()) {
+            final Region union = unionOfProvinces(this.provincesToRegionMap);
+            if (union != null) {
+                this.publish(union, listener);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void publish(final Region region, final Consumer<Region> listener) {
+        this.provincesToRegionMap.put(region.getProvinceName(), region);
+        listener.accept(region);
+    }
+
+    /**
+     * Loads the provinces from the boundaries fetched on an earlier run, or fetches them from the API.
+     * The provinces are fetched one at a time on a background thread, as Nominatim's usage policy asks, and each one
+     * is reported as soon as it arrives. The fetched boundaries are only saved once every province has been fetched, so a failed province
+     * is fetched again on the next run.
+     *
+     * @param listener called with every province as it becomes available.
+     * @return the first failure, or null if every province was loaded.
+     */
+    private GetFireData.InvalidDataException loadFetchedProvinces(final Consumer<Region> listener) {
+        // the server is part of the stamp, so boundaries fetched from another server are not reused
+        final long stamp = this.baseUrl.hashCode();
+        final Map<String, Region> cached = BoundaryFile.read(this.fetchedBoundaries, stamp);
+        if (cached != null) {
+            System.out.println("Loaded " + cached.size() + " boundaries fetched on an earlier run");
+            for (Region region : cached.values()) {
+                this.publish(region, listener);
+            }
+            return null;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS, runnable -> {
+            final Thread thread = new Thread(runnable, "boundaries-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Region>> futures = new ArrayList<>();
             for (Province prov : Province.values()) {
-                System.out.println(String.format("Started fetching boundaries data for %s.", prov.getDisplayName()));
-                final List<List<GeoPosition>> boundary = getBoundariesData(prov);
-                final Region region = new Region(prov.getDisplayName(), boundary);
-                this.provincesToRegionMap.put(prov.getDisplayName(), region);
-                System.out.println(String.format("Finished fetching boundaries data for %s.", prov.getDisplayName()));
+                futures.add(executor.submit(() -> {
+                    final String name = prov.getDisplayName();
+                    System.out.println(String.format("Started fetching boundaries data for %s.", name));
+                    final Region region = new Region(name, getBoundariesData(prov));
+                    this.publish(region, listener);
+                    System.out.println(String.format("Finished fetching boundaries data for %s.", name));
+                    return region;
+                }));
+            }
+
+            final List<Region> fetched = new ArrayList<>();
+            GetFireData.InvalidDataException failure = null;
+            for (Future<Region> future : futures) {
+                try {
+                    final Region region = future.get();
+                    if (region.getBoundary().isEmpty() && failure == null) {
+                        failure = new GetFireData.InvalidDataException("No boundary found for "
+                                + region.getProvinceName());
+                    }
+                    fetched.add(region);
+                }
+                catch (ExecutionException exception) {
+                    System.err.println("Failed to fetch boundaries: " + exception.getCause().getMessage());
+                    if (failure == null) {
+                        failure = new GetFireData.InvalidDataException("Failed to fetch boundaries: "
+                                + exception.getCause().getMessage());
+                    }
+                }
+            }
+            if (failure == null) {
+                saveFetchedProvinces(stamp, fetched);
             }
+            return failure;
         }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return new GetFireData.InvalidDataException("Interrupted while fetching boundaries.");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void saveFetchedProvinces(final long stamp, final List<Region> fetched) {
+        try {
+            BoundaryFile.write(this.fetchedBoundaries, stamp, fetched);
+        }
+        catch (IOException exception) {
+            System.err.println("Could not save the fetched boundaries: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Builds the "Canada" region as the union of the loaded provinces and territories.
+     * A point lies in a region when any of its polygons contains it, so the union is every province's polygons
+     * side by side; the polygon lists are shared with the provinces rather than copied.
+     *
+     * @param regions the loaded regions by name.
+     * @return the union, or null if no province or territory has a boundary.
+     */
+    static Region unionOfProvinces(final Map<String, Region> regions) {
+        final List<List<GeoPosition>> polygons = new ArrayList<>();
+        for (Province province : Province.values()) {
+            final Region region = regions.get(province.getDisplayName());
+            if (region != null && region.getBoundary() != null) {
+                polygons.addAll(region.getBoundary());
+            }
+        }
+        if (polygons.isEmpty()) {
+            return null;
+        }
+        return new Region(CANADA, polygons);
+    }
 
-        // For the entire Canada
-        final Region allCanada = new Region("Canada", getBoundariesData("canada"));
-        this.provincesToRegionMap.put("Canada", allCanada);
+    /**
+     * Loads the provinces from the compiled boundary file, compiling it from the JSON resource first if it is
+     * missing or was compiled from a different version of the resource.
+     * If the compiled file cannot be written, the provinces parsed from JSON are used as they are.
+     *
+     * @param resource the JSON resource with the provinces' boundaries.
+     * @return the loaded regions by name.
+     * @throws GetFireData.InvalidDataException if the JSON resource cannot be read or parsed.
+     */
+    private Map<String, Region> loadCompiledProvinces(final URL resource) throws GetFireData.InvalidDataException {
+        final long stamp = sourceStamp(resource);
+        Map<String, Region> regions = BoundaryFile.read(this.compiledBoundaries, stamp);
+        if (regions == null) {
+            final Map<String, Region> parsed = new LinkedHashMap<>();
+            try (InputStream inputStream = resource.openStream()) {
+                loadProvincesFromJson(inputStream, parsed);
+            }
+            catch (IOException exception) {
+                throw new GetFireData.InvalidDataException("Failed to read the boundaries file: "
+                        + exception.getMessage());
+            }
+            regions = parsed;
+            try {
+                BoundaryFile.write(this.compiledBoundaries, stamp, parsed.values());
+                final Map<String, Region> mapped = BoundaryFile.read(this.compiledBoundaries, stamp);
+                if (mapped != null) {
+                    regions = mapped;
+                }
+            }
+            catch (IOException exception) {
+                System.err.println("Could not compile the boundaries file: " + exception.getMessage());
+            }
+        }
+        System.out.println("Loaded " + regions.size() + " boundaries");
+        return regions;
+    }
+
+    /**
+     * Identifies a version of a resource by its size and modification time, without reading it.
+     */
+    private static long sourceStamp(final URL resource) {
+        try {
+            final URLConnection connection = resource.openConnection();
+            connection.setUseCaches(false);
+            return connection.getContentLengthLong() * 31 + connection.getLastModified();
+        }
+        catch (IOException exception) {
+            // an unknown stamp never matches a compiled file, so the resource is compiled again
+            return System.nanoTime();
+        }
     }
 
     /**
@@ -105,37 +348,20 @@ public class BoundariesDataAccess implements LoadFiresBoundaryDataAccess, Nation
      * @throws GetFireData.InvalidDataException if an error occurs during parsing.
      */
     public void loadProvincesFromJson(InputStream inputStream) throws GetFireData.InvalidDataException {
-        String content;
-        try (Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8)) {
-            content = scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
+        loadProvincesFromJson(inputStream, this.provincesToRegionMap);
+    }
 
-            // Parse JSON
-            JSONArray jsonArray = new JSONArray(content);
-            System.out.println("Number of objects in JSON array: " + jsonArray.length());
+    private static void loadProvincesFromJson(InputStream inputStream, Map<String, Region> regions)
+            throws GetFireData.InvalidDataException {
+        try (InputStream in = inputStream) {
+            final List<GeoJsonBoundaryReader.Place> places = GeoJsonBoundaryReader.read(in, Integer.MAX_VALUE);
+            System.out.println("Number of objects in JSON array: " + places.size());
 
             // Iterate through provinces and territories
-            for (int i = 0; i < jsonArray.length(); i++) {
-                final List<List<GeoPosition>> boundaries = new ArrayList<>();
-
-                String name = jsonArray.getJSONObject(i).getString(NAME_KEY);
-                JSONObject geoJsonObj = jsonArray.getJSONObject(i).getJSONObject(GEOJSON_KEY);
-                final String polygonType = geoJsonObj.getString(TYPE_KEY);
-                final JSONArray coords = geoJsonObj.getJSONArray(COORDINATES_KEY);
-
-                if (POLYGON_TYPE.equals(polygonType)) {
-                    final JSONArray outerRing = coords.getJSONArray(0);
-                    boundaries.add(parsePolygon(outerRing));
-                } else if (MULTIPOLYGON_TYPE.equals(polygonType)) {
-                    for (int j = 0; j < coords.length(); j++) {
-                        final JSONArray jsonPolygon = coords.getJSONArray(j);
-                        final List<GeoPosition> polygon = parsePolygon(jsonPolygon.getJSONArray(0));
-                        boundaries.add(polygon);
-                    }
-                }
-
-                final Region region = new Region(name, boundaries);
-                this.provincesToRegionMap.put(name, region);
-                System.out.println("Finished loading " + name + " from JSON file");
+            for (GeoJsonBoundaryReader.Place place : places) {
+                final Region region = new Region(place.getName(), place.getBoundary().asLists());
+                regions.put(place.getName(), region);
+                System.out.println("Finished loading " + place.getName() + " from JSON file");
             }
         } catch (Exception e) {
             System.err.println("Exception occurred when reading the boundaries file: " + e.getMessage());
@@ -158,21 +384,28 @@ public class BoundariesDataAccess implements LoadFiresBoundaryDataAccess, Nation
 
     /**
      * Fetches and parses the boundaries data for a single province from the Nominatim API.
+     * Requests from every thread are spaced out to respect the API's rate limit.
      *
      * @param provinceNameAPI The query parameter name of the province to fetch.
      * @return A list of polygons, where each polygon is a list of {@link GeoPosition} points.
      * @throws GetFireData.InvalidDataException if the API call fails or the response is invalid.
      */
     public List<List<GeoPosition>> getBoundariesData(final String provinceNameAPI) throws GetFireData.InvalidDataException {
-        final String url = String.format(API_URL_TEMPLATE, provinceNameAPI);
+        final String url = this.baseUrl + String.format(API_PATH_TEMPLATE, provinceNameAPI);
         final Request request = new Request.Builder().url(url).build();
+        try {
+            this.awaitRequestSlot();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new GetFireData.InvalidDataException("Interrupted while waiting to call the API.");
+        }
         try (Response response = this.client.newCall(request).execute()) {
             final ResponseBody responseBody = response.body();
             if (responseBody == null) {
                 throw new GetFireData.InvalidDataException("Response body was null.");
             }
-            final JSONArray responseArray = new JSONArray(responseBody.string());
-            List<List<GeoPosition>> parsedResponse = parseResponse(responseArray);
+            List<List<GeoPosition>> parsedResponse = parseResponse(responseBody.byteStream());
             System.out.println(String.format("Finished parsing response for %s.", provinceNameAPI));
             return parsedResponse;
         }
@@ -182,49 +415,34 @@ public class BoundariesDataAccess implements LoadFiresBoundaryDataAccess, Nation
     }
 
     /**
-     * Parses the JSON response from the Nominatim API into a list of polygons.
-     *
-     * @param responseArray The JSON array received from the API.
-     * @return A list of polygons representing the region's boundaries.
+     * Waits until the next request may start, so that request starts are at least the request interval apart.
      */
-    private List<List<GeoPosition>> parseResponse(final JSONArray responseArray) {
-        final List<List<GeoPosition>> boundaries = new ArrayList<>();
-        if (responseArray.isEmpty()) {
-            return boundaries;
+    private void awaitRequestSlot() throws InterruptedException {
+        final long wait;
+        synchronized (this.requestLock) {
+            final long now = System.nanoTime();
+            final long start = Math.max(now, this.nextRequestNanos);
+            this.nextRequestNanos = start + this.requestIntervalNanos;
+            wait = start - now;
         }
-
-        final JSONObject geoJsonObj = responseArray.getJSONObject(0).getJSONObject(GEOJSON_KEY);
-        final String polygonType = geoJsonObj.getString(TYPE_KEY);
-        final JSONArray coords = geoJsonObj.getJSONArray(COORDINATES_KEY);
-
-        if (POLYGON_TYPE.equals(polygonType)) {
-            final JSONArray outerRing = coords.getJSONArray(0);
-            boundaries.add(parsePolygon(outerRing));
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
         }
-        else if (MULTIPOLYGON_TYPE.equals(polygonType)) {
-            for (int i = 0; i < coords.length(); i++) {
-                final JSONArray jsonPolygon = coords.getJSONArray(i);
-                final List<GeoPosition> polygon = parsePolygon(jsonPolygon.getJSONArray(0));
-                boundaries.add(polygon);
-            }
-        }
-        return boundaries;
     }
 
     /**
-     * A helper method to parse a JSON array of coordinates into a list of {@link GeoPosition} objects.
+     * Parses the JSON response from the Nominatim API into a list of polygons.
+     * Only the first result is read; the response is streamed rather than loaded as a whole.
      *
-     * @param ringArray The JSON array representing a single polygon ring.
-     * @return A list of {@link GeoPosition} points.
-     */
-    private static List<GeoPosition> parsePolygon(final JSONArray ringArray) {
-        final List<GeoPosition> polygon = new ArrayList<>();
-        for (int i = 0; i < ringArray.length(); i++) {
-            final JSONArray point = ringArray.getJSONArray(i);
-            final double lon = point.getDouble(0);
-            final double lat = point.getDouble(1);
-            polygon.add(new GeoPosition(lat, lon));
-        }
-        return polygon;
+     * @param responseStream The JSON array received from the API.
+     * @return A list of polygons representing the region's boundaries.
+     * @throws IOException if the response cannot be read or is not a JSON array of results.
+     */
+    private static List<List<GeoPosition>> parseResponse(final InputStream responseStream) throws IOException {
+        final List<GeoJsonBoundaryReader.Place> places = GeoJsonBoundaryReader.read(responseStream, 1);
+        if (places.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return places.get(0).getBoundary().asLists();
     }
 }
@@ -0,0 +1,197 @@
+package data_access;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import entities.PackedBoundary;
+import entities.Region;
+import org.jxmapviewer.viewer.GeoPosition;
+
+/**
+ * Compiled region boundaries in a compact binary file that is memory-mapped when read.
+ * The file holds a header, a table of regions with their names and polygon ranges, the first vertex of every
+ * polygon, and the latitude and longitude of every vertex as floats. Reading a file maps it and wraps each region
+ * in a {@link PackedBoundary}, so loading takes a few milliseconds and the vertices stay off the heap.
+ * Every value is written big-endian and 4-byte aligned. A file whose header does not match, including one compiled
+ * from a different source, is treated as missing.
+ */
+final class BoundaryFile {
+
+    private static final int MAGIC = 0x57464244;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 5 + Long.BYTES;
+
+    private BoundaryFile() {
+    }
+
+    /**
+     * Maps a compiled file and returns its regions.
+     * @param file the compiled file
+     * @param sourceStamp identifies the source the file must have been compiled from
+     * @return the regions by name in file order, or null if the file is missing, stale or cannot be read
+     */
+    static Map<String, Region> read(Path file, long sourceStamp) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != sourceStamp) {
+                return null;
+            }
+            final int regionCount = buffer.getInt();
+            final int polygonCount = buffer.getInt();
+            final int vertexCount = buffer.getInt();
+
+            final String[] names = new String[regionCount];
+            final int[] firstPolygons = new int[regionCount];
+            final int[] polygonCounts = new int[regionCount];
+            for (int i = 0; i < regionCount; i++) {
+                firstPolygons[i] = buffer.getInt();
+                polygonCounts[i] = buffer.getInt();
+                final byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                names[i] = new String(name, StandardCharsets.UTF_8);
+                buffer.position(align(buffer.position()));
+            }
+
+            final IntBuffer offsets = slice(buffer, (polygonCount + 1) * Integer.BYTES).asIntBuffer();
+            final FloatBuffer coordinates = slice(buffer, vertexCount * 2 * Float.BYTES).asFloatBuffer();
+            if (buffer.hasRemaining() || offsets.get(0) != 0 || offsets.get(polygonCount) != vertexCount) {
+                return null;
+            }
+
+            final Map<String, Region> regions = new LinkedHashMap<>();
+            for (int i = 0; i < regionCount; i++) {
+                if (firstPolygons[i] < 0 || polygonCounts[i] < 0
+                        || firstPolygons[i] + polygonCounts[i] > polygonCount) {
+                    return null;
+                }
+                regions.put(names[i], new Region(names[i],
+                        new PackedBoundary(coordinates, offsets, firstPolygons[i], polygonCounts[i]).asLists()));
+            }
+            return regions;
+        }
+        catch (IOException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException
+               | IndexOutOfBoundsException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles regions into a file, replacing any earlier one.
+     * The file is written next to its final location and moved into place, so a reader never maps a partial file.
+     * @param file the compiled file
+     * @param sourceStamp identifies the source the regions were loaded from
+     * @param regions the regions to compile; a region without a boundary is stored without polygons
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path file, long sourceStamp, Iterable<Region> regions) throws IOException {
+        int regionCount = 0;
+        int polygonCount = 0;
+        long vertexCount = 0;
+        for (Region region : regions) {
+            regionCount++;
+            for (List<GeoPosition> polygon : polygonsOf(region)) {
+                polygonCount++;
+                vertexCount += polygon.size();
+            }
+        }
+        if (vertexCount > Integer.MAX_VALUE / 2) {
+            throw new IOException("Too many vertices to compile: " + vertexCount);
+        }
+
+        final Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, "boundaries", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sourceStamp);
+                out.writeInt(regionCount);
+                out.writeInt(polygonCount);
+                out.writeInt((int) vertexCount);
+
+                int firstPolygon = 0;
+                for (Region region : regions) {
+                    final byte[] name = region.getProvinceName().getBytes(StandardCharsets.UTF_8);
+                    final int regionPolygons = polygonsOf(region).size();
+                    out.writeInt(firstPolygon);
+                    out.writeInt(regionPolygons);
+                    out.writeInt(name.length);
+                    out.write(name);
+                    out.write(new byte[align(name.length) - name.length]);
+                    firstPolygon += regionPolygons;
+                }
+
+                int offset = 0;
+                for (Region region : regions) {
+                    for (List<GeoPosition> polygon : polygonsOf(region)) {
+                        out.writeInt(offset);
+                        offset += polygon.size();
+                    }
+                }
+                out.writeInt(offset);
+
+                for (Region region : regions) {
+                    for (List<GeoPosition> polygon : polygonsOf(region)) {
+                        for (GeoPosition vertex : polygon) {
+                            out.writeFloat((float) vertex.getLatitude());
+                            out.writeFloat((float) vertex.getLongitude());
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static List<List<GeoPosition>> polygonsOf(Region region) {
+        final List<List<GeoPosition>> boundary = region.getBoundary();
+        if (boundary == null) {
+            return new ArrayList<>();
+        }
+        return boundary;
+    }
+
+    /**
+     * Takes the next bytes of a buffer as a buffer of their own, in the same byte order.
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        final ByteBuffer slice = buffer.slice().limit(length);
+        buffer.position(buffer.position() + length);
+        return slice.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private static int align(int position) {
+        return (position + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+}
@@ -1,13 +1,15 @@
 package data_access;
 
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URL;
-import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import entities.Coordinate;
+import entities.FireBatch;
 import entities.FireFactory;
 import usecase.compare.CompareFireDataAccess;
 import usecase.load_fires.LoadFiresFireDataAccess;
@@ -19,22 +21,49 @@ public class FireDataAccess implements GetFireData, LoadFiresFireDataAccess, Nat
      * DataAccess implementation that relies on the NRT VIIRS active fire API.
      * Note that all failures get reported as InvalidDataException
      * exceptions to align with the requirements of the fireapi.dataAccess interface.
+     * Responses are kept per day in a {@link FirmsDayCache}; only days that are not cached are downloaded.
      */
 
+    /**
+     * System property that points the API requests at another server, for example a local stand-in.
+     */
+    public static final String BASE_URL_PROPERTY = "firms.baseUrl";
+    private static final String DEFAULT_BASE_URL = "https://firms.modaps.eosdis.nasa.gov/usfs/api/area/csv/";
     private static final String MAP_KEY = "2f1f3b83b749cc2829c806c0e8e8959c";
     private static final String SOURCE = "VIIRS_SNPP_NRT";
     private static final String REGION = "world";
     private static final String SL = "/";
-    private static final int BRIGHT4_INDEX = 2;
-    private static final int DATE_INDEX = 5;
-    private static final int CONFIDENCE_INDEX = 9;
-    private static final int BRIGHT5_INDEX = 11;
-    private static final int FRP_INDEX = 12;
-    private static final int DAYNIGHT_INDEX = 13;
 
     private static final int API_THRESHOLD = 10;
+    private static final String CACHE_DIR = "data/firms_cache";
+    private static final Duration TODAY_TTL = Duration.ofMinutes(30);
+
+    private final FirmsDayCache cache;
+    private final String baseUrl;
 
     public FireDataAccess(FireFactory fireFactory) {
+        this(fireFactory, new FirmsDayCache(Paths.get(CACHE_DIR), TODAY_TTL),
+                System.getProperty(BASE_URL_PROPERTY, DEFAULT_BASE_URL));
+    }
+
+    public FireDataAccess(FireFactory fireFactory, FirmsDayCache cache) {
+        this(fireFactory, cache, DEFAULT_BASE_URL);
+    }
+
+    /**
+     * Creates a FireDataAccess that sends its requests to the given server.
+     * @param fireFactory the fire factory
+     * @param cache the per-day response cache
+     * @param baseUrl the area CSV endpoint, up to and including {@code /area/csv/}
+     */
+    public FireDataAccess(FireFactory fireFactory, FirmsDayCache cache, String baseUrl) {
+        this.cache = cache;
+        if (baseUrl.endsWith(SL)) {
+            this.baseUrl = baseUrl;
+        }
+        else {
+            this.baseUrl = baseUrl + SL;
+        }
     }
 
     /**
@@ -55,38 +84,113 @@ public class FireDataAccess implements GetFireData, LoadFiresFireDataAccess, Nat
         if (dateRange > API_THRESHOLD) {
             dateRange = API_THRESHOLD;
         }
+        final LocalDate start;
+        try {
+            start = LocalDate.parse(date);
+        }
+        catch (DateTimeParseException exception) {
+            throw new GetFireData.InvalidDataException();
+        }
 
-        final String requestUrl = "https://firms.modaps.eosdis.nasa.gov/usfs/api/area/csv/" + MAP_KEY + SL + SOURCE
-                + SL + boundingBox + SL + dateRange + SL + date;
+        // serve what we can from the cache and note the span of days that still has to be downloaded
+        final FireBatch[] days = new FireBatch[Math.max(0, dateRange)];
+        int firstMissing = -1;
+        int lastMissing = -1;
+        for (int i = 0; i < days.length; i++) {
+            days[i] = cache.read(baseUrl, SOURCE, boundingBox, start.plusDays(i));
+            if (days[i] == null) {
+                if (firstMissing < 0) {
+                    firstMissing = i;
+                }
+                lastMissing = i;
+            }
+        }
 
-        final List<Coordinate> dataPoints = new ArrayList<>();
+        // one request covers every missing day; cached days inside that span are refreshed along the way
+        if (firstMissing >= 0) {
+            final LocalDate fetchStart = start.plusDays(firstMissing);
+            final Response response = fetch(lastMissing - firstMissing + 1, fetchStart.toString(), boundingBox);
+            final FireBatch fetched = response.points();
+            if (firstMissing == 0 && lastMissing == days.length - 1) {
+                writeDays(response, fetchStart, days.length, boundingBox);
+                return fetched;
+            }
+            final FireBatch[] fetchedDays = writeDays(response, fetchStart, lastMissing - firstMissing + 1,
+                    boundingBox);
+            System.arraycopy(fetchedDays, 0, days, firstMissing, fetchedDays.length);
+        }
 
-        // extract data from url:
-        try {
-            final URL url = new URL(requestUrl);
-            final InputStream in = url.openStream();
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-
-            String line;
-            reader.readLine();
-            while ((line = reader.readLine()) != null) {
-                final String[] values = line.split(",");
-
-                // only take vals that have nominal or high confidence (confidence == "n" or confidence == "h")
-                if (values[CONFIDENCE_INDEX].equals("n") || values[CONFIDENCE_INDEX].equals("h")) {
-                    final Coordinate coord = new Coordinate(Float.parseFloat(values[0]), Float.parseFloat(values[1]),
-                            new String[]{values[DATE_INDEX], values[DAYNIGHT_INDEX], values[CONFIDENCE_INDEX]},
-                            new double[]{Float.parseFloat(values[BRIGHT4_INDEX]),
-                                    Float.parseFloat(values[BRIGHT5_INDEX])}, Float.parseFloat(values[FRP_INDEX]));
-                    dataPoints.add(coord);
-                }
+        int total = 0;
+        for (FireBatch day : days) {
+            total += day.size();
+        }
+        final FireBatch.Builder dataPoints = new FireBatch.Builder(total);
+        for (FireBatch day : days) {
+            dataPoints.addAll(day);
+        }
+        return dataPoints.build();
+    }
+
+    /**
+     * Splits a downloaded batch by day and stores every day, including empty ones, in the cache.
+     * Nothing is stored when the response was not a FIRMS CSV, such as an empty body or an error page: its days
+     * would read as empty, and a day that has ended would then stay empty for good.
+     * @param response the downloaded detections
+     * @param firstDay the first day of the request
+     * @param dayCount the number of days in the request
+     * @param boundingBox the area of the request
+     * @return the detections of each day, in date order
+     */
+    private FireBatch[] writeDays(Response response, LocalDate firstDay, int dayCount, String boundingBox) {
+        final FireBatch fetched = response.points();
+        final int firstEpochDay = (int) firstDay.toEpochDay();
+        final FireBatch.Builder[] builders = new FireBatch.Builder[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            builders[i] = new FireBatch.Builder();
+        }
+        for (int i = 0; i < fetched.size(); i++) {
+            final int slot = fetched.getEpochDay(i) - firstEpochDay;
+            if (slot >= 0 && slot < dayCount) {
+                builders[slot].add(fetched, i);
             }
-            reader.close();
+        }
+        final FireBatch[] byDay = new FireBatch[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            byDay[i] = builders[i].build();
+            if (response.sawHeader()) {
+                cache.write(baseUrl, SOURCE, boundingBox, firstDay.plusDays(i), byDay[i]);
+            }
+        }
+        return byDay;
+    }
+
+    /**
+     * Downloads the given days from the API.
+     * @param dateRange the number of days, at most API_THRESHOLD
+     * @param date the first day
+     * @param boundingBox the area to fetch
+     * @return every nominal or high confidence detection in the response, and whether it had a FIRMS header
+     * @throws InvalidDataException if the request or the response fails
+     */
+    private Response fetch(int dateRange, String date, String boundingBox) throws InvalidDataException {
+        final String requestUrl = baseUrl + MAP_KEY + SL + SOURCE
+                + SL + boundingBox + SL + dateRange + SL + date;
+
+        // extract data from url:
+        try (InputStream in = new URL(requestUrl).openStream()) {
+            final FirmsCsvParser parser = new FirmsCsvParser();
+            final FireBatch points = parser.parseBatch(in);
+            return new Response(points, parser.sawHeader());
         }
 
         catch (Exception exception) {
             throw new GetFireData.InvalidDataException();
         }
-        return dataPoints;
+    }
+
+    /**
+     * The detections of one response, and whether it started with a FIRMS header, which makes it safe to cache.
+     */
+    private record Response(FireBatch points, boolean sawHeader) {
     }
 }
@@ -0,0 +1,388 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import entities.FireBatch;
+
+/**
+ * Streaming parser for FIRMS area CSV responses.
+ * The response bytes are read once into a reusable buffer, the needed numeric columns are parsed in place and
+ * every other column is skipped, so no per-line String or array is allocated. Rows below nominal confidence are
+ * dropped before anything is handed to the {@link RecordSink}, or appended straight to a columnar {@link FireBatch}.
+ */
+final class FirmsCsvParser {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_FIELDS = 32;
+    private static final int DATE_LENGTH = 10;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+    };
+    // a mantissa of up to 15 digits is below 2^53, so it converts to a double exactly
+    private static final int MAX_FAST_DIGITS = 15;
+
+    // Column positions of the VIIRS NRT layout, used when the header does not name a column.
+    private static final int LAT_INDEX = 0;
+    private static final int LON_INDEX = 1;
+    private static final int BRIGHT4_INDEX = 2;
+    private static final int DATE_INDEX = 5;
+    private static final int CONFIDENCE_INDEX = 9;
+    private static final int BRIGHT5_INDEX = 11;
+    private static final int FRP_INDEX = 12;
+    private static final int DAYNIGHT_INDEX = 13;
+
+    private final int bufferSize;
+    private boolean sawHeader;
+
+    /**
+     * Receives the fields of every row that passed the confidence filter.
+     */
+    interface RecordSink {
+
+        /**
+         * Accepts one parsed detection.
+         * @param lat the latitude
+         * @param lon the longitude
+         * @param bright4 the I-4 channel brightness temperature
+         * @param bright5 the I-5 channel brightness temperature
+         * @param frp the fire radiative power in MW
+         * @param date the acquisition date (yyyy-MM-dd), shared between rows of the same day
+         * @param dayNight 'D' or 'N'
+         * @param confidence 'n' or 'h'
+         */
+        void accept(double lat, double lon, double bright4, double bright5, double frp,
+                    String date, char dayNight, char confidence);
+    }
+
+    FirmsCsvParser() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    FirmsCsvParser(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Parses a FIRMS CSV stream, header line included.
+     * @param in the response stream; it is read to the end but not closed
+     * @param sink receives every nominal or high confidence row
+     * @return the number of rows handed to the sink
+     * @throws IOException if the stream fails or the header lacks a required column
+     */
+    int parse(InputStream in, RecordSink sink) throws IOException {
+        final LineState state = new LineState();
+        byte[] buf = new byte[bufferSize];
+        int start = 0;
+        int end = 0;
+        boolean headerRead = false;
+        boolean eof = false;
+        int accepted = 0;
+        sawHeader = false;
+
+        while (true) {
+            int newline = indexOf(buf, start, end, (byte) '\n');
+            if (newline < 0 && !eof) {
+                // Move the partial line to the front (growing the buffer for very long lines) and read more.
+                final int pending = end - start;
+                if (pending == buf.length) {
+                    final byte[] grown = new byte[buf.length * 2];
+                    System.arraycopy(buf, start, grown, 0, pending);
+                    buf = grown;
+                }
+                else if (start > 0) {
+                    System.arraycopy(buf, start, buf, 0, pending);
+                }
+                start = 0;
+                end = pending;
+                final int read = in.read(buf, end, buf.length - end);
+                if (read < 0) {
+                    eof = true;
+                }
+                else {
+                    end += read;
+                }
+                continue;
+            }
+            final int lineEnd;
+            if (newline >= 0) {
+                lineEnd = newline;
+            }
+            else if (start < end) {
+                lineEnd = end;
+            }
+            else {
+                break;
+            }
+
+            if (state.split(buf, start, trimCarriageReturn(buf, start, lineEnd))) {
+                if (!headerRead) {
+                    sawHeader = state.readHeader(buf);
+                    headerRead = true;
+                }
+                else if (state.emit(buf, sink)) {
+                    accepted++;
+                }
+            }
+            start = lineEnd + 1;
+        }
+        return accepted;
+    }
+
+    /**
+     * Tells whether the last stream parsed started with a FIRMS header, one that names the latitude and longitude
+     * columns. An empty body or an error page does not, even when it parses without error into no rows.
+     * @return true if the last stream was a FIRMS CSV response
+     */
+    boolean sawHeader() {
+        return sawHeader;
+    }
+
+    /**
+     * Parses a FIRMS CSV stream straight into a columnar batch.
+     * @param in the response stream; it is read to the end but not closed
+     * @return every nominal or high confidence row
+     * @throws IOException if the stream fails or the header lacks a required column
+     */
+    FireBatch parseBatch(InputStream in) throws IOException {
+        final FireBatch.Builder builder = new FireBatch.Builder();
+        parse(in, new BatchSink(builder));
+        return builder.build();
+    }
+
+    private static int indexOf(byte[] buf, int from, int to, byte target) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int trimCarriageReturn(byte[] buf, int start, int end) {
+        if (end > start && buf[end - 1] == '\r') {
+            return end - 1;
+        }
+        return end;
+    }
+
+    /**
+     * Parses a plain decimal number ("-79.40", "338.18") straight from the buffer.
+     * Falls back to {@link Double#parseDouble} for anything unusual such as exponents or very long mantissas.
+     */
+    static double parseDouble(byte[] buf, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenPoint = false;
+        boolean seenDigit = false;
+        for (; i < to; i++) {
+            final byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissa != 0 || b != '0') {
+                    digits++;
+                }
+                if (digits > MAX_FAST_DIGITS) {
+                    return slowParse(buf, from, to);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (seenPoint) {
+                    fractionDigits++;
+                }
+            }
+            else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            }
+            else {
+                return slowParse(buf, from, to);
+            }
+        }
+        if (!seenDigit || fractionDigits >= POWERS_OF_TEN.length) {
+            return slowParse(buf, from, to);
+        }
+        // Both operands are exact doubles, so the division is the only rounding and is correct.
+        final double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        if (negative) {
+            return -value;
+        }
+        return value;
+    }
+
+    private static double slowParse(byte[] buf, int from, int to) {
+        return Double.parseDouble(new String(buf, from, to - from, StandardCharsets.US_ASCII).trim());
+    }
+
+    /**
+     * Appends rows to a batch builder. Date Strings repeat by reference within a day, so the epoch day is only
+     * computed when the date changes. Coordinates keep the full double precision of the sink; the batch narrows
+     * FRP and brightness to float, about seven significant digits.
+     */
+    static final class BatchSink implements RecordSink {
+        private final FireBatch.Builder builder;
+        private String lastDate;
+        private int lastEpochDay;
+
+        BatchSink(FireBatch.Builder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void accept(double lat, double lon, double bright4, double bright5, double frp,
+                           String date, char dayNight, char confidence) {
+            if (date != lastDate) {
+                lastEpochDay = (int) LocalDate.parse(date).toEpochDay();
+                lastDate = date;
+            }
+            builder.add(lat, lon, bright4, bright5, frp, lastEpochDay, FireBatch.packFlags(dayNight, confidence));
+        }
+    }
+
+    /**
+     * Per-parse scratch state: field offsets of the current line, the resolved column layout and the last date seen.
+     */
+    private static final class LineState {
+        private final int[] fieldStart = new int[MAX_FIELDS + 1];
+        private final int[] fieldEnd = new int[MAX_FIELDS + 1];
+        private int fieldCount;
+
+        private int latIndex = LAT_INDEX;
+        private int lonIndex = LON_INDEX;
+        private int bright4Index = BRIGHT4_INDEX;
+        private int dateIndex = DATE_INDEX;
+        private int confidenceIndex = CONFIDENCE_INDEX;
+        private int bright5Index = BRIGHT5_INDEX;
+        private int frpIndex = FRP_INDEX;
+        private int dayNightIndex = DAYNIGHT_INDEX;
+        private int requiredFields;
+
+        private final byte[] lastDateBytes = new byte[DATE_LENGTH];
+        private String lastDate;
+
+        /**
+         * Records the field boundaries of the line in {@code [start, end)}.
+         * @return false for blank lines
+         */
+        boolean split(byte[] buf, int start, int end) {
+            if (start >= end) {
+                return false;
+            }
+            fieldCount = 0;
+            int fieldBegin = start;
+            for (int i = start; i <= end && fieldCount < MAX_FIELDS; i++) {
+                if (i == end || buf[i] == ',') {
+                    fieldStart[fieldCount] = fieldBegin;
+                    fieldEnd[fieldCount] = i;
+                    fieldCount++;
+                    fieldBegin = i + 1;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Reads the column positions from the header line.
+         * @return true if the header names the latitude and longitude columns
+         */
+        boolean readHeader(byte[] buf) throws IOException {
+            boolean namedLat = false;
+            boolean namedLon = false;
+            for (int field = 0; field < fieldCount; field++) {
+                final String name = new String(buf, fieldStart[field], fieldEnd[field] - fieldStart[field],
+                        StandardCharsets.US_ASCII).trim();
+                switch (name) {
+                    case "latitude" -> {
+                        latIndex = field;
+                        namedLat = true;
+                    }
+                    case "longitude" -> {
+                        lonIndex = field;
+                        namedLon = true;
+                    }
+                    case "bright_ti4" -> bright4Index = field;
+                    case "acq_date" -> dateIndex = field;
+                    case "confidence" -> confidenceIndex = field;
+                    case "bright_ti5" -> bright5Index = field;
+                    case "frp" -> frpIndex = field;
+                    case "daynight" -> dayNightIndex = field;
+                    default -> {
+                        // Column not used by the application.
+                    }
+                }
+            }
+            requiredFields = 1 + Math.max(Math.max(Math.max(latIndex, lonIndex), Math.max(bright4Index, dateIndex)),
+                    Math.max(Math.max(confidenceIndex, bright5Index), Math.max(frpIndex, dayNightIndex)));
+            if (fieldCount < requiredFields) {
+                throw new IOException("Unexpected FIRMS response header: "
+                        + new String(buf, fieldStart[0], fieldEnd[fieldCount - 1] - fieldStart[0],
+                        StandardCharsets.US_ASCII));
+            }
+            return namedLat && namedLon;
+        }
+
+        boolean emit(byte[] buf, RecordSink sink) {
+            if (fieldCount < requiredFields) {
+                return false;
+            }
+            // only take vals that have nominal or high confidence (confidence == "n" or confidence == "h")
+            if (fieldEnd[confidenceIndex] - fieldStart[confidenceIndex] != 1) {
+                return false;
+            }
+            final char confidence = (char) buf[fieldStart[confidenceIndex]];
+            if (confidence != 'n' && confidence != 'h') {
+                return false;
+            }
+            final char dayNight;
+            if (fieldEnd[dayNightIndex] > fieldStart[dayNightIndex]) {
+                dayNight = (char) buf[fieldStart[dayNightIndex]];
+            }
+            else {
+                dayNight = ' ';
+            }
+            sink.accept(
+                    number(buf, latIndex), number(buf, lonIndex),
+                    number(buf, bright4Index), number(buf, bright5Index), number(buf, frpIndex),
+                    date(buf), dayNight, confidence);
+            return true;
+        }
+
+        private double number(byte[] buf, int field) {
+            return parseDouble(buf, fieldStart[field], fieldEnd[field]);
+        }
+
+        /**
+         * Returns the acquisition date of the current line, reusing the previous String while the date is unchanged
+         * (FIRMS output is grouped by day, so this allocates once per day rather than once per row).
+         */
+        private String date(byte[] buf) {
+            final int from = fieldStart[dateIndex];
+            final int length = fieldEnd[dateIndex] - from;
+            if (lastDate != null && length == DATE_LENGTH) {
+                boolean same = true;
+                for (int i = 0; i < DATE_LENGTH; i++) {
+                    if (lastDateBytes[i] != buf[from + i]) {
+                        same = false;
+                        break;
+                    }
+                }
+                if (same) {
+                    return lastDate;
+                }
+            }
+            final String date = new String(buf, from, length, StandardCharsets.US_ASCII);
+            if (length == DATE_LENGTH) {
+                System.arraycopy(buf, from, lastDateBytes, 0, DATE_LENGTH);
+                lastDate = date;
+            }
+            return date;
+        }
+    }
+}
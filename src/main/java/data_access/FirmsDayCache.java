@@ -0,0 +1,192 @@
+package data_access;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import entities.FireBatch;
+
+/**
+ * On-disk cache of FIRMS detections, one file per (server, source, bounding box, calendar day).
+ * The server is part of the key so that detections from a stand-in server never answer requests to the real API.
+ * A day that was downloaded after it ended (in UTC, which FIRMS dates use) never changes and is kept forever.
+ * A day downloaded while it was still in progress is only trusted for the configured TTL, since NRT
+ * detections for it are still arriving.
+ * Cache failures are never fatal: an unreadable entry is reported as a miss and a failed write is dropped.
+ * Every column is stored at the precision {@link FireBatch} keeps it, coordinates as doubles and FRP and brightness
+ * as floats, so a cached day reads back exactly as it was downloaded.
+ */
+public class FirmsDayCache {
+
+    private static final int MAGIC = 0x46524D43;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+    private static final int RECORD_BYTES = Double.BYTES * 2 + Float.BYTES * 3 + 1;
+    private static final String FILE_EXT = ".bin";
+
+    private final Path directory;
+    private final Duration todayTtl;
+    private final Clock clock;
+
+    /**
+     * Creates a cache rooted at the given directory.
+     * @param directory where the cache files are kept; created on first write
+     * @param todayTtl how long a day that had not yet ended when it was downloaded stays valid
+     */
+    public FirmsDayCache(Path directory, Duration todayTtl) {
+        this(directory, todayTtl, Clock.systemUTC());
+    }
+
+    FirmsDayCache(Path directory, Duration todayTtl, Clock clock) {
+        this.directory = directory;
+        this.todayTtl = todayTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Reads a cached day.
+     * @param server the base URL the day was requested from
+     * @param source the FIRMS source, e.g. VIIRS_SNPP_NRT
+     * @param boundingBox the bounding box string used for the request
+     * @param day the calendar day
+     * @return every cached detection of the day, or null if the day is not cached, has expired or cannot be read
+     */
+    FireBatch read(String server, String source, String boundingBox, LocalDate day) {
+        final Path file = fileFor(server, source, boundingBox, day);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final byte[] bytes = Files.readAllBytes(file);
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (bytes.length < HEADER_BYTES || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            final long fetchedAtMillis = in.readLong();
+            final int count = in.readInt();
+            if (!isFresh(day, fetchedAtMillis) || bytes.length != HEADER_BYTES + (long) count * RECORD_BYTES) {
+                return null;
+            }
+            final int epochDay = (int) day.toEpochDay();
+            final FireBatch.Builder builder = new FireBatch.Builder(count);
+            for (int i = 0; i < count; i++) {
+                builder.add(in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat(), in.readFloat(),
+                        epochDay, in.readByte());
+            }
+            return builder.build();
+        }
+        catch (IOException | IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the detections of one day, replacing any earlier entry.
+     * The file is written next to its final location and moved into place, so concurrent readers never
+     * see a partial entry.
+     * @param server the base URL the day was requested from
+     * @param source the FIRMS source, e.g. VIIRS_SNPP_NRT
+     * @param boundingBox the bounding box string used for the request
+     * @param day the calendar day
+     * @param points every detection of that day; may be empty
+     */
+    void write(String server, String source, String boundingBox, LocalDate day, FireBatch points) {
+        final Path file = fileFor(server, source, boundingBox, day);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), day.toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(clock.millis());
+                out.writeInt(points.size());
+                for (int i = 0; i < points.size(); i++) {
+                    out.writeDouble(points.getLat(i));
+                    out.writeDouble(points.getLon(i));
+                    // FireBatch holds these as floats, so narrowing them loses nothing
+                    out.writeFloat((float) points.getBright4(i));
+                    out.writeFloat((float) points.getBright5(i));
+                    out.writeFloat((float) points.getFrp(i));
+                    out.writeByte(points.getFlags(i));
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException exception) {
+            // The next request for this day simply downloads it again.
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * A day is final once it has ended; until then an entry only lives for the TTL.
+     */
+    private boolean isFresh(LocalDate day, long fetchedAtMillis) {
+        final long dayEndMillis = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        if (fetchedAtMillis >= dayEndMillis) {
+            return true;
+        }
+        return clock.millis() - fetchedAtMillis < todayTtl.toMillis();
+    }
+
+    private Path fileFor(String server, String source, String boundingBox, LocalDate day) {
+        return directory.resolve(serverKey(server)).resolve(sanitize(source)).resolve(sanitize(boundingBox))
+                .resolve(day + FILE_EXT);
+    }
+
+    /**
+     * Names the directory of a server: its host and port for the reader, and a hash of the whole base URL so that
+     * two endpoints on the same host stay apart.
+     * @param server the base URL
+     */
+    private static String serverKey(String server) {
+        String hostAndPort = "";
+        try {
+            final URI uri = new URI(server);
+            if (uri.getHost() != null) {
+                hostAndPort = uri.getHost() + "_" + uri.getPort() + "_";
+            }
+        }
+        catch (URISyntaxException exception) {
+            // The hash alone still keeps the servers apart.
+        }
+        return sanitize(hostAndPort + Integer.toHexString(server.hashCode()));
+    }
+
+    /**
+     * Makes a source or bounding box string safe for use as a directory name.
+     * @param key the string to sanitize
+     */
+    private static String sanitize(String key) {
+        return key.replaceAll("[^a-zA-Z0-9_.-]", "_");
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            }
+            catch (IOException ignored) {
+                // Nothing else to clean up.
+            }
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import entities.PackedBoundary;
+
+/**
+ * A pull parser for JSON arrays of places with GeoJSON boundaries, as in boundaries.json and Nominatim responses.
+ * The input is read once, a character at a time, without building a tree: the name and the outer ring of every
+ * Polygon or MultiPolygon go straight into a float array of coordinates and an int array of ring offsets, and every
+ * other value, such as {@code licence}, {@code place_id} or {@code importance}, is skipped without being kept.
+ * Holes and other geometry types are skipped the same way, as the boundaries only use outer rings.
+ */
+final class GeoJsonBoundaryReader {
+
+    private static final String NAME_KEY = "name";
+    private static final String GEOJSON_KEY = "geojson";
+    private static final String TYPE_KEY = "type";
+    private static final String COORDINATES_KEY = "coordinates";
+    private static final String POLYGON_TYPE = "Polygon";
+    private static final String MULTIPOLYGON_TYPE = "MultiPolygon";
+    private static final int BUFFER_SIZE = 8192;
+    // digits of a number beyond this only shift its exponent; a long holds 18 decimal digits
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private final StringBuilder text = new StringBuilder();
+
+    // latitude and longitude of every vertex of the kept rings, interleaved
+    private float[] coordinates = new float[BUFFER_SIZE];
+    private int vertexCount;
+    // ring r spans the vertices from offsets[r] up to offsets[r + 1]
+    private int[] offsets = new int[64];
+    private int ringCount;
+
+    private GeoJsonBoundaryReader(InputStream in) {
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the places of a JSON array.
+     * @param in the UTF-8 JSON; it is read up to the last place needed and not closed
+     * @param maxPlaces how many places to read before the rest of the input is ignored
+     * @return the places in input order; a place without a name is named "", one without a polygon has no rings
+     * @throws IOException if the input cannot be read or is not a JSON array of objects
+     */
+    static List<Place> read(InputStream in, int maxPlaces) throws IOException {
+        return new GeoJsonBoundaryReader(in).readPlaces(maxPlaces);
+    }
+
+    private List<Place> readPlaces(int maxPlaces) throws IOException {
+        final List<String> names = new ArrayList<>();
+        final List<int[]> ranges = new ArrayList<>();
+        expect('[');
+        if (peek() == ']') {
+            next();
+        }
+        else {
+            do {
+                final int firstRing = ringCount;
+                names.add(readPlace());
+                ranges.add(new int[]{firstRing, ringCount - firstRing});
+            } while (names.size() < maxPlaces && nextSeparator(']'));
+        }
+
+        // trimmed, so the places do not hold on to the spare room of the growing arrays
+        final FloatBuffer packedCoordinates = FloatBuffer.wrap(Arrays.copyOf(coordinates, vertexCount * 2));
+        final int[] ringOffsets = Arrays.copyOf(offsets, ringCount + 1);
+        ringOffsets[ringCount] = vertexCount;
+        final IntBuffer packedOffsets = IntBuffer.wrap(ringOffsets);
+        final List<Place> places = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            places.add(new Place(names.get(i),
+                    new PackedBoundary(packedCoordinates, packedOffsets, ranges.get(i)[0], ranges.get(i)[1])));
+        }
+        return places;
+    }
+
+    /**
+     * Reads one place object, keeping its name and the rings of its GeoJSON boundary.
+     */
+    private String readPlace() throws IOException {
+        String name = "";
+        expect('{');
+        if (peek() == '}') {
+            next();
+            return name;
+        }
+        do {
+            final String key = readString();
+            expect(':');
+            if (NAME_KEY.equals(key) && peek() == '"') {
+                name = readString();
+            }
+            else if (GEOJSON_KEY.equals(key) && peek() == '{') {
+                readGeometry();
+            }
+            else {
+                skipValue();
+            }
+        } while (nextSeparator('}'));
+        return name;
+    }
+
+    /**
+     * Reads a GeoJSON geometry. Its type may follow its coordinates, so the rings are kept as they are read and
+     * dropped again if the geometry turns out not to be a polygon.
+     */
+    private void readGeometry() throws IOException {
+        final int firstRing = ringCount;
+        final int firstVertex = vertexCount;
+        String type = "";
+        expect('{');
+        if (peek() == '}') {
+            next();
+            return;
+        }
+        do {
+            final String key = readString();
+            expect(':');
+            if (TYPE_KEY.equals(key) && peek() == '"') {
+                type = readString();
+            }
+            else if (COORDINATES_KEY.equals(key) && peek() == '[') {
+                final int start = vertexCount;
+                if (readCoordinates(true)) {
+                    // a single position is not a boundary
+                    vertexCount = start;
+                }
+            }
+            else {
+                skipValue();
+            }
+        } while (nextSeparator('}'));
+        if (!POLYGON_TYPE.equals(type) && !MULTIPOLYGON_TYPE.equals(type)) {
+            ringCount = firstRing;
+            vertexCount = firstVertex;
+        }
+    }
+
+    /**
+     * Reads a coordinates array nested to any depth. An array of positions is a ring, and it is kept only when it
+     * is the first element of its parent: the outer ring of a Polygon or of each polygon of a MultiPolygon.
+     * @param first whether the array is the first element of its parent
+     * @return true if the array was a position
+     */
+    private boolean readCoordinates(boolean first) throws IOException {
+        expect('[');
+        if (isNumberStart(peek())) {
+            readPosition();
+            return true;
+        }
+        final int ringStart = vertexCount;
+        boolean ring = false;
+        if (peek() == ']') {
+            next();
+        }
+        else {
+            boolean firstElement = true;
+            do {
+                if (peek() != '[') {
+                    throw error("Expected a coordinates array");
+                }
+                final boolean position = readCoordinates(firstElement);
+                if (firstElement) {
+                    ring = position;
+                }
+                else if (position != ring) {
+                    throw error("Positions mixed with arrays");
+                }
+                firstElement = false;
+            } while (nextSeparator(']'));
+        }
+        if (ring) {
+            if (first && vertexCount > ringStart) {
+                offsets = grow(offsets, ringCount + 1);
+                offsets[ringCount++] = ringStart;
+            }
+            else {
+                vertexCount = ringStart;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the longitude and latitude of a position, after its opening bracket. An altitude is ignored.
+     */
+    private void readPosition() throws IOException {
+        final double lon = readNumber();
+        expect(',');
+        final double lat = readNumber();
+        while (nextSeparator(']')) {
+            readNumber();
+        }
+        coordinates = grow(coordinates, vertexCount * 2 + 2);
+        coordinates[vertexCount * 2] = (float) lat;
+        coordinates[vertexCount * 2 + 1] = (float) lon;
+        vertexCount++;
+    }
+
+    /**
+     * Parses a JSON number straight from the input, without building a string.
+     */
+    private double readNumber() throws IOException {
+        int c = peek();
+        boolean negative = false;
+        if (c == '-') {
+            negative = true;
+            next();
+            c = peekRaw();
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        boolean any = false;
+        while (true) {
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa > 0) {
+                        digits++;
+                    }
+                    if (fraction) {
+                        exponent--;
+                    }
+                }
+                else if (!fraction) {
+                    exponent++;
+                }
+            }
+            else if (c == '.' && !fraction) {
+                fraction = true;
+            }
+            else {
+                break;
+            }
+            next();
+            c = peekRaw();
+        }
+        if (!any) {
+            throw error("Expected a number");
+        }
+        if (c == 'e' || c == 'E') {
+            next();
+            c = peekRaw();
+            boolean negativeExponent = false;
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                next();
+                c = peekRaw();
+            }
+            int value = 0;
+            while (c >= '0' && c <= '9') {
+                value = Math.min(value * 10 + (c - '0'), 1000);
+                next();
+                c = peekRaw();
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        double result = mantissa;
+        if (exponent < 0) {
+            result /= Math.pow(10, -exponent);
+        }
+        else if (exponent > 0) {
+            result *= Math.pow(10, exponent);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Reads a string, after skipping whitespace. Only keys, names and types are read this way.
+     */
+    private String readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            final int c = nextRaw();
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == '\\') {
+                text.append(readEscape());
+            }
+            else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        final int c = nextRaw();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(nextRaw(), 16);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            default:
+                return (char) c;
+        }
+    }
+
+    /**
+     * Skips a value of any type, reading it a character at a time.
+     */
+    private void skipValue() throws IOException {
+        final int c = peek();
+        if (c == '"') {
+            next();
+            while (true) {
+                final int s = nextRaw();
+                if (s == '"') {
+                    return;
+                }
+                if (s == '\\') {
+                    nextRaw();
+                }
+            }
+        }
+        if (c == '[' || c == '{') {
+            final char close = c == '[' ? ']' : '}';
+            next();
+            if (peek() == close) {
+                next();
+                return;
+            }
+            do {
+                if (close == '}') {
+                    skipValue();
+                    expect(':');
+                }
+                skipValue();
+            } while (nextSeparator(close));
+            return;
+        }
+        // a number, true, false or null
+        if (!isNumberStart(c) && !Character.isLetter(c)) {
+            throw error("Unexpected character");
+        }
+        int s = c;
+        while (s != -1 && s != ',' && s != ']' && s != '}' && !Character.isWhitespace(s)) {
+            next();
+            s = peekRaw();
+        }
+    }
+
+    /**
+     * Consumes the separator after an element: a comma, or the closing bracket of the enclosing value.
+     * @return true if another element follows
+     */
+    private boolean nextSeparator(char close) throws IOException {
+        final int c = nextNonWhitespace();
+        if (c == ',') {
+            return true;
+        }
+        if (c == close) {
+            return false;
+        }
+        throw error("Expected ',' or '" + close + "'");
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextNonWhitespace() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private static boolean isNumberStart(int c) {
+        return c == '-' || c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns the next character that is not whitespace without consuming it, or -1 at the end of the input.
+     */
+    private int peek() throws IOException {
+        int c = peekRaw();
+        while (c != -1 && Character.isWhitespace(c)) {
+            position++;
+            c = peekRaw();
+        }
+        return c;
+    }
+
+    private int peekRaw() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    private void next() {
+        position++;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        final int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int nextRaw() throws IOException {
+        final int c = peekRaw();
+        if (c == -1) {
+            throw error("Unexpected end of input");
+        }
+        position++;
+        return c;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " in boundary JSON");
+    }
+
+    private static float[] grow(float[] array, int size) {
+        if (size <= array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    private static int[] grow(int[] array, int size) {
+        if (size <= array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    /**
+     * A place read from the input: its name and the outer rings of its boundary.
+     */
+    static final class Place {
+        private final String name;
+        private final PackedBoundary boundary;
+
+        Place(String name, PackedBoundary boundary) {
+            this.name = name;
+            this.boundary = boundary;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        PackedBoundary getBoundary() {
+            return boundary;
+        }
+    }
+}
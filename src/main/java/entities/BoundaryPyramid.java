@@ -0,0 +1,309 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.jxmapviewer.viewer.GeoPosition;
+
+/**
+ * A region boundary at several levels of detail, from the exact polygons down to a coarse outline.
+ * Each level is simplified from the one before it with Douglas-Peucker, treating latitude and longitude as plane
+ * coordinates, so every level lies within a known distance of the exact boundary: its error, in degrees.
+ * Painters take the coarsest level whose error is small enough for the zoom level. Point tests start at the coarsest
+ * level and only move to a finer one when the point lies within the level's error of its boundary, so the exact
+ * polygons are only consulted for points close to a border and always give the same answer as
+ * {@link PreparedRegion#contains(double, double)} on the exact boundary.
+ */
+public final class BoundaryPyramid {
+
+    // the simplification tolerance of the finest simplified level, in degrees; each coarser level multiplies it
+    private static final double FINEST_TOLERANCE = 0.01;
+    private static final double LEVEL_FACTOR = 4;
+    private static final int SIMPLIFIED_LEVELS = 4;
+
+    // level 0 is the exact boundary; the error grows with the level
+    private final List<Level> levels;
+    private final double minLat;
+    private final double maxLat;
+    private final double minLon;
+    private final double maxLon;
+
+    /**
+     * Builds the simplified levels of a boundary.
+     * @param boundary the exact polygons, each a list of vertices; the last vertex is joined to the first
+     * @param exact prepares the exact boundary for point tests when a point first needs it
+     */
+    BoundaryPyramid(List<List<GeoPosition>> boundary, Supplier<PreparedRegion> exact) {
+        final List<List<GeoPosition>> polygons = new ArrayList<>();
+        double lowLat = Double.POSITIVE_INFINITY;
+        double highLat = Double.NEGATIVE_INFINITY;
+        double lowLon = Double.POSITIVE_INFINITY;
+        double highLon = Double.NEGATIVE_INFINITY;
+        if (boundary != null) {
+            for (List<GeoPosition> vertices : boundary) {
+                // the same polygons PreparedRegion keeps
+                if (vertices == null || vertices.size() < 2) {
+                    continue;
+                }
+                polygons.add(vertices);
+            }
+        }
+
+        // the vertices of the exact polygons are read once, and every level is simplified from these copies
+        final double[][] lats = new double[polygons.size()][];
+        final double[][] lons = new double[polygons.size()][];
+        for (int p = 0; p < lats.length; p++) {
+            final List<GeoPosition> vertices = polygons.get(p);
+            lats[p] = new double[vertices.size()];
+            lons[p] = new double[vertices.size()];
+            PackedBoundary.copyVertices(vertices, lats[p], lons[p]);
+            for (int i = 0; i < lats[p].length; i++) {
+                lowLat = Math.min(lowLat, lats[p][i]);
+                highLat = Math.max(highLat, lats[p][i]);
+                lowLon = Math.min(lowLon, lons[p][i]);
+                highLon = Math.max(highLon, lons[p][i]);
+            }
+        }
+        this.minLat = lowLat;
+        this.maxLat = highLat;
+        this.minLon = lowLon;
+        this.maxLon = highLon;
+
+        this.levels = new ArrayList<>(SIMPLIFIED_LEVELS + 1);
+        levels.add(new Level(boundary, 0, exact));
+        // the vertices of the previous level, as indices into the exact polygons
+        int[][] previous = new int[polygons.size()][];
+        for (int p = 0; p < previous.length; p++) {
+            previous[p] = new int[lats[p].length];
+            Arrays.setAll(previous[p], i -> i);
+        }
+        double error = 0;
+        double tolerance = FINEST_TOLERANCE;
+        for (int i = 0; i < SIMPLIFIED_LEVELS; i++) {
+            previous = simplifyPolygons(lats, lons, previous, tolerance);
+            final List<List<GeoPosition>> simplified = positions(polygons, previous);
+            // a level lies within its own tolerance of the level it was simplified from
+            error += tolerance;
+            levels.add(new Level(simplified, error, () -> new PreparedRegion(simplified)));
+            tolerance *= LEVEL_FACTOR;
+        }
+    }
+
+    /**
+     * Returns the coarsest level of the boundary that lies within a distance of the exact boundary.
+     * @param tolerance the largest allowed distance from the exact boundary, in degrees
+     * @return the polygons of that level; the exact boundary if no simplified level is close enough
+     */
+    public List<List<GeoPosition>> getBoundary(double tolerance) {
+        for (int i = levels.size() - 1; i > 0; i--) {
+            if (levels.get(i).error <= tolerance) {
+                return levels.get(i).boundary;
+            }
+        }
+        return levels.get(0).boundary;
+    }
+
+    /**
+     * Checks whether a point lies inside the region, consulting finer levels only near the boundary.
+     * @param lat the latitude of the point
+     * @param lon the longitude of the point
+     * @return true if any polygon of the exact boundary contains the point
+     */
+    public boolean contains(double lat, double lon) {
+        if (!(lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon)) {
+            return false;
+        }
+        for (int i = levels.size() - 1; i > 0; i--) {
+            final Level level = levels.get(i);
+            final PreparedRegion prepared = level.prepared();
+            // farther than the error from this level, the exact boundary cannot pass between the point and it
+            if (!prepared.isNearBoundary(lat, lon, level.error)) {
+                return prepared.contains(lat, lon);
+            }
+        }
+        return levels.get(0).prepared().contains(lat, lon);
+    }
+
+    /**
+     * Checks whether a coordinate lies inside the region.
+     * @param point the coordinate
+     * @return true if any polygon of the exact boundary contains the coordinate
+     */
+    public boolean contains(Coordinate point) {
+        return contains(point.getLat(), point.getLon());
+    }
+
+    /**
+     * Returns the smallest latitude of the region, or positive infinity when the region is empty.
+     * @return the southern edge of the bounding box
+     */
+    public double getMinLat() {
+        return minLat;
+    }
+
+    /**
+     * Returns the largest latitude of the region, or negative infinity when the region is empty.
+     * @return the northern edge of the bounding box
+     */
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    /**
+     * Returns the smallest longitude of the region, or positive infinity when the region is empty.
+     * @return the western edge of the bounding box
+     */
+    public double getMinLon() {
+        return minLon;
+    }
+
+    /**
+     * Returns the largest longitude of the region, or negative infinity when the region is empty.
+     * @return the eastern edge of the bounding box
+     */
+    public double getMaxLon() {
+        return maxLon;
+    }
+
+    /**
+     * Simplifies every polygon of a level. A polygon smaller than the tolerance keeps two vertices rather than
+     * disappearing, so its edges still mark the points near it as border-line.
+     * @param lats the latitudes of the vertices of the exact polygons
+     * @param lons the longitudes of the vertices of the exact polygons
+     * @param level the vertices of each polygon of the level, as indices into the exact polygons
+     * @return the vertices kept of each polygon, as indices into the exact polygons
+     */
+    private static int[][] simplifyPolygons(double[][] lats, double[][] lons, int[][] level, double tolerance) {
+        final int[][] simplified = new int[level.length][];
+        for (int p = 0; p < level.length; p++) {
+            final int[] vertices = level[p];
+            final double[] xs = new double[vertices.length];
+            final double[] ys = new double[vertices.length];
+            for (int i = 0; i < vertices.length; i++) {
+                xs[i] = lons[p][vertices[i]];
+                ys[i] = lats[p][vertices[i]];
+            }
+            final boolean[] keep = simplify(xs, ys, tolerance);
+            int kept = 0;
+            for (boolean k : keep) {
+                if (k) {
+                    kept++;
+                }
+            }
+            simplified[p] = new int[kept];
+            kept = 0;
+            for (int i = 0; i < vertices.length; i++) {
+                if (keep[i]) {
+                    simplified[p][kept++] = vertices[i];
+                }
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * Collects the kept vertices of a level. Only these positions are created, and they are shared by the level's
+     * painter and its point tests.
+     */
+    private static List<List<GeoPosition>> positions(List<List<GeoPosition>> polygons, int[][] level) {
+        final List<List<GeoPosition>> result = new ArrayList<>(level.length);
+        for (int p = 0; p < level.length; p++) {
+            final List<GeoPosition> vertices = new ArrayList<>(level[p].length);
+            for (int vertex : level[p]) {
+                vertices.add(polygons.get(p).get(vertex));
+            }
+            result.add(vertices);
+        }
+        return result;
+    }
+
+    /**
+     * Marks the vertices that Douglas-Peucker simplification keeps: every dropped vertex lies within the tolerance
+     * of the line between the kept vertices around it. The first and last vertices are always kept.
+     * @param xs the x coordinates of the vertices
+     * @param ys the y coordinates of the vertices
+     * @param tolerance the largest allowed distance, in the same units as the coordinates
+     * @return whether each vertex is kept
+     */
+    public static boolean[] simplify(double[] xs, double[] ys, double tolerance) {
+        final int n = xs.length;
+        final boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        final double toleranceSquared = tolerance * tolerance;
+
+        // ranges still to simplify, as pairs of first and last vertex; an explicit stack avoids deep recursion
+        // on boundaries with many thousands of vertices
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        while (top > 0) {
+            final int last = stack[--top];
+            final int first = stack[--top];
+            int farthest = -1;
+            double farthestDistance = toleranceSquared;
+            for (int i = first + 1; i < last; i++) {
+                final double distance = segmentDistanceSquared(xs[i], ys[i], xs[first], ys[first], xs[last], ys[last]);
+                if (distance > farthestDistance) {
+                    farthest = i;
+                    farthestDistance = distance;
+                }
+            }
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = first;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = last;
+            }
+        }
+        return keep;
+    }
+
+    /**
+     * Returns the squared distance from a point to the segment between two others.
+     */
+    static double segmentDistanceSquared(double px, double py, double ax, double ay, double bx, double by) {
+        final double dx = bx - ax;
+        final double dy = by - ay;
+        final double lengthSquared = dx * dx + dy * dy;
+        double t = 0;
+        if (lengthSquared > 0) {
+            t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        }
+        final double ex = px - (ax + t * dx);
+        final double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+
+    /**
+     * One level of detail, prepared for point tests the first time a point reaches it.
+     */
+    private static final class Level {
+        private final List<List<GeoPosition>> boundary;
+        private final double error;
+        private final Supplier<PreparedRegion> preparer;
+        private volatile PreparedRegion prepared;
+
+        Level(List<List<GeoPosition>> boundary, double error, Supplier<PreparedRegion> preparer) {
+            this.boundary = boundary;
+            this.error = error;
+            this.preparer = preparer;
+        }
+
+        PreparedRegion prepared() {
+            PreparedRegion result = prepared;
+            if (result == null) {
+                result = preparer.get();
+                prepared = result;
+            }
+            return result;
+        }
+    }
+}
@@ -44,6 +44,14 @@ public class Coordinate {
         return dateDayConfidence[0];
     }
 
+    public String getDayNight() {
+        return dateDayConfidence[1];
+    }
+
+    public String getConfidence() {
+        return dateDayConfidence[2];
+    }
+
     public double getLat() {
         return lat;
     }
@@ -0,0 +1,402 @@
+package entities;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A columnar, read-only batch of raw fire detections.
+ * Every detection is stored in primitive arrays (lat, lon, FRP, both brightness values, epoch day and a packed
+ * day/night + confidence flag byte), about 33 bytes per detection instead of the 100+ bytes of a Coordinate.
+ * The batch is also a {@code List<Coordinate>}, so it can be passed anywhere a list of points is expected;
+ * {@link #get(int)} builds the Coordinate on demand.
+ * A batch may be a view of selected rows of another batch, sharing its columns.
+ */
+public final class FireBatch extends AbstractList<Coordinate> implements RandomAccess {
+
+    private static final String INVALID_DATA = "n/a";
+    private static final int DAY_NIGHT_MASK = 0b11;
+    private static final int CONFIDENCE_SHIFT = 2;
+    private static final int DAY = 1;
+    private static final int NIGHT = 2;
+    private static final int LOW = 1;
+    private static final int NOMINAL = 2;
+    private static final int HIGH = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_CACHED_DAYS = 4096;
+
+    private final double[] lats;
+    private final double[] lons;
+    private final float[] frps;
+    private final float[] bright4s;
+    private final float[] bright5s;
+    private final int[] epochDays;
+    private final byte[] flags;
+    // maps a row of this batch onto a row of the columns; null when the rows are the columns themselves
+    private final int[] rows;
+    private final int size;
+    private final DateLabels dateLabels;
+
+    private FireBatch(Builder builder, int[] rows, int size, DateLabels dateLabels) {
+        this.lats = builder.lats;
+        this.lons = builder.lons;
+        this.frps = builder.frps;
+        this.bright4s = builder.bright4s;
+        this.bright5s = builder.bright5s;
+        this.epochDays = builder.epochDays;
+        this.flags = builder.flags;
+        this.rows = rows;
+        this.size = size;
+        this.dateLabels = dateLabels;
+    }
+
+    private FireBatch(FireBatch source, int[] rows) {
+        this.lats = source.lats;
+        this.lons = source.lons;
+        this.frps = source.frps;
+        this.bright4s = source.bright4s;
+        this.bright5s = source.bright5s;
+        this.epochDays = source.epochDays;
+        this.flags = source.flags;
+        this.rows = rows;
+        this.size = rows.length;
+        this.dateLabels = source.dateLabels;
+    }
+
+    /**
+     * Returns an empty batch.
+     * @return a batch with no detections
+     */
+    public static FireBatch empty() {
+        return new Builder(0).build();
+    }
+
+    /**
+     * Packs the single-character FIRMS flags into one byte.
+     * @param dayNight 'D' or 'N'; anything else is stored as unknown
+     * @param confidence 'l', 'n' or 'h'; anything else is stored as unknown
+     * @return the packed flags
+     */
+    public static byte packFlags(char dayNight, char confidence) {
+        int dayNightBits = 0;
+        if (dayNight == 'D') {
+            dayNightBits = DAY;
+        }
+        else if (dayNight == 'N') {
+            dayNightBits = NIGHT;
+        }
+        final int confidenceBits = switch (confidence) {
+            case 'l' -> LOW;
+            case 'n' -> NOMINAL;
+            case 'h' -> HIGH;
+            default -> 0;
+        };
+        return (byte) (dayNightBits | confidenceBits << CONFIDENCE_SHIFT);
+    }
+
+    private static byte packFlags(String dayNight, String confidence) {
+        return packFlags(firstChar(dayNight), firstChar(confidence));
+    }
+
+    private static char firstChar(String flag) {
+        if (flag == null || flag.isEmpty()) {
+            return ' ';
+        }
+        return flag.charAt(0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds a Coordinate for one detection. Rows of the same day share their date String.
+     * @param index the row
+     * @return a new Coordinate with the row's values
+     */
+    @Override
+    public Coordinate get(int index) {
+        final int row = row(index);
+        return new Coordinate(lats[row], lons[row],
+                new String[]{dateLabels.label(epochDays[row]), dayNight(flags[row]), confidence(flags[row])},
+                new double[]{bright4s[row], bright5s[row]}, frps[row]);
+    }
+
+    public double getLat(int index) {
+        return lats[row(index)];
+    }
+
+    public double getLon(int index) {
+        return lons[row(index)];
+    }
+
+    public double getFrp(int index) {
+        return frps[row(index)];
+    }
+
+    public double getBright4(int index) {
+        return bright4s[row(index)];
+    }
+
+    public double getBright5(int index) {
+        return bright5s[row(index)];
+    }
+
+    public int getEpochDay(int index) {
+        return epochDays[row(index)];
+    }
+
+    public byte getFlags(int index) {
+        return flags[row(index)];
+    }
+
+    /**
+     * Returns a view of the given rows, in the given order, sharing this batch's columns.
+     * @param indices row indices of this batch
+     * @return the selected rows
+     */
+    public FireBatch select(int[] indices) {
+        final int[] selected = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            selected[i] = row(indices[i]);
+        }
+        return new FireBatch(this, selected);
+    }
+
+    /**
+     * Returns the row indices ordered by latitude, then longitude.
+     * The sort is stable and works on primitive arrays only.
+     * @return a permutation of {@code 0..size()-1}
+     */
+    public int[] indicesByLatLon() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // bottom-up merge sort, so no boxed indices or comparator objects are needed
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int from = 0; from < size; from += 2 * width) {
+                final int mid = Math.min(from + width, size);
+                final int to = Math.min(from + 2 * width, size);
+                merge(order, buffer, from, mid, to);
+            }
+            final int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    private void merge(int[] source, int[] target, int from, int mid, int to) {
+        int left = from;
+        int right = mid;
+        for (int out = from; out < to; out++) {
+            if (left < mid && (right >= to || compareLatLon(source[left], source[right]) <= 0)) {
+                target[out] = source[left++];
+            }
+            else {
+                target[out] = source[right++];
+            }
+        }
+    }
+
+    private int compareLatLon(int first, int second) {
+        final int byLat = Double.compare(getLat(first), getLat(second));
+        if (byLat != 0) {
+            return byLat;
+        }
+        return Double.compare(getLon(first), getLon(second));
+    }
+
+    private int row(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        if (rows == null) {
+            return index;
+        }
+        return rows[index];
+    }
+
+    private static String dayNight(byte packed) {
+        return switch (packed & DAY_NIGHT_MASK) {
+            case DAY -> "D";
+            case NIGHT -> "N";
+            default -> INVALID_DATA;
+        };
+    }
+
+    private static String confidence(byte packed) {
+        return switch (packed >> CONFIDENCE_SHIFT & DAY_NIGHT_MASK) {
+            case LOW -> "l";
+            case NOMINAL -> "n";
+            case HIGH -> "h";
+            default -> INVALID_DATA;
+        };
+    }
+
+    /**
+     * Date Strings for the epoch days in a batch, created once per day on first use.
+     */
+    private static final class DateLabels {
+        private final int firstDay;
+        private final String[] labels;
+
+        DateLabels(int firstDay, int lastDay) {
+            this.firstDay = firstDay;
+            final long days = (long) lastDay - firstDay + 1;
+            if (days > 0 && days <= MAX_CACHED_DAYS) {
+                this.labels = new String[(int) days];
+            }
+            else {
+                this.labels = new String[0];
+            }
+        }
+
+        String label(int epochDay) {
+            final int slot = epochDay - firstDay;
+            if (slot < 0 || slot >= labels.length) {
+                return LocalDate.ofEpochDay(epochDay).toString();
+            }
+            String label = labels[slot];
+            if (label == null) {
+                label = LocalDate.ofEpochDay(epochDay).toString();
+                labels[slot] = label;
+            }
+            return label;
+        }
+    }
+
+    /**
+     * Accumulates detections into growable columns. A builder produces a single batch.
+     */
+    public static final class Builder {
+        private double[] lats;
+        private double[] lons;
+        private float[] frps;
+        private float[] bright4s;
+        private float[] bright5s;
+        private int[] epochDays;
+        private byte[] flags;
+        private int size;
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+
+        public Builder() {
+            this(INITIAL_CAPACITY);
+        }
+
+        /**
+         * Creates a builder sized for the expected number of detections.
+         * @param capacity the initial capacity
+         */
+        public Builder(int capacity) {
+            lats = new double[capacity];
+            lons = new double[capacity];
+            frps = new float[capacity];
+            bright4s = new float[capacity];
+            bright5s = new float[capacity];
+            epochDays = new int[capacity];
+            flags = new byte[capacity];
+        }
+
+        /**
+         * Appends one detection.
+         * @param lat the latitude
+         * @param lon the longitude
+         * @param bright4 the I-4 brightness temperature
+         * @param bright5 the I-5 brightness temperature
+         * @param frp the fire radiative power in MW
+         * @param epochDay the acquisition day as days since 1970-01-01
+         * @param packedFlags flags from {@link #packFlags(char, char)}
+         * @return this builder
+         * @throws IllegalArgumentException if the coordinates are not valid
+         */
+        public Builder add(double lat, double lon, double bright4, double bright5, double frp, int epochDay,
+                           byte packedFlags) {
+            if (lat > 90 || lat < -90 || lon > 180 || lon < -180) {
+                throw new IllegalArgumentException("Invalid coordinates given.");
+            }
+            if (size == lats.length) {
+                grow();
+            }
+            lats[size] = lat;
+            lons[size] = lon;
+            bright4s[size] = (float) bright4;
+            bright5s[size] = (float) bright5;
+            frps[size] = (float) frp;
+            epochDays[size] = epochDay;
+            flags[size] = packedFlags;
+            minDay = Math.min(minDay, epochDay);
+            maxDay = Math.max(maxDay, epochDay);
+            size++;
+            return this;
+        }
+
+        /**
+         * Appends one row of another batch.
+         * @param batch the batch to copy from
+         * @param index the row of that batch
+         * @return this builder
+         */
+        public Builder add(FireBatch batch, int index) {
+            return add(batch.getLat(index), batch.getLon(index), batch.getBright4(index), batch.getBright5(index),
+                    batch.getFrp(index), batch.getEpochDay(index), batch.getFlags(index));
+        }
+
+        /**
+         * Appends every point of a list. Batches are copied column by column; other lists are converted.
+         * @param points the points to add
+         * @return this builder
+         */
+        public Builder addAll(List<Coordinate> points) {
+            if (points instanceof FireBatch batch) {
+                for (int i = 0; i < batch.size(); i++) {
+                    add(batch, i);
+                }
+            }
+            else {
+                for (Coordinate point : points) {
+                    add(point.getLat(), point.getLon(), point.getBrightness()[0], point.getBrightness()[1],
+                            point.getFrp(), (int) LocalDate.parse(point.getDate()).toEpochDay(),
+                            packFlags(point.getDayNight(), point.getConfidence()));
+                }
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Trims the columns to size and returns the batch.
+         * @return the finished batch
+         */
+        public FireBatch build() {
+            lats = Arrays.copyOf(lats, size);
+            lons = Arrays.copyOf(lons, size);
+            frps = Arrays.copyOf(frps, size);
+            bright4s = Arrays.copyOf(bright4s, size);
+            bright5s = Arrays.copyOf(bright5s, size);
+            epochDays = Arrays.copyOf(epochDays, size);
+            flags = Arrays.copyOf(flags, size);
+            return new FireBatch(this, null, size, new DateLabels(minDay, maxDay));
+        }
+
+        private void grow() {
+            final int capacity = Math.max(INITIAL_CAPACITY, lats.length * 2);
+            lats = Arrays.copyOf(lats, capacity);
+            lons = Arrays.copyOf(lons, capacity);
+            frps = Arrays.copyOf(frps, capacity);
+            bright4s = Arrays.copyOf(bright4s, capacity);
+            bright5s = Arrays.copyOf(bright5s, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+    }
+}
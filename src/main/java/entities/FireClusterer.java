@@ -0,0 +1,196 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Groups detections into fires by connectivity: two detections belong to the same fire when they are closer than
+ * the threshold in both latitude and longitude, and fires are the connected components of that relation.
+ * Detections are placed in a uniform hash grid whose cells are one threshold wide, so each detection is only
+ * compared with the detections in its own and the eight surrounding cells, and components are merged with a
+ * union-find. This takes expected O(n) time for realistic detection densities and never reorders its input.
+ */
+public final class FireClusterer {
+
+    private static final double MAX_CELLS_PER_AXIS = Integer.MAX_VALUE / 2.0;
+    private static final double WORLD_SPAN = 360;
+
+    private final double threshold;
+
+    /**
+     * Creates a clusterer.
+     * @param threshold the distance in degrees below which two detections are linked, on both axes
+     * @throws IllegalArgumentException if the threshold is not positive or so small that the grid cannot index it
+     */
+    public FireClusterer(double threshold) {
+        if (!(threshold > 0) || WORLD_SPAN / threshold > MAX_CELLS_PER_AXIS) {
+            throw new IllegalArgumentException("Invalid clustering threshold: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Finds the connected components of the given detections.
+     * @param lats the latitude of every detection
+     * @param lons the longitude of every detection, same length as lats
+     * @return one array of detection indices per fire, indices ascending within a fire and fires ordered by their
+     *     first detection
+     */
+    public int[][] cluster(double[] lats, double[] lons) {
+        final int count = lats.length;
+        final UnionFind components = new UnionFind(count);
+        final CellIndex cells = new CellIndex(count);
+
+        for (int i = 0; i < count; i++) {
+            final int cellLat = cellOf(lats[i]);
+            final int cellLon = cellOf(lons[i]);
+            for (int dLat = -1; dLat <= 1; dLat++) {
+                for (int dLon = -1; dLon <= 1; dLon++) {
+                    for (int j = cells.first(cellLat + dLat, cellLon + dLon); j >= 0; j = cells.next(j)) {
+                        if (Math.abs(lats[i] - lats[j]) < threshold && Math.abs(lons[i] - lons[j]) < threshold) {
+                            components.union(i, j);
+                        }
+                    }
+                }
+            }
+            cells.insert(cellLat, cellLon, i);
+        }
+        return components.groups();
+    }
+
+    private int cellOf(double degrees) {
+        return (int) Math.floor(degrees / threshold);
+    }
+
+    /**
+     * Disjoint sets over detection indices, with union by size and path halving.
+     */
+    private static final class UnionFind {
+        private final int[] parent;
+        private final int[] size;
+
+        UnionFind(int count) {
+            parent = new int[count];
+            size = new int[count];
+            for (int i = 0; i < count; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+        }
+
+        int find(int element) {
+            int current = element;
+            while (parent[current] != current) {
+                parent[current] = parent[parent[current]];
+                current = parent[current];
+            }
+            return current;
+        }
+
+        void union(int first, int second) {
+            int rootA = find(first);
+            int rootB = find(second);
+            if (rootA == rootB) {
+                return;
+            }
+            if (size[rootA] < size[rootB]) {
+                final int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            parent[rootB] = rootA;
+            size[rootA] += size[rootB];
+        }
+
+        /**
+         * Lists the members of every set; sets are numbered in order of their first member.
+         */
+        int[][] groups() {
+            final int count = parent.length;
+            final int[] groupOfRoot = new int[count];
+            Arrays.fill(groupOfRoot, -1);
+            final int[] groupOf = new int[count];
+            int groupCount = 0;
+            for (int i = 0; i < count; i++) {
+                final int root = find(i);
+                if (groupOfRoot[root] < 0) {
+                    groupOfRoot[root] = groupCount++;
+                }
+                groupOf[i] = groupOfRoot[root];
+            }
+
+            final int[][] groups = new int[groupCount][];
+            for (int i = 0; i < count; i++) {
+                if (groups[groupOf[i]] == null) {
+                    groups[groupOf[i]] = new int[size[find(i)]];
+                }
+            }
+            final int[] filled = new int[groupCount];
+            for (int i = 0; i < count; i++) {
+                final int group = groupOf[i];
+                groups[group][filled[group]++] = i;
+            }
+            return groups;
+        }
+    }
+
+    /**
+     * Open-addressing hash from grid cell to a chain of the detections inserted into it.
+     */
+    private static final class CellIndex {
+        private static final int EMPTY = -1;
+
+        private final long[] keys;
+        private final int[] heads;
+        private final int[] nextInCell;
+        private final int mask;
+
+        CellIndex(int count) {
+            // at most one cell per detection, so the table stays at most half full
+            final int capacity = Integer.highestOneBit(Math.max(2, count)) << 2;
+            keys = new long[capacity];
+            heads = new int[capacity];
+            Arrays.fill(heads, EMPTY);
+            nextInCell = new int[count];
+            mask = capacity - 1;
+        }
+
+        int first(int cellLat, int cellLon) {
+            final long key = key(cellLat, cellLon);
+            for (int slot = slot(key); heads[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+            }
+            return EMPTY;
+        }
+
+        int next(int detection) {
+            return nextInCell[detection];
+        }
+
+        void insert(int cellLat, int cellLon, int detection) {
+            final long key = key(cellLat, cellLon);
+            int slot = slot(key);
+            while (heads[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            nextInCell[detection] = heads[slot];
+            heads[slot] = detection;
+        }
+
+        private static long key(int cellLat, int cellLon) {
+            return (long) cellLat << Integer.SIZE | cellLon & 0xFFFFFFFFL;
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            return (int) hash & mask;
+        }
+    }
+}
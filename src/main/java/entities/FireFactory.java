@@ -34,49 +34,132 @@ public class FireFactory {
     /**
      * Sorts Coordinate objects into bundles based off of differences in their latitude and longitude which either
      * make them part of a single fire, or separate ones.
+     * Uses the default THRESHOLD; see {@link #bundleDataPoints(List, double)}.
      *
      * @param dataPoints the dataPoints to be sorted into bundles of data points
      * @return a List of Coordinate Lists, with each Coordinate List representing the data points of a single fire
      */
 
     public static List<List<Coordinate>> bundleDataPoints(List<Coordinate> dataPoints) {
+        return bundleDataPoints(dataPoints, THRESHOLD);
+    }
+
+    /**
+     * Groups Coordinate objects into bundles: points closer than the threshold in both latitude and longitude are
+     * part of the same fire, and so is any chain of such points (see {@link FireClusterer}).
+     * The given list is not modified. Each bundle is ordered by latitude then longitude, and bundles are ordered by
+     * their first point.
+     *
+     * @param dataPoints the dataPoints to be sorted into bundles of data points
+     * @param threshold the linking distance in degrees
+     * @return a List of Coordinate Lists, with each Coordinate List representing the data points of a single fire
+     */
+    public static List<List<Coordinate>> bundleDataPoints(List<Coordinate> dataPoints, double threshold) {
         // If dataPoints is null or empty, return empty list
         final List<List<Coordinate>> ptBundles = new ArrayList<>();
         if (dataPoints == null || dataPoints.isEmpty()) {
             return ptBundles;
         }
 
-        List<Coordinate> constitutingPts = new ArrayList<>();
-
-        // sorts by both lat and lon simultaneously
-        dataPoints.sort(Comparator.comparingDouble(Coordinate::getLat)
-                .thenComparingDouble(Coordinate::getLon));
+        final double[] lats = new double[dataPoints.size()];
+        final double[] lons = new double[dataPoints.size()];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = dataPoints.get(i).getLat();
+            lons[i] = dataPoints.get(i).getLon();
+        }
 
-        Coordinate previous = null;
-        for (Coordinate coord : dataPoints) {
-            if (previous == null) {
-                constitutingPts.add(coord);
-            }
-            else {
-                if (Math.abs(previous.getLat() - coord.getLat()) < THRESHOLD
-                        &&
-                        Math.abs(previous.getLon() - coord.getLon()) < THRESHOLD) {
-                    constitutingPts.add(coord);
-                }
-                // lat/lon diff was above threshold
-                else {
-                    ptBundles.add(constitutingPts);
-                    constitutingPts = new ArrayList<>();
-                    constitutingPts.add(coord);
-                }
+        final Comparator<Coordinate> byLatLon = Comparator.comparingDouble(Coordinate::getLat)
+                .thenComparingDouble(Coordinate::getLon);
+        for (int[] cluster : new FireClusterer(threshold).cluster(lats, lons)) {
+            final List<Coordinate> constitutingPts = new ArrayList<>(cluster.length);
+            for (int index : cluster) {
+                constitutingPts.add(dataPoints.get(index));
             }
-            previous = coord;
+            constitutingPts.sort(byLatLon);
+            ptBundles.add(constitutingPts);
         }
-        ptBundles.add(constitutingPts);
+        ptBundles.sort(Comparator.comparing(bundle -> bundle.get(0), byLatLon));
 
         return ptBundles;
     }
 
+    /**
+     * Bundles a columnar batch into Fire objects without building a Coordinate per detection.
+     * Uses the default THRESHOLD; see {@link #makeFireList(FireBatch, double)}.
+     * @param batch the raw detections
+     * @return a List of Fires recognized in the batch
+     */
+    public static List<Fire> makeFireList(FireBatch batch) {
+        return makeFireList(batch, THRESHOLD);
+    }
+
+    /**
+     * Bundles a columnar batch into Fire objects without building a Coordinate per detection.
+     * Gives the same fires as {@code makeFireList(bundleDataPoints(batch, threshold))}. The batch itself is not
+     * reordered; each fire's coordinates are a view of the batch.
+     * @param batch the raw detections
+     * @param threshold the linking distance in degrees
+     * @return a List of Fires recognized in the batch
+     */
+    public static List<Fire> makeFireList(FireBatch batch, double threshold) {
+        final List<Fire> fires = new ArrayList<>();
+        if (batch == null || batch.isEmpty()) {
+            return fires;
+        }
+        final double[] lats = new double[batch.size()];
+        final double[] lons = new double[batch.size()];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = batch.getLat(i);
+            lons[i] = batch.getLon(i);
+        }
+
+        final List<FireBatch> bundles = new ArrayList<>();
+        for (int[] cluster : new FireClusterer(threshold).cluster(lats, lons)) {
+            final FireBatch bundle = batch.select(cluster);
+            bundles.add(bundle.select(bundle.indicesByLatLon()));
+        }
+        bundles.sort(Comparator.<FireBatch>comparingDouble(bundle -> bundle.getLat(0))
+                .thenComparingDouble(bundle -> bundle.getLon(0)));
+        for (FireBatch bundle : bundles) {
+            fires.add(makeFire(bundle));
+        }
+        return fires;
+    }
+
+    /**
+     * Builds one Fire from a bundle that is already ordered by latitude.
+     */
+    private static Fire makeFire(FireBatch bundle) {
+        final int numFires = bundle.size();
+        double sumLats = 0;
+        double sumLons = 0;
+        double bright4 = 0;
+        double bright5 = 0;
+        double frp = 0;
+        for (int i = 0; i < numFires; i++) {
+            sumLats += bundle.getLat(i);
+            sumLons += bundle.getLon(i);
+            bright4 += bundle.getBright4(i);
+            bright5 += bundle.getBright5(i);
+            frp += bundle.getFrp(i);
+        }
+        final Coordinate center = new Coordinate(sumLats / numFires, sumLons / numFires,
+                new String[]{INVALID_DATA, INVALID_DATA, INVALID_DATA},
+                new double[]{bright4 / numFires, bright5 / numFires},
+                frp / numFires);
+
+        final double latDiff = Math.abs(bundle.getLat(0) - bundle.getLat(numFires - 1));
+        final double lonDiff = Math.abs(bundle.getLon(0) - bundle.getLon(numFires - 1));
+        final double avgDiameter = latDiff + lonDiff / 2;
+        double radius = avgDiameter / 2;
+
+        // Prevent crash for radius 0
+        if (radius <= MIN_RADIUS_THRESHOLD) {
+            radius = DEFAULT_SAFETY_RADIUS;
+        }
+        return new Fire(radius, center, bundle);
+    }
+
     /**
      * Sorts bundles of coordinates into Fire objects by calculating their centerpoint and radius.
      * Runs if no filters are applied, or if filters are RESET.
@@ -0,0 +1,146 @@
+package entities;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.jxmapviewer.viewer.GeoPosition;
+
+/**
+ * The polygons of a region's boundary, packed into primitive buffers that may be memory-mapped from a file.
+ * Vertex v of the whole buffer is stored as latitude at {@code 2v} and longitude at {@code 2v + 1}; polygon p of
+ * this boundary spans the vertices from {@code offsets[first + p]} up to {@code offsets[first + p + 1]}.
+ * Nothing is copied onto the heap: {@link #asLists()} returns views that create a {@link GeoPosition} only when a
+ * vertex is read. Code that walks every vertex, such as point tests and painters, reads the views through
+ * {@link #copyVertices(List, double[], double[])} instead, which copies straight from the buffers.
+ */
+public final class PackedBoundary {
+
+    private final FloatBuffer coordinates;
+    private final IntBuffer offsets;
+    private final int firstPolygon;
+    private final int polygonCount;
+
+    /**
+     * Wraps a range of polygons of packed buffers. The buffers are read with absolute gets and never modified.
+     * @param coordinates the latitude and longitude of every vertex, interleaved
+     * @param offsets the first vertex of every polygon, followed by the end of the last polygon
+     * @param firstPolygon the first polygon of this boundary
+     * @param polygonCount the number of polygons of this boundary
+     */
+    public PackedBoundary(FloatBuffer coordinates, IntBuffer offsets, int firstPolygon, int polygonCount) {
+        this.coordinates = coordinates;
+        this.offsets = offsets;
+        this.firstPolygon = firstPolygon;
+        this.polygonCount = polygonCount;
+    }
+
+    public int getPolygonCount() {
+        return polygonCount;
+    }
+
+    /**
+     * Returns the number of vertices of a polygon.
+     * @param polygon the polygon, from 0 to {@link #getPolygonCount()} - 1
+     * @return the number of vertices
+     */
+    public int getVertexCount(int polygon) {
+        return offsets.get(firstPolygon + polygon + 1) - offsets.get(firstPolygon + polygon);
+    }
+
+    /**
+     * Returns the latitude of a vertex.
+     * @param polygon the polygon
+     * @param vertex the vertex within the polygon
+     * @return the latitude in degrees
+     */
+    public double getLat(int polygon, int vertex) {
+        return coordinates.get(2 * (offsets.get(firstPolygon + polygon) + vertex));
+    }
+
+    /**
+     * Returns the longitude of a vertex.
+     * @param polygon the polygon
+     * @param vertex the vertex within the polygon
+     * @return the longitude in degrees
+     */
+    public double getLon(int polygon, int vertex) {
+        return coordinates.get(2 * (offsets.get(firstPolygon + polygon) + vertex) + 1);
+    }
+
+    /**
+     * Copies the latitudes and longitudes of a polygon's vertices into arrays. A polygon of {@link #asLists()} is
+     * read straight from the buffers, without creating a position per vertex; any other list is read position by
+     * position.
+     * @param polygon the vertices of one polygon
+     * @param lats receives the latitude of every vertex; at least as long as the polygon
+     * @param lons receives the longitude of every vertex; at least as long as the polygon
+     */
+    public static void copyVertices(List<GeoPosition> polygon, double[] lats, double[] lons) {
+        if (polygon instanceof PackedBoundary.VertexList packed) {
+            packed.copyTo(lats, lons);
+            return;
+        }
+        for (int i = 0; i < polygon.size(); i++) {
+            final GeoPosition vertex = polygon.get(i);
+            lats[i] = vertex.getLatitude();
+            lons[i] = vertex.getLongitude();
+        }
+    }
+
+    /**
+     * Returns the boundary as read-only lists of positions that read through to the buffers.
+     * @return one list of vertices per polygon
+     */
+    public List<List<GeoPosition>> asLists() {
+        return new PolygonList();
+    }
+
+    private final class PolygonList extends AbstractList<List<GeoPosition>> implements RandomAccess {
+        @Override
+        public List<GeoPosition> get(int polygon) {
+            if (polygon < 0 || polygon >= polygonCount) {
+                throw new IndexOutOfBoundsException("Polygon " + polygon + " of " + polygonCount);
+            }
+            return new VertexList(polygon);
+        }
+
+        @Override
+        public int size() {
+            return polygonCount;
+        }
+    }
+
+    private final class VertexList extends AbstractList<GeoPosition> implements RandomAccess {
+        private final int polygon;
+        private final int size;
+
+        VertexList(int polygon) {
+            this.polygon = polygon;
+            this.size = getVertexCount(polygon);
+        }
+
+        @Override
+        public GeoPosition get(int vertex) {
+            if (vertex < 0 || vertex >= size) {
+                throw new IndexOutOfBoundsException("Vertex " + vertex + " of " + size);
+            }
+            return new GeoPosition(getLat(polygon, vertex), getLon(polygon, vertex));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void copyTo(double[] lats, double[] lons) {
+            final int start = 2 * offsets.get(firstPolygon + polygon);
+            for (int i = 0; i < size; i++) {
+                lats[i] = coordinates.get(start + 2 * i);
+                lons[i] = coordinates.get(start + 2 * i + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jxmapviewer.viewer.GeoPosition;
+
+/**
+ * A region boundary prepared for repeated point-in-polygon tests.
+ * Every polygon keeps its bounding box and its edges in flat arrays, bucketed into horizontal latitude bands, so a
+ * test rejects most points on the bounding boxes and otherwise only looks at the edges of one band.
+ * A point is inside when any polygon contains it under the non-zero winding rule, the same answer as building a
+ * closed {@link java.awt.geom.Path2D.Double} from each polygon and calling {@code contains(lon, lat)}.
+ */
+public final class PreparedRegion {
+
+    private static final int EDGES_PER_BAND = 4;
+    private static final int MAX_BANDS = 1 << 16;
+
+    private final List<Polygon> polygons;
+    private final double minLat;
+    private final double maxLat;
+    private final double minLon;
+    private final double maxLon;
+
+    /**
+     * Prepares the given boundary.
+     * @param boundary the polygons of the region, each a list of vertices; the last vertex is joined to the first
+     */
+    public PreparedRegion(List<List<GeoPosition>> boundary) {
+        this.polygons = new ArrayList<>();
+        double lowLat = Double.POSITIVE_INFINITY;
+        double highLat = Double.NEGATIVE_INFINITY;
+        double lowLon = Double.POSITIVE_INFINITY;
+        double highLon = Double.NEGATIVE_INFINITY;
+        if (boundary != null) {
+            for (List<GeoPosition> vertices : boundary) {
+                if (vertices == null || vertices.size() < 2) {
+                    continue;
+                }
+                final Polygon polygon = new Polygon(vertices);
+                polygons.add(polygon);
+                lowLat = Math.min(lowLat, polygon.minLat);
+                highLat = Math.max(highLat, polygon.maxLat);
+                lowLon = Math.min(lowLon, polygon.minLon);
+                highLon = Math.max(highLon, polygon.maxLon);
+            }
+        }
+        this.minLat = lowLat;
+        this.maxLat = highLat;
+        this.minLon = lowLon;
+        this.maxLon = highLon;
+    }
+
+    /**
+     * Checks whether a point lies inside the region.
+     * @param lat the latitude of the point
+     * @param lon the longitude of the point
+     * @return true if any polygon of the region contains the point
+     */
+    public boolean contains(double lat, double lon) {
+        if (!(lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon)) {
+            return false;
+        }
+        for (Polygon polygon : polygons) {
+            if (polygon.contains(lat, lon)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a point lies within a distance of the region's boundary, treating latitude and longitude as
+     * plane coordinates.
+     * @param lat the latitude of the point
+     * @param lon the longitude of the point
+     * @param distance the distance in degrees
+     * @return true if an edge of any polygon passes within the distance of the point
+     */
+    public boolean isNearBoundary(double lat, double lon, double distance) {
+        if (!(lat >= minLat - distance && lat <= maxLat + distance
+                && lon >= minLon - distance && lon <= maxLon + distance)) {
+            return false;
+        }
+        for (Polygon polygon : polygons) {
+            if (polygon.isNear(lat, lon, distance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a coordinate lies inside the region.
+     * @param point the coordinate
+     * @return true if any polygon of the region contains the coordinate
+     */
+    public boolean contains(Coordinate point) {
+        return contains(point.getLat(), point.getLon());
+    }
+
+    /**
+     * Returns the smallest latitude of the region, or positive infinity when the region is empty.
+     * @return the southern edge of the bounding box
+     */
+    public double getMinLat() {
+        return minLat;
+    }
+
+    /**
+     * Returns the largest latitude of the region, or negative infinity when the region is empty.
+     * @return the northern edge of the bounding box
+     */
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    /**
+     * Returns the smallest longitude of the region, or positive infinity when the region is empty.
+     * @return the western edge of the bounding box
+     */
+    public double getMinLon() {
+        return minLon;
+    }
+
+    /**
+     * Returns the largest longitude of the region, or negative infinity when the region is empty.
+     * @return the eastern edge of the bounding box
+     */
+    public double getMaxLon() {
+        return maxLon;
+    }
+
+    /**
+     * One closed ring with its edges bucketed by latitude band.
+     */
+    private static final class Polygon {
+        private final double[] lon0;
+        private final double[] lat0;
+        private final double[] lon1;
+        private final double[] lat1;
+        private final double minLat;
+        private final double maxLat;
+        private final double minLon;
+        private final double maxLon;
+        private final double bandHeight;
+        // edges of band b are bandEdges[bandStart[b]] .. bandEdges[bandStart[b + 1] - 1]
+        private final int[] bandStart;
+        private final int[] bandEdges;
+
+        Polygon(List<GeoPosition> vertices) {
+            final int edgeCount = vertices.size();
+            lon0 = new double[edgeCount];
+            lat0 = new double[edgeCount];
+            lon1 = new double[edgeCount];
+            lat1 = new double[edgeCount];
+            double lowLat = Double.POSITIVE_INFINITY;
+            double highLat = Double.NEGATIVE_INFINITY;
+            double lowLon = Double.POSITIVE_INFINITY;
+            double highLon = Double.NEGATIVE_INFINITY;
+            PackedBoundary.copyVertices(vertices, lat0, lon0);
+            for (int i = 0; i < edgeCount; i++) {
+                final int next = (i + 1) % edgeCount;
+                lon1[i] = lon0[next];
+                lat1[i] = lat0[next];
+                lowLat = Math.min(lowLat, lat0[i]);
+                highLat = Math.max(highLat, lat0[i]);
+                lowLon = Math.min(lowLon, lon0[i]);
+                highLon = Math.max(highLon, lon0[i]);
+            }
+            minLat = lowLat;
+            maxLat = highLat;
+            minLon = lowLon;
+            maxLon = highLon;
+
+            final int bands = Math.max(1, Math.min(MAX_BANDS, edgeCount / EDGES_PER_BAND));
+            bandHeight = (maxLat - minLat) / bands;
+            bandStart = new int[bands + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                for (int band = band(Math.min(lat0[i], lat1[i])); band <= band(Math.max(lat0[i], lat1[i])); band++) {
+                    bandStart[band + 1]++;
+                }
+            }
+            for (int band = 0; band < bands; band++) {
+                bandStart[band + 1] += bandStart[band];
+            }
+            bandEdges = new int[bandStart[bands]];
+            final int[] filled = new int[bands];
+            for (int i = 0; i < edgeCount; i++) {
+                for (int band = band(Math.min(lat0[i], lat1[i])); band <= band(Math.max(lat0[i], lat1[i])); band++) {
+                    bandEdges[bandStart[band] + filled[band]++] = i;
+                }
+            }
+        }
+
+        private int band(double lat) {
+            if (!(bandHeight > 0)) {
+                return 0;
+            }
+            final int band = (int) ((lat - minLat) / bandHeight);
+            return Math.max(0, Math.min(bandStart.length - 2, band));
+        }
+
+        boolean contains(double lat, double lon) {
+            if (!(lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon)) {
+                return false;
+            }
+            final int band = band(lat);
+            int crossings = 0;
+            for (int k = bandStart[band]; k < bandStart[band + 1]; k++) {
+                crossings += crossings(bandEdges[k], lat, lon);
+            }
+            return crossings != 0;
+        }
+
+        boolean isNear(double lat, double lon, double distance) {
+            if (!(lat >= minLat - distance && lat <= maxLat + distance
+                    && lon >= minLon - distance && lon <= maxLon + distance)) {
+                return false;
+            }
+            final double distanceSquared = distance * distance;
+            // an edge within the distance crosses one of the bands the distance reaches into
+            for (int band = band(lat - distance); band <= band(lat + distance); band++) {
+                for (int k = bandStart[band]; k < bandStart[band + 1]; k++) {
+                    final int edge = bandEdges[k];
+                    if (BoundaryPyramid.segmentDistanceSquared(lon, lat, lon0[edge], lat0[edge], lon1[edge],
+                            lat1[edge]) <= distanceSquared) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Signed crossing of a ray running east from the point, following the conventions of
+         * {@code sun.awt.geom.Curve.pointCrossingsForLine} so results agree with {@code Path2D.contains}.
+         */
+        private int crossings(int edge, double lat, double lon) {
+            final double y0 = lat0[edge];
+            final double y1 = lat1[edge];
+            if (lat < y0 && lat < y1 || lat >= y0 && lat >= y1) {
+                return 0;
+            }
+            final double x0 = lon0[edge];
+            final double x1 = lon1[edge];
+            if (lon >= x0 && lon >= x1) {
+                return 0;
+            }
+            final int direction;
+            if (y0 < y1) {
+                direction = 1;
+            }
+            else {
+                direction = -1;
+            }
+            if (lon < x0 && lon < x1) {
+                return direction;
+            }
+            final double intercept = x0 + (lat - y0) * (x1 - x0) / (y1 - y0);
+            if (lon >= intercept) {
+                return 0;
+            }
+            return direction;
+        }
+    }
+}
@@ -11,6 +11,8 @@ public class Region {
 
 	private final String provinceName;
 	private final List<List<GeoPosition>> boundary;
+	private volatile PreparedRegion prepared;
+	private volatile BoundaryPyramid pyramid;
 
     public Region(String provinceName, List<List<GeoPosition>> boundary) {
         this.provinceName = provinceName;
@@ -25,4 +27,31 @@ public class Region {
 		return boundary;
 	}
 
+	/**
+	 * Returns the boundary prepared for point-in-region tests. It is built on first use and then reused.
+	 * @return the prepared boundary
+	 */
+	public PreparedRegion getPreparedRegion() {
+		PreparedRegion result = prepared;
+		if (result == null) {
+			result = new PreparedRegion(boundary);
+			prepared = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the boundary at several levels of detail. It is built on first use and then reused; its exact level
+	 * shares {@link #getPreparedRegion()}.
+	 * @return the boundary pyramid
+	 */
+	public BoundaryPyramid getPyramid() {
+		BoundaryPyramid result = pyramid;
+		if (result == null) {
+			result = new BoundaryPyramid(boundary, this::getPreparedRegion);
+			pyramid = result;
+		}
+		return result;
+	}
+
 }
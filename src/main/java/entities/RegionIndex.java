@@ -0,0 +1,90 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns points to one of several regions in a single pass.
+ * Regions are kept sorted by the western edge of their bounding box, so each point is only tested against the
+ * regions whose box could contain it, and then against their {@link BoundaryPyramid}, which only looks at the exact
+ * boundary for points near a border.
+ */
+public final class RegionIndex {
+
+    /**
+     * The label of a point that lies in none of the regions.
+     */
+    public static final short NO_REGION = -1;
+
+    private final List<BoundaryPyramid> regions;
+    // region numbers ordered by the western edge of their bounding box
+    private final int[] byMinLon;
+
+    /**
+     * Indexes the given regions. A region's position in the list is its label.
+     * @param regions the regions to assign points to, at most {@link Short#MAX_VALUE} of them
+     * @throws IllegalArgumentException if there are too many regions to label with a short
+     */
+    public RegionIndex(List<Region> regions) {
+        if (regions.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many regions to index: " + regions.size());
+        }
+        this.regions = new ArrayList<>(regions.size());
+        for (Region region : regions) {
+            this.regions.add(region.getPyramid());
+        }
+        this.byMinLon = new int[regions.size()];
+        for (int i = 0; i < byMinLon.length; i++) {
+            byMinLon[i] = i;
+        }
+        // insertion sort: there are only a handful of regions
+        for (int i = 1; i < byMinLon.length; i++) {
+            final int current = byMinLon[i];
+            int j = i - 1;
+            while (j >= 0 && minLon(byMinLon[j]) > minLon(current)) {
+                byMinLon[j + 1] = byMinLon[j];
+                j--;
+            }
+            byMinLon[j + 1] = current;
+        }
+    }
+
+    /**
+     * Finds the region containing a point. If regions overlap, the one listed first wins.
+     * @param lat the latitude of the point
+     * @param lon the longitude of the point
+     * @return the region's position in the list given to the constructor, or {@link #NO_REGION}
+     */
+    public short label(double lat, double lon) {
+        int best = NO_REGION;
+        for (int k = 0; k < byMinLon.length && minLon(byMinLon[k]) <= lon; k++) {
+            final int candidate = byMinLon[k];
+            if ((best == NO_REGION || candidate < best) && regions.get(candidate).contains(lat, lon)) {
+                best = candidate;
+            }
+        }
+        return (short) best;
+    }
+
+    /**
+     * Labels the center of every fire.
+     * @param fires the fires to label
+     * @return one label per fire, in the same order
+     */
+    public short[] labelFires(List<Fire> fires) {
+        final short[] labels = new short[fires.size()];
+        for (int i = 0; i < labels.length; i++) {
+            final Coordinate center = fires.get(i).getCenter();
+            labels[i] = label(center.getLat(), center.getLon());
+        }
+        return labels;
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    private double minLon(int region) {
+        return regions.get(region).getMinLon();
+    }
+}
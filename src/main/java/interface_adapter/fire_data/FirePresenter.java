@@ -23,29 +23,45 @@ public class FirePresenter implements LoadFiresOutputBoundary, NationalOverviewO
     // Load Fires Output
     @Override
     public void prepareSuccessView(LoadFiresOutputData response) {
-        updateState(response.getFires(), response.getFireTrendData());
+        updateState(response.getFires(), response.getFireTrendData(), false);
+    }
+
+    @Override
+    public void preparePartialView(LoadFiresOutputData response) {
+        updateState(response.getFires(), response.getFireTrendData(), true);
     }
 
     // National Overview Output
     @Override
     public void prepareSuccessView(NationalOverviewOutputData response) {
-        updateState(response.getFires(), response.getFireTrendData());
+        updateState(response.getFires(), response.getFireTrendData(), false);
+    }
+
+    @Override
+    public void preparePartialView(NationalOverviewOutputData response) {
+        updateState(response.getFires(), response.getFireTrendData(), true);
     }
 
     // Shared Fail View
     @Override
     public void prepareFailView(String error) {
-        final FireState state = fireViewModel.getState();
+        final FireState state = new FireState(fireViewModel.getState());
         state.setError(error);
+        state.setLoading(false);
+
+        fireViewModel.setState(state);
         fireViewModel.firePropertyChange();
     }
 
-    private void updateState(java.util.List<entities.Fire> fires, java.util.Map<String, Integer> trendData) {
-        final FireState state = fireViewModel.getState();
+    private void updateState(java.util.List<entities.Fire> fires, java.util.Map<String, Integer> trendData,
+                             boolean loading) {
+        // a fresh state per update: listeners read it later on the EDT, while the next update is already being made
+        final FireState state = new FireState(fireViewModel.getState());
         state.setLoadedFires(fires);
         state.setDisplayedFires(fires);
         state.setGraphData(trendData);
         state.setError(null);
+        state.setLoading(loading);
 
         fireViewModel.setState(state);
         fireViewModel.firePropertyChange();
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 
 import entities.Fire;
+import usecase.marker.FireLookup;
 
 /**
  * The state for the Fire ViewModel.
@@ -14,8 +15,10 @@ import entities.Fire;
 public class FireState {
     private List<Fire> loadedFires = new ArrayList<>();
     private List<Fire> displayedFires = new ArrayList<>();
+    private FireLookup displayedFireLookup = FireLookup.EMPTY;
     private Map<String, Integer> graphData = new LinkedHashMap<>();
     private String error;
+    private boolean loading;
 
     /**
      * Copy constructor.
@@ -24,8 +27,10 @@ public class FireState {
     public FireState(FireState copy) {
         this.loadedFires = copy.loadedFires;
         this.displayedFires = copy.displayedFires;
+        this.displayedFireLookup = copy.displayedFireLookup;
         this.graphData = copy.graphData;
         this.error = copy.error;
+        this.loading = copy.loading;
     }
 
     /**
@@ -46,8 +51,17 @@ public class FireState {
         return displayedFires;
     }
 
+    /**
+     * Sets the displayed fires and publishes a lookup by center with them.
+     * @param fires the displayed fires
+     */
     public void setDisplayedFires(List<Fire> fires) {
         this.displayedFires = fires;
+        this.displayedFireLookup = new FireLookup(fires);
+    }
+
+    public FireLookup getDisplayedFireLookup() {
+        return displayedFireLookup;
     }
 
     public Map<String, Integer> getGraphData() {
@@ -65,4 +79,16 @@ public class FireState {
     public void setError(String error) {
         this.error = error;
     }
+
+    /**
+     * Returns whether the fires are a partial result of a load that is still running.
+     * @return true while more fires are expected
+     */
+    public boolean isLoading() {
+        return loading;
+    }
+
+    public void setLoading(boolean loading) {
+        this.loading = loading;
+    }
 }
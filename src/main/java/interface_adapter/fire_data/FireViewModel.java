@@ -58,4 +58,13 @@ public class FireViewModel extends ViewModel<FireState> implements FireDisplaySt
     public List<Fire> getDisplayedFires() {
         return this.getState().getDisplayedFires();
     }
+
+    /**
+     * Override method in the interface FireDisplayStateReader.
+     * Finds the hovered fire through the lookup published with the displayed fires instead of scanning them.
+     */
+    @Override
+    public Fire findDisplayedFire(double lat, double lon) {
+        return this.getState().getDisplayedFireLookup().find(lat, lon);
+    }
 }
@@ -3,17 +3,23 @@ package interface_adapter.region;
 import data_access.BoundariesDataAccess;
 import entities.Province;
 import entities.Region;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import javax.swing.SwingWorker;
 
 /**
  * Repository that loads and stores all Canadian province Regions.
  * This class fetches data from a {@link BoundariesDataAccess} source asynchronously
  * and provides access to the loaded {@link Region} objects.
+ * Each province is added on the Event Dispatch Thread as soon as it is loaded, so the ones that are ready can be
+ * used while the others are still being fetched.
  */
 public class RegionRepository {
 
@@ -21,6 +27,7 @@ public class RegionRepository {
     private final Map<String, Region> regionMap = new HashMap<>();
     private volatile boolean isLoaded = false;
     private final List<Runnable> onLoadCallbacks = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Region>> onRegionCallbacks = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs a RegionRepository and immediately begins loading region data in the background.
@@ -32,6 +39,14 @@ public class RegionRepository {
         new LoadRegionsWorker().execute();
     }
 
+    /**
+     * Constructs an empty RegionRepository that loads nothing by itself; regions arrive through
+     * {@link #addRegions(List)} and {@link #finishLoading(List)}.
+     */
+    RegionRepository() {
+        this.dataAccess = null;
+    }
+
     /**
      * Checks if the initial loading of all region data is complete.
      *
@@ -55,6 +70,20 @@ public class RegionRepository {
         }
     }
 
+    /**
+     * Adds a callback to be executed on the Event Dispatch Thread with every province as it becomes available.
+     * It is called at once with the provinces that are already loaded.
+     * Must be called on the Event Dispatch Thread, where the provinces are added to the repository.
+     *
+     * @param callback The callback to execute with each loaded province.
+     */
+    public void addOnRegionCallback(final Consumer<Region> callback) {
+        for (final Region region : this.regionMap.values()) {
+            callback.accept(region);
+        }
+        this.onRegionCallbacks.add(callback);
+    }
+
     /**
      * Retrieves a specific Region by its name.
      *
@@ -74,38 +103,81 @@ public class RegionRepository {
         return this.regionMap.values();
     }
 
+    /**
+     * Adds loaded provinces to the repository on the EDT and reports the ones it did not have yet.
+     * The same province can arrive twice, from {@code process} and from {@code done}, and is only reported once.
+     */
+    void addRegions(final List<Region> regions) {
+        for (final Region region : regions) {
+            final String name = region.getProvinceName();
+            if (isProvince(name) && this.regionMap.get(name) != region) {
+                this.regionMap.put(name, region);
+                for (final Consumer<Region> callback : this.onRegionCallbacks) {
+                    callback.accept(region);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every loaded province on the EDT, then marks the repository as loaded and runs the load callbacks.
+     * @param regions every region that was loaded, including those already added
+     */
+    void finishLoading(final List<Region> regions) {
+        addRegions(regions);
+        this.isLoaded = true;
+        System.out.println("All region data loaded.");
+        for (final Runnable callback : this.onLoadCallbacks) {
+            callback.run();
+        }
+    }
+
+    private static boolean isProvince(final String name) {
+        for (final Province province : Province.values()) {
+            if (province.getDisplayName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * A private SwingWorker to handle the asynchronous loading of province boundary data.
+     * Every province is published as soon as it is loaded and added to the repository on the EDT.
+     * Swing may deliver the last published chunk after {@code done}, so {@code done} adds every loaded province
+     * itself before the repository counts as loaded.
      */
-    private class LoadRegionsWorker extends SwingWorker<Void, Void> {
+    private class LoadRegionsWorker extends SwingWorker<List<Region>, Region> {
         @Override
-        protected Void doInBackground() throws Exception {
+        protected List<Region> doInBackground() {
+            final List<Region> loaded = Collections.synchronizedList(new ArrayList<>());
             try {
-                dataAccess.loadProvinces();
+                dataAccess.loadProvinces(region -> {
+                    loaded.add(region);
+                    publish(region);
+                });
             } catch (Exception e) {
                 System.err.println("Failed to load province boundaries: " + e.getMessage());
             }
+            return loaded;
+        }
 
-            for (Province name : Province.values()) {
-                try {
-                    Region region = dataAccess.getRegion(name.getDisplayName());
-                    if (region != null) {
-                        regionMap.put(name.getDisplayName(), region);
-                    }
-                } catch (final Exception e) {
-                    System.err.println("Failed to load province boundaries: " + e.getMessage());
-                }
-            }
-            return null;
+        @Override
+        protected void process(final List<Region> regions) {
+            addRegions(regions);
         }
 
         @Override
         protected void done() {
-            isLoaded = true;
-            System.out.println("All region data loaded.");
-            for (final Runnable callback : onLoadCallbacks) {
-                callback.run();
+            List<Region> regions = List.of();
+            try {
+                regions = get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("Failed to load province boundaries: " + e.getCause().getMessage());
             }
+            finishLoading(regions);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package usecase.common;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The executor that the use cases run their fire data requests on.
+ * It is shared by every interactor, so the number of requests in flight stays bounded however many interactors
+ * are created, and its daemon threads never keep the application alive.
+ */
+public final class FetchExecutor {
+
+    // requests in flight at once, across every use case
+    private static final int THREADS = 4;
+
+    private static final ExecutorService SHARED = Executors.newFixedThreadPool(THREADS, runnable -> {
+        final Thread thread = new Thread(runnable, "fire-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FetchExecutor() {
+    }
+
+    /**
+     * Returns the shared executor. It must not be shut down.
+     * @return the executor for fire data requests
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+}
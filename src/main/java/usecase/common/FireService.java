@@ -3,9 +3,7 @@ package usecase.common;
 import data_access.GetFireData;
 import entities.*;
 import kotlin.Pair;
-import org.jxmapviewer.viewer.GeoPosition;
 
-import java.awt.geom.Path2D;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -20,14 +18,30 @@ import java.util.Map;
 public class FireService {
     private static final double MED_SEVERITY_THRESHOLD = 3.0;
     private static final double HIGH_SEVERITY_THRESHOLD = 7.0;
+    private static final double DEFAULT_CLUSTER_THRESHOLD = 0.001;
+
+    private final double clusterThreshold;
 
     public FireService() {
-        // Empty constructor
+        this(DEFAULT_CLUSTER_THRESHOLD);
+    }
+
+    /**
+     * Creates a FireService that links detections into one fire when they are closer than the given distance.
+     * @param clusterThreshold the linking distance in degrees, on both latitude and longitude
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public FireService(double clusterThreshold) {
+        if (!(clusterThreshold > 0)) {
+            throw new IllegalArgumentException("Invalid clustering threshold: " + clusterThreshold);
+        }
+        this.clusterThreshold = clusterThreshold;
     }
 
     /**
      * Converts raw coordinates into Fire objects.
      * This is the standard preprocessing step for all fire data.
+     * The given list is never modified; a {@link FireBatch} is bundled column by column.
      * @param points the raw list of coordinates from the API
      * @return a list of Fire objects
      */
@@ -35,8 +49,12 @@ public class FireService {
         if (points == null || points.isEmpty()) {
             return new ArrayList<>();
         }
+        if (points instanceof FireBatch batch) {
+            return FireFactory.makeFireList(batch, clusterThreshold);
+        }
         final FireFactory fireFactory = new FireFactory(points);
-        final List<List<Coordinate>> bundles = FireFactory.bundleDataPoints(fireFactory.getDataPoints());
+        final List<List<Coordinate>> bundles =
+                FireFactory.bundleDataPoints(fireFactory.getDataPoints(), clusterThreshold);
         return FireFactory.makeFireList(bundles);
     }
 
@@ -66,7 +84,9 @@ public class FireService {
 
     /**
      * Filters a list of Fire objects to include only those located within a specific region.
-     * Checks if the center of the fire lies within the region boundaries.
+     * Checks if the center of the fire lies within the region boundaries, using the region's
+     * {@link BoundaryPyramid}: fires outside its bounding box or far from its border are settled on a coarse
+     * outline, and only fires near the border are tested against the exact boundary.
      * @param fires the list of fires to filter
      * @param region the region to filter by (can be null, resulting in empty list)
      * @return a filtered list of Fire objects
@@ -80,38 +100,26 @@ public class FireService {
             return new ArrayList<>();
         }
 
+        final BoundaryPyramid pyramid = region.getPyramid();
         List<Fire> filtered = new ArrayList<>();
         for (Fire fire : fires) {
-            if (isPointInRegion(fire.getCenter(), region.getBoundary())) {
+            if (pyramid.contains(fire.getCenter())) {
                 filtered.add(fire);
             }
         }
         return filtered;
     }
 
-
     /**
-     * Checks if a coordinate is inside a complex region boundary.
+     * Assigns every fire to the region containing its center, in a single pass over the fires.
+     * @param fires the fires to label
+     * @param regions the candidate regions; regions without a boundary contain nothing
+     * @return one label per fire: the index of its region in {@code regions}, or {@link RegionIndex#NO_REGION}
      */
-    private boolean isPointInRegion(Coordinate point, List<List<GeoPosition>> boundaries) {
-        for (List<GeoPosition> polygon : boundaries) {
-            final Path2D path = new Path2D.Double();
-            boolean first = true;
-            for (GeoPosition gp : polygon) {
-                if (first) {
-                    path.moveTo(gp.getLongitude(), gp.getLatitude());
-                    first = false;
-                }
-                else {
-                    path.lineTo(gp.getLongitude(), gp.getLatitude());
-                }
-            }
-            path.closePath();
-
-            if (path.contains(point.getLon(), point.getLat())) {
-                return true;
-            }
+    public short[] labelFiresByRegion(List<Fire> fires, List<Region> regions) {
+        if (fires == null || fires.isEmpty()) {
+            return new short[0];
         }
-        return false;
+        return new RegionIndex(regions).labelFires(fires);
     }
 }
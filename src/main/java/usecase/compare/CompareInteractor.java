@@ -2,14 +2,23 @@ package usecase.compare;
 
 import entities.Coordinate;
 import entities.Fire;
+import entities.FireBatch;
 import entities.MultiRegionFireStats;
 import entities.Region;
+import entities.RegionIndex;
 import kotlin.Pair;
+import usecase.common.FetchExecutor;
 import usecase.common.FireService;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Interactor for the "Compare" use case.
@@ -19,9 +28,14 @@ import java.util.*;
 public class CompareInteractor implements CompareInputBoundary {
 
     private static final DateTimeFormatter API_DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAX_DAYS_PER_REQUEST = 10;
+    private static final Duration DEFAULT_CHUNK_TIMEOUT = Duration.ofSeconds(60);
+
     private final CompareFireDataAccess fireAccess;
     private final CompareBoundaryDataAccess boundaryAccess;
     private final FireService fireService;
+    private final ExecutorService fetchExecutor;
+    private final Duration chunkTimeout;
 
     /**
      * Constructs a CompareInteractor.
@@ -32,15 +46,32 @@ public class CompareInteractor implements CompareInputBoundary {
     public CompareInteractor(CompareFireDataAccess fireAccess,
                              CompareBoundaryDataAccess boundaryAccess,
                              FireService fireService) {
+        this(fireAccess, boundaryAccess, fireService, FetchExecutor.shared(), DEFAULT_CHUNK_TIMEOUT);
+    }
+
+    /**
+     * Constructs a CompareInteractor that fetches date chunks on the given executor.
+     * @param fireAccess     the interface to retrieve fire data from an external API
+     * @param boundaryAccess the interface to retrieve region boundary data
+     * @param fireService    the shared service for bundling and filtering logic
+     * @param fetchExecutor  the executor the chunk requests run on; its size bounds the number of parallel requests
+     * @param chunkTimeout   how long a chunk may take, counted from when its request starts, before it is abandoned
+     */
+    public CompareInteractor(CompareFireDataAccess fireAccess,
+                             CompareBoundaryDataAccess boundaryAccess,
+                             FireService fireService,
+                             ExecutorService fetchExecutor,
+                             Duration chunkTimeout) {
         this.fireAccess = fireAccess;
         this.boundaryAccess = boundaryAccess;
         this.fireService = fireService;
+        this.fetchExecutor = fetchExecutor;
+        this.chunkTimeout = chunkTimeout;
     }
 
     @Override
     public CompareOutputData execute(CompareInputData inputData) {
         Map<String, List<Pair<String, Integer>>> statsMap = new LinkedHashMap<>();
-        Set<Fire> aggregatedFires = new LinkedHashSet<>(); // Use Set to avoid duplicates if regions overlap or "All" is used
 
         LocalDate userDate = LocalDate.parse(inputData.getDate(), API_DATE_FMT);
         int range = inputData.getDateRange();
@@ -49,79 +80,221 @@ public class CompareInteractor implements CompareInputBoundary {
         LocalDate grandStartDate = userDate.minusDays(range);
         int totalDaysToFetch = range * 3;
 
-        List<Coordinate> allRawPoints = fetchAllRawPoints(grandStartDate, totalDaysToFetch);
+        List<String> failedChunks = new ArrayList<>();
+        List<Coordinate> allRawPoints = fetchAllRawPoints(grandStartDate, totalDaysToFetch, failedChunks);
 
         // Optimization: Bundle all raw points into Fire objects once
         List<Fire> allGlobalFires = fireService.createFiresFromPoints(allRawPoints);
 
-        // Retrieve the selected province
+        // Look up each selected province once; its position in regions is its label
+        List<Region> regions = new ArrayList<>();
+        Map<String, Integer> labelOfProvince = new HashMap<>();
         for (String provinceName : inputData.getProvinces()) {
-            List<Coordinate> regionPoints = new ArrayList<>();
-            List<Fire> regionFires = new ArrayList<>();
-
-            if ("All".equalsIgnoreCase(provinceName)) {
-                regionPoints = allRawPoints;
-                regionFires = allGlobalFires;
-            } else {
+            if (!"All".equalsIgnoreCase(provinceName) && !labelOfProvince.containsKey(provinceName)) {
                 Region region = boundaryAccess.getRegion(provinceName);
-                if (region != null) {
-                    regionFires = fireService.filterFiresByRegion(allGlobalFires, region);
-
-                    for (Fire f : regionFires) {
-                        regionPoints.addAll(f.getCoordinates());
-                    }
+                if (region != null && region.getBoundary() != null) {
+                    labelOfProvince.put(provinceName, regions.size());
+                    regions.add(region);
                 }
             }
+        }
 
-            // Accumulate fires for display
-            aggregatedFires.addAll(regionFires);
-
-            Map<String, Integer> dailyCounts = new TreeMap<>();
-
-            for (int i = 0; i < totalDaysToFetch; i++) {
-                String dayStr = grandStartDate.plusDays(i).format(API_DATE_FMT);
-                dailyCounts.put(dayStr, 0);
+        // Spatial join: every fire is tested once, then counted towards its province in one linear pass
+        short[] labels = fireService.labelFiresByRegion(allGlobalFires, regions);
+        int[][] regionCounts = new int[regions.size()][totalDaysToFetch];
+        List<List<Fire>> regionFires = new ArrayList<>();
+        for (int i = 0; i < regions.size(); i++) {
+            regionFires.add(new ArrayList<>());
+        }
+        DayIndex days = new DayIndex(grandStartDate, totalDaysToFetch);
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] != RegionIndex.NO_REGION) {
+                Fire fire = allGlobalFires.get(i);
+                regionFires.get(labels[i]).add(fire);
+                days.count(fire.getCoordinates(), regionCounts[labels[i]]);
             }
+        }
 
-            // Count actual fire points for each date.
-            for (Coordinate p : regionPoints) {
-                String pDate = p.getDate();
-                if (dailyCounts.containsKey(pDate)) {
-                    dailyCounts.put(pDate, dailyCounts.get(pDate) + 1);
+        // Use a set to avoid duplicates if "All" is used together with provinces
+        Set<Fire> aggregatedFires = new LinkedHashSet<>();
+        int[] allCounts = null;
+        for (String provinceName : inputData.getProvinces()) {
+            int[] counts;
+            if ("All".equalsIgnoreCase(provinceName)) {
+                if (allCounts == null) {
+                    allCounts = new int[totalDaysToFetch];
+                    days.count(allRawPoints, allCounts);
                 }
+                counts = allCounts;
+                aggregatedFires.addAll(allGlobalFires);
+            } else if (labelOfProvince.containsKey(provinceName)) {
+                int label = labelOfProvince.get(provinceName);
+                counts = regionCounts[label];
+                aggregatedFires.addAll(regionFires.get(label));
+            } else {
+                counts = new int[totalDaysToFetch];
             }
 
             List<Pair<String, Integer>> pointsList = new ArrayList<>();
-            for (Map.Entry<String, Integer> entry : dailyCounts.entrySet()) {
-                pointsList.add(new Pair<>(entry.getKey(), entry.getValue()));
+            for (int i = 0; i < totalDaysToFetch; i++) {
+                pointsList.add(new Pair<>(grandStartDate.plusDays(i).format(API_DATE_FMT), counts[i]));
             }
 
             statsMap.put(provinceName, pointsList);
         }
 
-        return new CompareOutputData(new MultiRegionFireStats(statsMap), new ArrayList<>(aggregatedFires));
+        return new CompareOutputData(new MultiRegionFireStats(statsMap), new ArrayList<>(aggregatedFires),
+                failedChunks);
     }
 
-    private List<Coordinate> fetchAllRawPoints(LocalDate startDate, int totalDays) {
-        List<Coordinate> accumulator = new ArrayList<>();
-        int daysFetched = 0;
+    /**
+     * Maps detection dates onto positions in the fetched window.
+     */
+    private static final class DayIndex {
+        private final long firstEpochDay;
+        private final int dayCount;
+        private final Map<String, Integer> positionOfDate = new HashMap<>();
 
-        // Loop to fetch data in chunks because API limits requests to 10 days max.
-        while (daysFetched < totalDays) {
-            LocalDate batchStart = startDate.plusDays(daysFetched);
-            int batchSize = Math.min(10, totalDays - daysFetched);
+        DayIndex(LocalDate firstDay, int dayCount) {
+            this.firstEpochDay = firstDay.toEpochDay();
+            this.dayCount = dayCount;
+            for (int i = 0; i < dayCount; i++) {
+                positionOfDate.put(firstDay.plusDays(i).format(API_DATE_FMT), i);
+            }
+        }
 
+        /**
+         * Adds one to the count of each point's day; points outside the window are ignored.
+         */
+        void count(List<Coordinate> points, int[] counts) {
+            if (points instanceof FireBatch batch) {
+                for (int i = 0; i < batch.size(); i++) {
+                    long position = batch.getEpochDay(i) - firstEpochDay;
+                    if (position >= 0 && position < dayCount) {
+                        counts[(int) position]++;
+                    }
+                }
+                return;
+            }
+            for (Coordinate point : points) {
+                Integer position = positionOfDate.get(point.getDate());
+                if (position != null) {
+                    counts[position]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches the whole window in chunks of at most 10 days (the API limit), all chunks at once.
+     * Results are merged in date order; a chunk that fails or times out is skipped and described in failedChunks.
+     * A chunk's timeout is counted from when its request starts, so a chunk queued behind others gets the full time.
+     */
+    private List<Coordinate> fetchAllRawPoints(LocalDate startDate, int totalDays, List<String> failedChunks) {
+        List<LocalDate> chunkStarts = new ArrayList<>();
+        List<Chunk> chunks = new ArrayList<>();
+        int daysQueued = 0;
+
+        while (daysQueued < totalDays) {
+            LocalDate batchStart = startDate.plusDays(daysQueued);
+            int batchSize = Math.min(MAX_DAYS_PER_REQUEST, totalDays - daysQueued);
+
+            chunkStarts.add(batchStart);
+            Chunk chunk = new Chunk();
+            chunk.future = fetchExecutor.submit(() -> {
+                chunk.startedAt = System.nanoTime();
+                chunk.started = true;
+                return fireAccess.getFireData(batchSize, batchStart.toString());
+            });
+            chunks.add(chunk);
+            daysQueued += batchSize;
+        }
+
+        List<List<Coordinate>> fetched = new ArrayList<>();
+
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
             try {
-                List<Coordinate> batch = fireAccess.getFireData(batchSize, batchStart.toString());
+                List<Coordinate> batch = chunk.await(chunkTimeout.toNanos());
                 if (batch != null) {
-                    accumulator.addAll(batch);
+                    fetched.add(batch);
                 }
-            } catch (Exception e) {
-                System.err.println("Failed to fetch batch starting " + batchStart + ": " + e.getMessage());
+            } catch (TimeoutException e) {
+                chunk.future.cancel(true);
+                failedChunks.add(describeChunk(chunkStarts, i, totalDays, startDate) + ": timed out");
+            } catch (ExecutionException e) {
+                String reason = e.getCause().getMessage();
+                failedChunks.add(describeChunk(chunkStarts, i, totalDays, startDate) + ": " + reason);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chunks.forEach(pending -> pending.future.cancel(true));
+                failedChunks.add(describeChunk(chunkStarts, i, totalDays, startDate) + ": interrupted");
+                break;
             }
+        }
+        return mergeInOrder(fetched);
+    }
 
-            daysFetched += batchSize;
+    /**
+     * One chunk request and when it started running on the executor.
+     */
+    private static final class Chunk {
+        private Future<List<Coordinate>> future;
+        private volatile boolean started;
+        private volatile long startedAt;
+
+        /**
+         * Waits for the chunk until the timeout has passed since its request started.
+         * While it is still queued, the wait is extended, since its time has not begun.
+         */
+        List<Coordinate> await(long timeoutNanos)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            while (true) {
+                long wait = timeoutNanos;
+                if (started) {
+                    wait = startedAt + timeoutNanos - System.nanoTime();
+                    if (wait <= 0) {
+                        throw new TimeoutException();
+                    }
+                }
+                try {
+                    return future.get(wait, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (started && System.nanoTime() - startedAt >= timeoutNanos) {
+                        throw e;
+                    }
+                }
+            }
         }
+    }
+
+    /**
+     * Concatenates the chunks, keeping them columnar when the data access returned FireBatch chunks.
+     */
+    private static List<Coordinate> mergeInOrder(List<List<Coordinate>> chunks) {
+        int total = 0;
+        boolean columnar = true;
+        for (List<Coordinate> chunk : chunks) {
+            total += chunk.size();
+            columnar &= chunk instanceof FireBatch;
+        }
+        if (columnar) {
+            FireBatch.Builder builder = new FireBatch.Builder(total);
+            chunks.forEach(builder::addAll);
+            return builder.build();
+        }
+        List<Coordinate> accumulator = new ArrayList<>(total);
+        chunks.forEach(accumulator::addAll);
         return accumulator;
     }
+
+    private static String describeChunk(List<LocalDate> chunkStarts, int index, int totalDays, LocalDate startDate) {
+        LocalDate end;
+        if (index + 1 < chunkStarts.size()) {
+            end = chunkStarts.get(index + 1).minusDays(1);
+        } else {
+            end = startDate.plusDays(totalDays - 1L);
+        }
+        return chunkStarts.get(index) + " to " + end;
+    }
 }
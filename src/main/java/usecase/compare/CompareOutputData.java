@@ -7,10 +7,16 @@ import java.util.List;
 public class CompareOutputData {
     private final MultiRegionFireStats stats;
     private final List<Fire> fires;
+    private final List<String> failedChunks;
 
     public CompareOutputData(MultiRegionFireStats stats, List<Fire> fires) {
+        this(stats, fires, List.of());
+    }
+
+    public CompareOutputData(MultiRegionFireStats stats, List<Fire> fires, List<String> failedChunks) {
         this.stats = stats;
         this.fires = fires;
+        this.failedChunks = failedChunks;
     }
 
     public MultiRegionFireStats getStats() {
@@ -20,4 +26,16 @@ public class CompareOutputData {
     public List<Fire> getFires() {
         return fires;
     }
+
+    /**
+     * Returns a description of every date chunk that could not be fetched, e.g.
+     * "2025-11-10 to 2025-11-19: timed out". Stats and fires only cover the remaining days when this is not empty.
+     */
+    public List<String> getFailedChunks() {
+        return failedChunks;
+    }
+
+    public boolean isPartial() {
+        return !failedChunks.isEmpty();
+    }
 }
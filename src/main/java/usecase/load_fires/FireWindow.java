@@ -0,0 +1,295 @@
+package usecase.load_fires;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import entities.Coordinate;
+import entities.Fire;
+import entities.FireBatch;
+import usecase.common.FireService;
+
+/**
+ * The detections of the most recently loaded date window, kept per epoch day.
+ * When the requested window overlaps the current one (for example when the date picker moves by a day), only the
+ * days that entered the window are fetched, days that left it are dropped, and the fires are rebuilt from the
+ * retained detections. Days that were still in progress when they were fetched are fetched again.
+ * Fires are clustered over the whole window, because a fire that burns for several days must stay one fire.
+ * When several chunks of a few days are missing, they are fetched concurrently and the fires of the days loaded so
+ * far are reported as each chunk arrives, so the first fires can be shown before the whole window has arrived.
+ * A single missing chunk, such as the day that entered a sliding window, is fetched without partial results.
+ */
+final class FireWindow {
+
+    // the FIRMS area API serves at most this many days per request
+    private static final int MAX_DAYS = 10;
+    // the most days fetched with one request; the fires loaded so far are reported after each chunk
+    private static final int CHUNK_DAYS = 3;
+
+    private final LoadFiresFireDataAccess fireAccess;
+    private final FireService fireService;
+    private final Executor fetchExecutor;
+    private final Clock clock;
+    private final NavigableMap<Long, Day> days = new TreeMap<>();
+    private List<Fire> fires;
+
+    FireWindow(LoadFiresFireDataAccess fireAccess, FireService fireService, Executor fetchExecutor, Clock clock) {
+        this.fireAccess = fireAccess;
+        this.fireService = fireService;
+        this.fetchExecutor = fetchExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the fires detected in the window of dateRange days starting at date, fetching only what is missing.
+     * While several chunks are still being fetched, the fires of the days already loaded are passed to the progress
+     * consumer on the calling thread.
+     * @param dateRange the number of days in the window
+     * @param date the first day of the window in YYYY-MM-DD format
+     * @param progress receives the fires of the days loaded so far while more than one chunk is outstanding
+     * @return the fires of the window
+     * @throws Exception if the date is invalid or data fetching fails
+     */
+    synchronized List<Fire> load(int dateRange, String date, Consumer<List<Fire>> progress) throws Exception {
+        final long firstDay = LocalDate.parse(date).toEpochDay();
+        final int dayCount = Math.max(0, Math.min(dateRange, MAX_DAYS));
+        final long lastDay = firstDay + dayCount - 1;
+
+        if (dayCount == 0 || dateRange > MAX_DAYS) {
+            // nothing to split into days; the data access clamps oversized requests itself
+            return loadWhole(dateRange, date, firstDay, dayCount);
+        }
+        if (days.isEmpty() || days.firstKey() > lastDay || days.lastKey() < firstDay) {
+            days.clear();
+            fires = null;
+        }
+
+        boolean changed = days.isEmpty() || days.firstKey() != firstDay || days.lastKey() != lastDay;
+        days.headMap(firstDay, false).clear();
+        days.tailMap(lastDay, false).clear();
+
+        // every run of missing or unfinished days, split into chunks of at most CHUNK_DAYS
+        final List<long[]> chunks = new ArrayList<>();
+        long day = firstDay;
+        while (day <= lastDay) {
+            if (isFinal(days.get(day))) {
+                day++;
+                continue;
+            }
+            final long runStart = day;
+            while (day <= lastDay && day - runStart < CHUNK_DAYS && !isFinal(days.get(day))) {
+                day++;
+            }
+            chunks.add(new long[]{runStart, day - runStart});
+        }
+
+        if (chunks.size() == 1) {
+            final long[] chunk = chunks.get(0);
+            final Instant fetchedAt = clock.instant();
+            final List<Coordinate> points = fetch((int) chunk[1], LocalDate.ofEpochDay(chunk[0]).toString());
+            if (!store(points, chunk, fetchedAt)) {
+                return loadWhole(dateRange, date, firstDay, dayCount);
+            }
+            changed = true;
+        }
+        else if (!chunks.isEmpty()) {
+            if (!days.isEmpty()) {
+                // the days of the previous window are unchanged if its bounds are, so its fires can be shown as is
+                if (changed || fires == null) {
+                    fires = fireService.createFiresFromPoints(concatenate());
+                }
+                progress.accept(fires);
+            }
+            if (!fetchConcurrently(chunks, progress)) {
+                return loadWhole(dateRange, date, firstDay, dayCount);
+            }
+            changed = true;
+        }
+
+        if (changed || fires == null) {
+            fires = fireService.createFiresFromPoints(concatenate());
+        }
+        return fires;
+    }
+
+    /**
+     * Fetches the chunks at once and stores each one as it arrives, reporting the fires loaded so far while others
+     * are still outstanding.
+     * @return false if a chunk's detections cannot be placed on its days
+     */
+    private boolean fetchConcurrently(List<long[]> chunks, Consumer<List<Fire>> progress) throws Exception {
+        final CompletionService<List<Coordinate>> completion = new ExecutorCompletionService<>(fetchExecutor);
+        final Map<Future<List<Coordinate>>, long[]> chunkOf = new HashMap<>();
+        final Instant fetchedAt = clock.instant();
+        for (long[] chunk : chunks) {
+            chunkOf.put(completion.submit(() -> fetch((int) chunk[1], LocalDate.ofEpochDay(chunk[0]).toString())),
+                    chunk);
+        }
+        try {
+            for (int outstanding = chunks.size(); outstanding > 0; outstanding--) {
+                final Future<List<Coordinate>> done = completion.take();
+                final List<Coordinate> points;
+                try {
+                    points = done.get();
+                }
+                catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw ex;
+                }
+                if (!store(points, chunkOf.remove(done), fetchedAt)) {
+                    return false;
+                }
+                if (outstanding > 1) {
+                    fires = fireService.createFiresFromPoints(concatenate());
+                    progress.accept(fires);
+                }
+            }
+            return true;
+        }
+        finally {
+            // nothing is left after a normal return; after a failure the other chunks are no longer needed
+            chunkOf.keySet().forEach(pending -> pending.cancel(true));
+        }
+    }
+
+    /**
+     * Stores the detections of a chunk as its days.
+     * @param chunk the first epoch day of the chunk and its number of days
+     * @return false if the detections cannot be placed on the chunk's days
+     */
+    private boolean store(List<Coordinate> points, long[] chunk, Instant fetchedAt) {
+        final Map<Long, List<Coordinate>> byDay = splitByDay(points, chunk[0], (int) chunk[1]);
+        if (byDay == null) {
+            // the detections cannot be placed on days, so the caller falls back to loading the whole window
+            days.clear();
+            return false;
+        }
+        for (long day = chunk[0]; day < chunk[0] + chunk[1]; day++) {
+            days.put(day, new Day(day, byDay.getOrDefault(day, new ArrayList<>()), fetchedAt));
+        }
+        return true;
+    }
+
+    private List<Fire> loadWhole(int dateRange, String date, long firstDay, int dayCount) throws Exception {
+        days.clear();
+        fires = null;
+        final Instant fetchedAt = clock.instant();
+        final List<Coordinate> points = fetch(dateRange, date);
+        final List<Fire> result = fireService.createFiresFromPoints(points);
+
+        final Map<Long, List<Coordinate>> byDay = splitByDay(points, firstDay, dayCount);
+        if (dayCount > 0 && byDay != null) {
+            for (long day = firstDay; day < firstDay + dayCount; day++) {
+                days.put(day, new Day(day, byDay.getOrDefault(day, new ArrayList<>()), fetchedAt));
+            }
+            fires = result;
+        }
+        return result;
+    }
+
+    private List<Coordinate> fetch(int dateRange, String date) throws Exception {
+        final List<Coordinate> points = fireAccess.getFireData(dateRange, date);
+        if (points == null) {
+            return new ArrayList<>();
+        }
+        return points;
+    }
+
+    /**
+     * Groups detections by day, or returns null if any detection falls outside the given days.
+     */
+    private static Map<Long, List<Coordinate>> splitByDay(List<Coordinate> points, long firstDay, int dayCount) {
+        final Map<Long, List<Coordinate>> byDay = new HashMap<>();
+        if (points instanceof FireBatch batch) {
+            final int[] counts = new int[dayCount];
+            for (int i = 0; i < batch.size(); i++) {
+                final long day = batch.getEpochDay(i);
+                if (day < firstDay || day >= firstDay + dayCount) {
+                    return null;
+                }
+                counts[(int) (day - firstDay)]++;
+            }
+            final int[][] rows = new int[dayCount][];
+            for (int offset = 0; offset < dayCount; offset++) {
+                rows[offset] = new int[counts[offset]];
+                counts[offset] = 0;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                final int offset = (int) (batch.getEpochDay(i) - firstDay);
+                rows[offset][counts[offset]++] = i;
+            }
+            for (int offset = 0; offset < dayCount; offset++) {
+                byDay.put(firstDay + offset, batch.select(rows[offset]));
+            }
+            return byDay;
+        }
+        for (Coordinate point : points) {
+            final long day;
+            try {
+                day = LocalDate.parse(point.getDate()).toEpochDay();
+            }
+            catch (RuntimeException ex) {
+                return null;
+            }
+            if (day < firstDay || day >= firstDay + dayCount) {
+                return null;
+            }
+            byDay.computeIfAbsent(day, key -> new ArrayList<>()).add(point);
+        }
+        return byDay;
+    }
+
+    private List<Coordinate> concatenate() {
+        int total = 0;
+        boolean columnar = true;
+        for (Day day : days.values()) {
+            total += day.points.size();
+            columnar &= day.points.isEmpty() || day.points instanceof FireBatch;
+        }
+        if (columnar) {
+            final FireBatch.Builder builder = new FireBatch.Builder(total);
+            days.values().forEach(day -> builder.addAll(day.points));
+            return builder.build();
+        }
+        final List<Coordinate> points = new ArrayList<>(total);
+        days.values().forEach(day -> points.addAll(day.points));
+        return points;
+    }
+
+    /**
+     * A day's detections are final once they were fetched after the day ended in UTC.
+     */
+    private static boolean isFinal(Day day) {
+        return day != null && day.fetchedAt.isAfter(day.end);
+    }
+
+    /**
+     * The detections of one day and when they were fetched.
+     */
+    private static final class Day {
+        private final List<Coordinate> points;
+        private final Instant fetchedAt;
+        private final Instant end;
+
+        Day(long epochDay, List<Coordinate> points, Instant fetchedAt) {
+            this.points = points;
+            this.fetchedAt = fetchedAt;
+            this.end = LocalDate.ofEpochDay(epochDay + 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
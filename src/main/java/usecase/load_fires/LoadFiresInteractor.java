@@ -1,5 +1,6 @@
 package usecase.load_fires;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -7,9 +8,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import entities.Coordinate;
 import entities.Fire;
 import entities.Region;
+import usecase.common.FetchExecutor;
 import usecase.common.FireService;
 
 /**
@@ -26,6 +27,7 @@ public class LoadFiresInteractor implements LoadFiresInputBoundary {
     private final LoadFiresBoundaryDataAccess boundaryAccess;
     private final LoadFiresOutputBoundary presenter;
     private final FireService fireService;
+    private final FireWindow window;
 
     /**
      * Constructs a LoadFiresInteractor.
@@ -42,62 +44,75 @@ public class LoadFiresInteractor implements LoadFiresInputBoundary {
         this.boundaryAccess = boundaryAccess;
         this.presenter = presenter;
         this.fireService = fireService;
+        this.window = new FireWindow(fireAccess, fireService, FetchExecutor.shared(), Clock.systemUTC());
     }
 
     /**
      * Executes the "Load Fires" use case.
      * Fetches data, bundles it into entities, filters by the requested province,
      * and passes the result to the presenter.
+     * When the window overlaps the previous request, only the days that were not loaded yet are fetched.
+     * While several chunks of the window are fetched, the fires of the days loaded so far are presented as partial
+     * results.
      * @param inputData the input data containing province, date, and range
      */
     @Override
     public void execute(LoadFiresInputData inputData) {
         try {
-            // Fetch Raw Data
-            List<Coordinate> points = fireAccess.getFireData(inputData.getDateRange(), inputData.getDate());
-            if (points == null) {
-                points = new ArrayList<>();
-            }
-
-            // Preprocessing
-            final List<Fire> allFires = fireService.createFiresFromPoints(points);
-
-            // Prepare Trend Label
-            final LocalDate date = LocalDate.parse(inputData.getDate());
-            final String label = date.format(DateTimeFormatter.ofPattern(LABEL_FORMAT));
-            final Map<String, Integer> trendData = new LinkedHashMap<>();
-
-            final List<Fire> resultFires;
-
-            // Filter logic
+            // Resolve the province once, so every partial result is filtered the same way
             final String province = inputData.getProvince();
-            if ("All".equalsIgnoreCase(province)) {
-                resultFires = allFires;
+            final boolean allProvinces = "All".equalsIgnoreCase(province);
+            final Region region;
+            if (allProvinces) {
+                region = null;
             }
             else {
-                final Region region = boundaryAccess.getRegion(province);
+                region = boundaryAccess.getRegion(province);
                 if (region == null) {
                     System.err.println("Warning: Boundary data for " + province + " not found.");
-                    resultFires = new ArrayList<>();
-                }
-                else {
-                    resultFires = fireService.filterFiresByRegion(allFires, region);
                 }
             }
 
-            // Calculate Metrics
-            int hotspotCount = 0;
-            for (Fire f : resultFires) {
-                hotspotCount += f.getCoordinates().size();
-            }
-            trendData.put(label, hotspotCount);
+            // Fetch the new days of the window and bundle them into fires
+            final List<Fire> allFires = window.load(inputData.getDateRange(), inputData.getDate(),
+                    partialFires -> presenter.preparePartialView(
+                            createOutput(partialFires, inputData.getDate(), allProvinces, region)));
 
-            final LoadFiresOutputData output = new LoadFiresOutputData(resultFires, trendData);
-            presenter.prepareSuccessView(output);
+            presenter.prepareSuccessView(createOutput(allFires, inputData.getDate(), allProvinces, region));
 
         }
         catch (Exception ex) {
             presenter.prepareFailView("Error fetching data: " + ex.getMessage());
         }
     }
+
+    /**
+     * Filters the fires by the requested province and counts their hotspots for the trend graph.
+     */
+    private LoadFiresOutputData createOutput(List<Fire> allFires, String date, boolean allProvinces, Region region) {
+        // Prepare Trend Label
+        final String label = LocalDate.parse(date).format(DateTimeFormatter.ofPattern(LABEL_FORMAT));
+        final Map<String, Integer> trendData = new LinkedHashMap<>();
+
+        // Filter logic
+        final List<Fire> resultFires;
+        if (allProvinces) {
+            resultFires = allFires;
+        }
+        else if (region == null) {
+            resultFires = new ArrayList<>();
+        }
+        else {
+            resultFires = fireService.filterFiresByRegion(allFires, region);
+        }
+
+        // Calculate Metrics
+        int hotspotCount = 0;
+        for (Fire f : resultFires) {
+            hotspotCount += f.getCoordinates().size();
+        }
+        trendData.put(label, hotspotCount);
+
+        return new LoadFiresOutputData(resultFires, trendData);
+    }
 }
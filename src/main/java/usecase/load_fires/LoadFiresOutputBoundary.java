@@ -12,6 +12,14 @@ public interface LoadFiresOutputBoundary {
      */
     void prepareSuccessView(LoadFiresOutputData outputData);
 
+    /**
+     * Prepares a view of the fires loaded so far while the rest of the window is still being fetched.
+     * The success view follows once loading has finished. Partial results are ignored by default.
+     * @param outputData the output data containing the fires and trends loaded so far
+     */
+    default void preparePartialView(LoadFiresOutputData outputData) {
+    }
+
     /**
      * Prepares the failure view with an error message.
      * @param errorMessage the description of the error
@@ -11,4 +11,21 @@ public interface FireDisplayStateReader {
      * Retrieves the list of fires currently displayed on the map.
      */
     List<Fire> getDisplayedFires();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the displayed fire centered at the given coordinates.
+     * This default scans the displayed fires; readers that publish a {@link FireLookup} with them should use it.
+     * @param lat the latitude of the fire's center
+     * @param lon the longitude of the fire's center
+     * @return the fire, or null if no displayed fire is centered there
+     */
+    default Fire findDisplayedFire(double lat, double lon) {
+        for (Fire fire : getDisplayedFires()) {
+            if (Math.abs(fire.getLat() - lat) < FireLookup.TOLERANCE
+                    && Math.abs(fire.getLon() - lon) < FireLookup.TOLERANCE) {
+                return fire;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package usecase.marker;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import entities.Fire;
+
+/**
+ * Finds a displayed fire by the coordinates of its center in constant time.
+ * Fires are hashed on their center rounded to a grid of 1e-7 degrees (about a centimetre), and a lookup checks
+ * the few grid points within {@link #TOLERANCE} of the requested coordinates.
+ */
+public final class FireLookup {
+
+    /**
+     * The largest difference in latitude or longitude at which a fire still matches.
+     */
+    public static final double TOLERANCE = 1e-10;
+
+    /**
+     * A lookup without fires.
+     */
+    public static final FireLookup EMPTY = new FireLookup(List.of());
+
+    private static final double SCALE = 1e7;
+    private static final long LAT_OFFSET = 900_000_000L;
+    private static final long LON_OFFSET = 1_800_000_000L;
+    private static final long LON_RANGE = 2 * LON_OFFSET + 1;
+
+    private final Map<Long, Fire> byCenter;
+
+    /**
+     * Indexes a list of fires. If several fires share a center, the first one in the list is found.
+     * @param fires the fires to index
+     */
+    public FireLookup(List<Fire> fires) {
+        this.byCenter = new HashMap<>(fires.size() * 2);
+        for (Fire fire : fires) {
+            byCenter.putIfAbsent(key(fire.getLat(), fire.getLon()), fire);
+        }
+    }
+
+    /**
+     * Finds the fire whose center lies within {@link #TOLERANCE} of the given coordinates.
+     * @param lat the latitude of the center
+     * @param lon the longitude of the center
+     * @return the fire, or null if none matches
+     */
+    public Fire find(double lat, double lon) {
+        // the tolerance is far below the grid spacing, so only the grid points of the corners can differ
+        for (int corner = 0; corner < 4; corner++) {
+            final double cornerLat = corner < 2 ? lat - TOLERANCE : lat + TOLERANCE;
+            final double cornerLon = corner % 2 == 0 ? lon - TOLERANCE : lon + TOLERANCE;
+            final Fire fire = byCenter.get(key(cornerLat, cornerLon));
+            if (fire != null && Math.abs(fire.getLat() - lat) < TOLERANCE
+                    && Math.abs(fire.getLon() - lon) < TOLERANCE) {
+                return fire;
+            }
+        }
+        return null;
+    }
+
+    private static long key(double lat, double lon) {
+        return (Math.round(lat * SCALE) + LAT_OFFSET) * LON_RANGE + Math.round(lon * SCALE) + LON_OFFSET;
+    }
+}
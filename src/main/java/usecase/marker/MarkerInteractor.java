@@ -2,8 +2,6 @@ package usecase.marker;
 
 import entities.Fire;
 
-import java.util.List;
-
 /**
  * Interactor for the Marker Use Case.
  * Find the fire from the list of fire that are currently displaying
@@ -25,7 +23,7 @@ public class MarkerInteractor implements MarkerInputBoundary {
 
     /**
      * Executes the Marker use case.
-     * Iterate the list of currently displayed fires and compare the coordinates with the hovered coordinates.
+     * Look up the currently displayed fire centered at the hovered coordinates.
      * Retrieves then sends the details of fire to the presenter if found fire process is successful.
      * @param markerInputData the input data containing the hovered fireWaypoint's latitude and longitude.
      */
@@ -34,8 +32,7 @@ public class MarkerInteractor implements MarkerInputBoundary {
         try {
             final double mouseLat = markerInputData.getLat();
             final double mouseLon = markerInputData.getLon();
-            final List<Fire> currentFires = fireDisplayStateReader.getDisplayedFires();
-            Fire foundFire = findFireAtCoord(currentFires, mouseLat, mouseLon);
+            final Fire foundFire = fireDisplayStateReader.findDisplayedFire(mouseLat, mouseLon);
             if(foundFire != null){
                 final double lat = foundFire.getLat();
                 final double lon = foundFire.getLon();
@@ -50,19 +47,4 @@ public class MarkerInteractor implements MarkerInputBoundary {
             markerPresenter.prepareFailView("Unexpected error: " + e.getMessage());
         }
     }
-
-    // Helper method for finding the fire with a coordinate
-    // To avoid floating point approximation error, compare coordinates with a small tolerance level
-    private Fire findFireAtCoord(List<Fire> fires, double mouseLat, double mouseLon) {
-        for (Fire fire : fires) {
-            final double TOLERANCE = 1e-10;
-            double fireLat = fire.getLat();
-            double fireLon = fire.getLon();
-
-            if (Math.abs(fireLat - mouseLat) < TOLERANCE && Math.abs(fireLon - mouseLon) < TOLERANCE) {
-                return fire;
-            }
-        }
-        return null;
-    }
 }
@@ -3,9 +3,14 @@ package usecase.national_overview;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import entities.Coordinate;
 import entities.Fire;
@@ -15,19 +20,23 @@ import usecase.common.FireService;
 /**
  * Interactor for the "National Overview" use case.
  * This class orchestrates the retrieval of fire data for Canada over a period of 3 months.
- * It filters global data to ensure only points strictly within the Canadian boundary are included.
+ * Only Canada's bounding box is requested, and the results are filtered to ensure only points strictly within
+ * the Canadian boundary are included. The three monthly windows are fetched and processed in parallel, and the
+ * months processed so far are presented as partial results until all three have finished.
  */
 public class NationalOverviewInteractor implements NationalOverviewInputBoundary {
 
     private static final int API_AVAILABLE_MONTHS = 3;
     private static final String DATE_FORMAT = "yyyy-MM-dd";
     private static final String LABEL_FORMAT = "MMM";
-    private static final String WORLD_BOUNDS = "-180,-90,180,90";
+    // minLon,minLat,maxLon,maxLat around Canada, slightly padded so border detections are not clipped
+    private static final String CANADA_BOUNDS = "-141.1,41.6,-52.5,83.2";
 
     private final NationalOverviewFireDataAccess fireAccess;
     private final NationalOverviewBoundaryDataAccess boundaryAccess;
     private final NationalOverviewOutputBoundary presenter;
     private final FireService fireService;
+    private final ExecutorService windowExecutor;
 
     /**
      * Constructs a NationalOverviewInteractor.
@@ -40,68 +49,168 @@ public class NationalOverviewInteractor implements NationalOverviewInputBoundary
                                       NationalOverviewBoundaryDataAccess boundaryAccess,
                                       NationalOverviewOutputBoundary presenter,
                                       FireService fireService) {
+        this(fireAccess, boundaryAccess, presenter, fireService,
+                Executors.newFixedThreadPool(API_AVAILABLE_MONTHS, runnable -> {
+                    final Thread thread = new Thread(runnable, "national-overview-fetch");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * Constructs a NationalOverviewInteractor that processes the monthly windows on the given executor.
+     * @param fireAccess     the interface to retrieve fire data
+     * @param boundaryAccess the interface to retrieve boundary data
+     * @param presenter      the output boundary to present results
+     * @param fireService    the shared service for fire processing logic
+     * @param windowExecutor the executor each monthly window is fetched, bundled and filtered on
+     */
+    public NationalOverviewInteractor(NationalOverviewFireDataAccess fireAccess,
+                                      NationalOverviewBoundaryDataAccess boundaryAccess,
+                                      NationalOverviewOutputBoundary presenter,
+                                      FireService fireService,
+                                      ExecutorService windowExecutor) {
         this.fireAccess = fireAccess;
         this.boundaryAccess = boundaryAccess;
         this.presenter = presenter;
         this.fireService = fireService;
+        this.windowExecutor = windowExecutor;
     }
 
     /**
      * Executes the "National Overview" use case.
-     * Iterates over the current month and the two preceding months to gather historical data.
-     * Filters all fetched points using the "Canada" region boundary.
+     * Covers the current month and the two preceding months to gather historical data.
+     * Each month is fetched, bundled and filtered by the "Canada" region boundary as soon as it arrives.
      * @param inputData the input data containing the reference date and range
      */
     @Override
     public void execute(NationalOverviewInputData inputData) {
         try {
-            final List<Fire> allFires = new ArrayList<>();
-            final Map<String, Integer> trendData = new LinkedHashMap<>();
-
             final LocalDate inputDate = LocalDate.parse(inputData.getDate(), DateTimeFormatter.ofPattern(DATE_FORMAT));
             final Region canadaRegion = boundaryAccess.getRegion("Canada");
 
-            // Loop backwards (e.g. Month -2, Month -1, Current Month)
+            // Start every window at once (e.g. Month -2, Month -1, Current Month)
+            final List<String> labels = new ArrayList<>();
+            final List<CompletableFuture<List<Fire>>> windows = new ArrayList<>();
             for (int i = API_AVAILABLE_MONTHS - 1; i >= 0; i--) {
                 final LocalDate targetDate = inputDate.minusMonths(i);
                 final String targetDateStr = targetDate.format(DateTimeFormatter.ofPattern(DATE_FORMAT));
-                final String label = targetDate.format(DateTimeFormatter.ofPattern(LABEL_FORMAT));
+                labels.add(targetDate.format(DateTimeFormatter.ofPattern(LABEL_FORMAT)));
+                windows.add(CompletableFuture.supplyAsync(
+                        () -> processWindow(inputData.getRange(), targetDateStr, canadaRegion), windowExecutor));
+            }
 
-                // Fetch Raw Data
-                List<Coordinate> points = fireAccess.getFireData(inputData.getRange(), targetDateStr, WORLD_BOUNDS);
-                if (points == null) {
-                    points = new ArrayList<>();
+            // Present each window as it finishes, then the whole period in chronological order
+            final List<List<Fire>> finished = new ArrayList<>(Collections.nCopies(windows.size(), null));
+            int unfinished = windows.size();
+            while (unfinished > 1) {
+                unfinished = awaitNext(windows, finished);
+                if (unfinished > 0) {
+                    presenter.preparePartialView(aggregate(finished, labels));
                 }
+            }
+            for (int i = 0; i < windows.size(); i++) {
+                finished.set(i, windows.get(i).join());
+            }
+            final NationalOverviewOutputData output = aggregate(finished, labels);
+            presenter.prepareSuccessView(output);
 
-                // Preprocessing
-                final List<Fire> monthFires = fireService.createFiresFromPoints(points);
+        }
+        catch (CompletionException ex) {
+            presenter.prepareFailView("Error processing national overview: " + ex.getCause().getMessage());
+        }
+        catch (Exception ex) {
+            presenter.prepareFailView("Error processing national overview: " + ex.getMessage());
+        }
+    }
 
-                // Filter to Canada
-                final List<Fire> canadaFires;
-                if (canadaRegion != null) {
-                    canadaFires = fireService.filterFiresByRegion(monthFires, canadaRegion);
-                }
-                else {
-                    canadaFires = new ArrayList<>();
-                }
+    /**
+     * Waits until at least one more window has finished and records the result of every finished window.
+     * @param windows the windows being processed
+     * @param finished the fires of each finished window, or null for a window that has not finished yet
+     * @return the number of windows that have not finished yet
+     * @throws CompletionException if a finished window failed
+     */
+    private static int awaitNext(List<CompletableFuture<List<Fire>>> windows, List<List<Fire>> finished) {
+        final List<CompletableFuture<List<Fire>>> pending = new ArrayList<>();
+        for (int i = 0; i < windows.size(); i++) {
+            if (finished.get(i) == null) {
+                pending.add(windows.get(i));
+            }
+        }
+        CompletableFuture.anyOf(pending.toArray(new CompletableFuture[0])).join();
 
-                // Accumulate Results
-                allFires.addAll(canadaFires);
+        int unfinished = 0;
+        for (int i = 0; i < windows.size(); i++) {
+            if (finished.get(i) != null) {
+                continue;
+            }
+            if (windows.get(i).isDone()) {
+                finished.set(i, windows.get(i).join());
+            }
+            else {
+                unfinished++;
+            }
+        }
+        return unfinished;
+    }
 
-                // Calculate Metrics (Hotspot count)
-                int hotspotCount = 0;
-                for (Fire f : canadaFires) {
-                    hotspotCount += f.getCoordinates().size();
-                }
-                trendData.put(label, hotspotCount);
+    /**
+     * Combines the finished windows in chronological order and counts their hotspots per month.
+     * @param finished the fires of each window, or null for a window that has not finished yet
+     * @param labels the month label of each window
+     * @return the fires and trend of the finished windows
+     */
+    private static NationalOverviewOutputData aggregate(List<List<Fire>> finished, List<String> labels) {
+        final List<Fire> allFires = new ArrayList<>();
+        final Map<String, Integer> trendData = new LinkedHashMap<>();
+        for (int i = 0; i < finished.size(); i++) {
+            final List<Fire> canadaFires = finished.get(i);
+            if (canadaFires == null) {
+                continue;
             }
 
-            final NationalOverviewOutputData output = new NationalOverviewOutputData(allFires, trendData);
-            presenter.prepareSuccessView(output);
+            // Accumulate Results
+            allFires.addAll(canadaFires);
 
+            // Calculate Metrics (Hotspot count)
+            int hotspotCount = 0;
+            for (Fire f : canadaFires) {
+                hotspotCount += f.getCoordinates().size();
+            }
+            trendData.put(labels.get(i), hotspotCount);
+        }
+        return new NationalOverviewOutputData(allFires, trendData);
+    }
+
+    /**
+     * Fetches one window of Canada's bounding box and keeps the fires inside the Canadian boundary.
+     * @param range the number of days in the window
+     * @param date the first day of the window
+     * @param canadaRegion the Canada boundary, or null if it is unavailable
+     * @return the fires of the window that lie in Canada
+     * @throws CompletionException wrapping any data access failure
+     */
+    private List<Fire> processWindow(int range, String date, Region canadaRegion) {
+        // Fetch Raw Data
+        List<Coordinate> points;
+        try {
+            points = fireAccess.getFireData(range, date, CANADA_BOUNDS);
         }
         catch (Exception ex) {
-            presenter.prepareFailView("Error processing national overview: " + ex.getMessage());
+            throw new CompletionException(ex);
+        }
+        if (points == null) {
+            points = new ArrayList<>();
+        }
+
+        // Preprocessing
+        final List<Fire> monthFires = fireService.createFiresFromPoints(points);
+
+        // Filter to Canada
+        if (canadaRegion != null) {
+            return fireService.filterFiresByRegion(monthFires, canadaRegion);
         }
+        return new ArrayList<>();
     }
 }
@@ -12,6 +12,14 @@ public interface NationalOverviewOutputBoundary {
      */
     void prepareSuccessView(NationalOverviewOutputData outputData);
 
+    /**
+     * Prepares a view of the months processed so far while the other months are still being fetched.
+     * The success view follows once every month has been processed. Partial results are ignored by default.
+     * @param outputData the output data containing the fires and trends of the finished months
+     */
+    default void preparePartialView(NationalOverviewOutputData outputData) {
+    }
+
     /**
      * Prepares the failure view with an error message.
      * @param errorMessage the description of the error
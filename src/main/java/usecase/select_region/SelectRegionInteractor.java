@@ -1,35 +1,37 @@
 package usecase.select_region;
 
 import entities.Region;
+import entities.RegionIndex;
 import interface_adapter.region.RegionRepository;
-import java.awt.geom.Path2D;
-import java.awt.geom.Point2D;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import org.jxmapviewer.viewer.GeoPosition;
 
 /**
  * The interactor for the Select Region use case. It contains the business logic
  * for determining which region was clicked.
+ * Clicks are resolved in latitude and longitude against a {@link RegionIndex} of the repository's regions, so the
+ * cost of a click does not depend on the zoom level. The index is rebuilt only when the regions change, and it tests
+ * a click against each region's coarsest outline first, so only clicks near a border reach the exact boundary.
  */
 public class SelectRegionInteractor implements SelectRegionInputBoundary {
 
     private final RegionRepository regionRepository;
     private final SelectRegionOutputBoundary selectRegionPresenter;
-    private final CoordinateConverter coordinateConverter;
+    private List<Region> indexedRegions = List.of();
+    private RegionIndex regionIndex = new RegionIndex(List.of());
 
     /**
      * Constructs a SelectRegionInteractor.
      * @param regionRepository The repository to access region data.
      * @param selectRegionPresenter The presenter to send the output to.
-     * @param coordinateConverter The converter for geo-to-pixel coordinate conversions.
      */
     public SelectRegionInteractor(final RegionRepository regionRepository,
-                                  final SelectRegionOutputBoundary selectRegionPresenter,
-                                  final CoordinateConverter coordinateConverter) {
+                                  final SelectRegionOutputBoundary selectRegionPresenter) {
         this.regionRepository = regionRepository;
         this.selectRegionPresenter = selectRegionPresenter;
-        this.coordinateConverter = coordinateConverter;
     }
 
     @Override
@@ -37,15 +39,12 @@ public class SelectRegionInteractor implements SelectRegionInputBoundary {
         final GeoPosition clickPosition = selectRegionInputData.getGeoPosition();
         final Collection<Region> allRegions = this.regionRepository.getAllRegions();
         String selectedProvinceName = "None";
-        boolean found = false;
 
         if (allRegions != null) {
-            for (final Region region : allRegions) {
-                if (this.pointInRegion(clickPosition, region)) {
-                    selectedProvinceName = region.getProvinceName();
-                    found = true;
-                    break;
-                }
+            final RegionIndex index = this.indexFor(allRegions);
+            final short label = index.label(clickPosition.getLatitude(), clickPosition.getLongitude());
+            if (label != RegionIndex.NO_REGION) {
+                selectedProvinceName = this.indexedRegions.get(label).getProvinceName();
             }
         }
 
@@ -53,38 +52,27 @@ public class SelectRegionInteractor implements SelectRegionInputBoundary {
         this.selectRegionPresenter.prepareSuccessView(outputData);
     }
 
-    private boolean pointInRegion(final GeoPosition clickPos, final Region region) {
-        final List<List<GeoPosition>> boundaries = region.getBoundary();
-        if (boundaries == null) {
-            return false;
+    /**
+     * Returns the index of the given regions, rebuilding it if they differ from the ones last indexed.
+     */
+    private RegionIndex indexFor(final Collection<Region> regions) {
+        if (!this.sameRegions(regions)) {
+            this.indexedRegions = new ArrayList<>(regions);
+            this.regionIndex = new RegionIndex(this.indexedRegions);
         }
+        return this.regionIndex;
+    }
 
-        final Point2D clickPoint = this.coordinateConverter.geoToPixel(clickPos);
-
-        boolean found = false;
-        for (final List<GeoPosition> geoPoly : boundaries) {
-            if (geoPoly.size() < 3) {
-                continue;
-            }
-
-            final Path2D path = new Path2D.Double();
-            boolean first = true;
-            for (final GeoPosition gp : geoPoly) {
-                final Point2D pt = this.coordinateConverter.geoToPixel(gp);
-                if (first) {
-                    path.moveTo(pt.getX(), pt.getY());
-                    first = false;
-                } else {
-                    path.lineTo(pt.getX(), pt.getY());
-                }
-            }
-            path.closePath();
-
-            if (path.contains(clickPoint)) {
-                found = true;
-                break;
+    private boolean sameRegions(final Collection<Region> regions) {
+        if (regions.size() != this.indexedRegions.size()) {
+            return false;
+        }
+        final Iterator<Region> indexed = this.indexedRegions.iterator();
+        for (final Region region : regions) {
+            if (region != indexed.next()) {
+                return false;
             }
         }
-        return found;
+        return true;
     }
 }
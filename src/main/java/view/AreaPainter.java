@@ -0,0 +1,21 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import org.jxmapviewer.JXMapViewer;
+
+/**
+ * A map overlay that can paint any area of the map at the current zoom level, not only the viewport.
+ * This lets {@link CachedOverlayPainter} render the overlay beyond the edges of the viewport once and reuse it
+ * while the map is panned.
+ */
+public interface AreaPainter {
+
+    /**
+     * Paints the part of the overlay that lies in the given area.
+     * @param g the graphics to paint with; its origin is the top-left corner of the area
+     * @param map the map, whose zoom level and tile factory are used
+     * @param area the area to paint, in world pixels at the map's zoom level
+     */
+    void paintArea(Graphics2D g, JXMapViewer map, Rectangle area);
+}
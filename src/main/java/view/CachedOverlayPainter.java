@@ -0,0 +1,104 @@
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.jxmapviewer.JXMapViewer;
+import org.jxmapviewer.painter.Painter;
+import org.jxmapviewer.viewer.TileFactory;
+
+/**
+ * A painter that renders other overlays once into an off-screen image and reuses it while the map is panned.
+ * The image covers the viewport plus a margin on every side, in world pixels at the current zoom level. As long as
+ * the viewport stays inside it, a paint only copies the image at the viewport's offset, so dragging costs the same
+ * however many fires or boundary vertices there are. The overlays are rendered again when the zoom level changes,
+ * when the viewport leaves the rendered area, or after {@link #invalidate()}.
+ */
+public class CachedOverlayPainter implements Painter<JXMapViewer> {
+
+    private final List<AreaPainter> layers;
+    private BufferedImage image;
+    // the rendered area in world pixels, and the state of the map it was rendered for
+    private Rectangle cachedArea;
+    private int cachedZoom;
+    private double cachedScale;
+    private TileFactory cachedFactory;
+    private boolean valid;
+
+    /**
+     * Constructs a CachedOverlayPainter.
+     * @param layers the overlays to render, from bottom to top
+     */
+    public CachedOverlayPainter(final AreaPainter... layers) {
+        this.layers = List.of(layers);
+    }
+
+    /**
+     * Discards the rendered image, so the next paint renders the overlays again.
+     * Must be called on the EDT whenever one of the overlays changes what it paints.
+     */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    @Override
+    public void paint(final Graphics2D g, final JXMapViewer map, final int w, final int h) {
+        final Rectangle viewportBounds = map.getViewportBounds();
+        // render at the resolution of the screen, so overlays stay sharp on scaled displays
+        final double scale = Math.max(1, g.getTransform().getScaleX());
+        if (!this.valid || map.getZoom() != this.cachedZoom || map.getTileFactory() != this.cachedFactory
+                || scale != this.cachedScale || !this.cachedArea.contains(viewportBounds)) {
+            this.render(map, viewportBounds, scale, g.getDeviceConfiguration());
+        }
+        g.drawImage(this.image, this.cachedArea.x - viewportBounds.x, this.cachedArea.y - viewportBounds.y,
+                this.cachedArea.width, this.cachedArea.height, null);
+    }
+
+    private void render(final JXMapViewer map, final Rectangle viewportBounds, final double scale,
+                        final GraphicsConfiguration configuration) {
+        final int margin = MapViewConfig.OVERLAY_CACHE_MARGIN;
+        final Rectangle area = new Rectangle(viewportBounds.x - margin, viewportBounds.y - margin,
+                viewportBounds.width + 2 * margin, viewportBounds.height + 2 * margin);
+        final int imageWidth = (int) Math.ceil(area.width * scale);
+        final int imageHeight = (int) Math.ceil(area.height * scale);
+        if (this.image == null || this.image.getWidth() != imageWidth || this.image.getHeight() != imageHeight) {
+            this.image = createImage(configuration, imageWidth, imageHeight);
+        }
+
+        final Graphics2D g2 = this.image.createGraphics();
+        try {
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, imageWidth, imageHeight);
+            g2.setComposite(AlphaComposite.SrcOver);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.scale(scale, scale);
+            for (final AreaPainter layer : this.layers) {
+                layer.paintArea(g2, map, area);
+            }
+        } finally {
+            g2.dispose();
+        }
+
+        this.cachedArea = area;
+        this.cachedZoom = map.getZoom();
+        this.cachedScale = scale;
+        this.cachedFactory = map.getTileFactory();
+        this.valid = true;
+    }
+
+    /**
+     * Creates a transparent image, in the screen's format when it is known so that copying it is fast.
+     */
+    private static BufferedImage createImage(final GraphicsConfiguration configuration, final int width,
+                                             final int height) {
+        if (configuration != null) {
+            return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -0,0 +1,332 @@
+package view;
+
+import entities.Fire;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+import org.jxmapviewer.viewer.GeoPosition;
+import org.jxmapviewer.viewer.TileFactoryInfo;
+
+/**
+ * The fires shown on the map, prepared for painting.
+ * Besides the waypoints, the layer holds one level of clusters per zoom level of the map, in the manner of
+ * supercluster: starting from the most detailed zoom, each level greedily merges the clusters of the level below
+ * that lie within {@link MapViewConfig#CLUSTER_RADIUS} pixels of each other at that zoom. A cluster of one fire
+ * stands for its waypoint; larger clusters are drawn as a badge with their fire count and total FRP.
+ * Positions and radii are projected once, to coordinates where the world spans 0 to 1; since every zoom level
+ * of the map scales the same projection, their pixel values at any zoom are one multiplication away.
+ * A layer is immutable and may be built on any thread.
+ */
+public final class FireLayer {
+
+    /**
+     * A layer without fires.
+     */
+    public static final FireLayer EMPTY = new FireLayer(List.of(), new double[0], new double[0], 0, 0, new Level[0]);
+
+    private final List<FireWaypoint> waypoints;
+    private final double[] frp;
+    // the projected radius of each waypoint's circle
+    private final double[] radius;
+    private final double maxRadius;
+    private final int minZoom;
+    private final Level[] levels;
+
+    private FireLayer(List<FireWaypoint> waypoints, double[] frp, double[] radius, double maxRadius, int minZoom,
+                      Level[] levels) {
+        this.waypoints = waypoints;
+        this.frp = frp;
+        this.radius = radius;
+        this.maxRadius = maxRadius;
+        this.minZoom = minZoom;
+        this.levels = levels;
+    }
+
+    /**
+     * Builds the layer for a list of fires. Each fire is placed at its first detection.
+     * @param fires the fires to show
+     * @param info the tile factory of the map, which gives its zoom levels and their size in pixels
+     * @return the layer
+     */
+    public static FireLayer build(final List<Fire> fires, final TileFactoryInfo info) {
+        final List<FireWaypoint> waypoints = new ArrayList<>(fires.size());
+        final double[] frp = new double[fires.size()];
+        for (final Fire fire : fires) {
+            if (fire.getCoordinates() != null && !fire.getCoordinates().isEmpty()) {
+                final GeoPosition geo = new GeoPosition(
+                        fire.getCoordinates().get(0).getLat(),
+                        fire.getCoordinates().get(0).getLon()
+                );
+                frp[waypoints.size()] = fire.getFrp();
+                waypoints.add(new FireWaypoint(geo, fire.getRadius(), fire));
+            }
+        }
+        return build(waypoints, frp, info);
+    }
+
+    /**
+     * Builds the layer for a list of waypoints.
+     * @param waypoints the waypoints to show
+     * @param frp the fire radiative power of each waypoint
+     * @param info the tile factory of the map, which gives its zoom levels and their size in pixels
+     * @return the layer
+     */
+    public static FireLayer build(final List<FireWaypoint> waypoints, final double[] frp, final TileFactoryInfo info) {
+        final int count = waypoints.size();
+        final double[] x = new double[count];
+        final double[] y = new double[count];
+        final int[] fire = new int[count];
+        final int[] ones = new int[count];
+        final double[] radius = new double[count];
+        double maxRadius = 0;
+        for (int i = 0; i < count; i++) {
+            final FireWaypoint waypoint = waypoints.get(i);
+            final double latitude = waypoint.getPosition().getLatitude();
+            x[i] = normalizedX(waypoint.getPosition().getLongitude());
+            y[i] = normalizedY(latitude);
+            // measured northwards, as FireWaypointRenderer does
+            radius[i] = Math.abs(y[i] - normalizedY(latitude + waypoint.getRadius()));
+            fire[i] = i;
+            ones[i] = 1;
+            maxRadius = Math.max(maxRadius, radius[i]);
+        }
+
+        final int minZoom = info.getMinimumZoomLevel();
+        final Level[] levels = new Level[info.getMaximumZoomLevel() - minZoom + 1];
+        final double[] frpCopy = Arrays.copyOf(frp, count);
+        Level below = new Level(worldSize(info, minZoom), count, x, y, ones, frpCopy, fire, null);
+        for (int zoom = minZoom; zoom < minZoom + levels.length; zoom++) {
+            below = below.merge(worldSize(info, zoom));
+            levels[zoom - minZoom] = below;
+        }
+        return new FireLayer(Collections.unmodifiableList(new ArrayList<>(waypoints)), frpCopy, radius, maxRadius,
+                minZoom, levels);
+    }
+
+    public List<FireWaypoint> getWaypoints() {
+        return this.waypoints;
+    }
+
+    /**
+     * Gets the clusters for a zoom level of the map.
+     * @param zoom the zoom level, clamped to the levels of the tile factory the layer was built for
+     * @return the clusters, or null if the layer is empty
+     */
+    Level level(final int zoom) {
+        if (this.levels.length == 0) {
+            return null;
+        }
+        return this.levels[Math.max(0, Math.min(this.levels.length - 1, zoom - this.minZoom))];
+    }
+
+    /**
+     * Finds the fire whose marker is nearest to a point, among the fires drawn on their own at a zoom level.
+     * Only the cells of the level's grid around the point are searched, so the cost does not grow with the number
+     * of fires.
+     * @param zoom the zoom level of the map
+     * @param worldX the x coordinate of the point in world pixels
+     * @param worldY the y coordinate of the point in world pixels
+     * @param radius how far from the point, in pixels, a marker may be
+     * @return the waypoint of the fire, or null if no marker is that close
+     */
+    public FireWaypoint fireAt(final int zoom, final double worldX, final double worldY, final double radius) {
+        final Level level = this.level(zoom);
+        if (level == null) {
+            return null;
+        }
+        final Nearest nearest = new Nearest(level, worldX / level.worldSize, worldY / level.worldSize,
+                radius / level.worldSize);
+        level.grid.query(nearest.x - nearest.radius, nearest.y - nearest.radius, nearest.x + nearest.radius,
+                nearest.y + nearest.radius, nearest);
+        return nearest.fire < 0 ? null : this.waypoints.get(nearest.fire);
+    }
+
+    /**
+     * Gets the radius in pixels of a waypoint's circle at a zoom level.
+     */
+    double radiusInPixels(final int waypoint, final Level level) {
+        return this.radius[waypoint] * level.worldSize;
+    }
+
+    /**
+     * Gets the distance in pixels by which a fire's circle may reach beyond its position at a zoom level.
+     */
+    double maxRadiusInPixels(final Level level) {
+        return this.maxRadius * level.worldSize;
+    }
+
+    private static double worldSize(final TileFactoryInfo info, final int zoom) {
+        return (double) info.getMapWidthInTilesAtZoom(zoom) * info.getTileSize(zoom);
+    }
+
+    static double normalizedX(final double longitude) {
+        return Math.max(0, Math.min(1, (longitude + 180) / 360));
+    }
+
+    static double normalizedY(final double latitude) {
+        // the same Mercator projection as TileFactory.geoToPixel
+        final double sin = Math.max(-0.9999, Math.min(0.9999, Math.sin(Math.toRadians(latitude))));
+        return Math.max(0, Math.min(1, 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)));
+    }
+
+    /**
+     * The clusters shown at one zoom level. Positions are normalized so that the world spans 0 to 1 on both axes.
+     */
+    static final class Level {
+        final double worldSize;
+        final int size;
+        final double[] x;
+        final double[] y;
+        final int[] count;
+        final double[] frp;
+        // the waypoint of a cluster of one fire, or -1 for larger clusters
+        final int[] fire;
+        // an index over the clusters with cells twice the cluster radius at this zoom, so that the neighbourhood
+        // of a cluster spans at most two cells in each direction
+        private final PointGrid grid;
+
+        private Level(double worldSize, int size, double[] x, double[] y, int[] count, double[] frp, int[] fire,
+                      PointGrid grid) {
+            this.worldSize = worldSize;
+            this.size = size;
+            this.x = x;
+            this.y = y;
+            this.count = count;
+            this.frp = frp;
+            this.fire = fire;
+            this.grid = grid;
+        }
+
+        /**
+         * Visits the clusters that may be visible in a viewport.
+         * @param viewport the viewport in world pixels
+         * @param margin how far outside the viewport, in pixels, a cluster may lie and still be drawn into it
+         * @param action called with the index of each cluster
+         */
+        void query(final Rectangle viewport, final double margin, final IntConsumer action) {
+            grid.query((viewport.getMinX() - margin) / worldSize, (viewport.getMinY() - margin) / worldSize,
+                    (viewport.getMaxX() + margin) / worldSize, (viewport.getMaxY() + margin) / worldSize, action);
+        }
+
+        /**
+         * Merges the clusters of this level that lie within the cluster radius of each other at a coarser zoom.
+         * Each cluster absorbs its unassigned neighbours and moves to their centroid, weighted by fire count.
+         */
+        private Level merge(final double coarserWorldSize) {
+            final double radius = MapViewConfig.CLUSTER_RADIUS / coarserWorldSize;
+            final PointGrid neighbours = new PointGrid(x, y, size, 2 * radius);
+            final Merge merge = new Merge(this, radius);
+            for (int i = 0; i < size; i++) {
+                if (!merge.assigned[i]) {
+                    merge.start(i);
+                    neighbours.query(x[i] - radius, y[i] - radius, x[i] + radius, y[i] + radius, merge);
+                    merge.finish(i);
+                }
+            }
+            if (merge.size == size) {
+                // nothing merged, as is usual at detailed zooms: share the arrays and reuse the grid
+                return new Level(coarserWorldSize, size, x, y, count, frp, fire, neighbours);
+            }
+            return new Level(coarserWorldSize, merge.size, merge.outX, merge.outY, merge.outCount, merge.outFrp,
+                    merge.outFire, new PointGrid(merge.outX, merge.outY, merge.size, 2 * radius));
+        }
+    }
+
+    /**
+     * Keeps the nearest fire drawn on its own among the clusters visited.
+     */
+    private static final class Nearest implements IntConsumer {
+        private final Level level;
+        private final double x;
+        private final double y;
+        private final double radius;
+        private double distanceSquared;
+        private int fire = -1;
+
+        Nearest(Level level, double x, double y, double radius) {
+            this.level = level;
+            this.x = x;
+            this.y = y;
+            this.radius = radius;
+            this.distanceSquared = radius * radius;
+        }
+
+        @Override
+        public void accept(int cluster) {
+            final double dx = level.x[cluster] - x;
+            final double dy = level.y[cluster] - y;
+            final double candidate = dx * dx + dy * dy;
+            if (level.fire[cluster] >= 0 && candidate < distanceSquared) {
+                distanceSquared = candidate;
+                fire = level.fire[cluster];
+            }
+        }
+    }
+
+    /**
+     * Accumulates one cluster of the next level while its neighbours are visited.
+     */
+    private static final class Merge implements IntConsumer {
+        private final Level level;
+        private final double radiusSquared;
+        private final boolean[] assigned;
+        private final double[] outX;
+        private final double[] outY;
+        private final int[] outCount;
+        private final double[] outFrp;
+        private final int[] outFire;
+        private int size;
+        private double centerX;
+        private double centerY;
+        private double sumX;
+        private double sumY;
+        private int sumCount;
+        private double sumFrp;
+
+        Merge(Level level, double radius) {
+            this.level = level;
+            this.radiusSquared = radius * radius;
+            this.assigned = new boolean[level.size];
+            this.outX = new double[level.size];
+            this.outY = new double[level.size];
+            this.outCount = new int[level.size];
+            this.outFrp = new double[level.size];
+            this.outFire = new int[level.size];
+        }
+
+        void start(int seed) {
+            assigned[seed] = true;
+            centerX = level.x[seed];
+            centerY = level.y[seed];
+            sumX = centerX * level.count[seed];
+            sumY = centerY * level.count[seed];
+            sumCount = level.count[seed];
+            sumFrp = level.frp[seed];
+        }
+
+        @Override
+        public void accept(int neighbour) {
+            final double dx = level.x[neighbour] - centerX;
+            final double dy = level.y[neighbour] - centerY;
+            if (!assigned[neighbour] && dx * dx + dy * dy <= radiusSquared) {
+                assigned[neighbour] = true;
+                sumX += level.x[neighbour] * level.count[neighbour];
+                sumY += level.y[neighbour] * level.count[neighbour];
+                sumCount += level.count[neighbour];
+                sumFrp += level.frp[neighbour];
+            }
+        }
+
+        void finish(int seed) {
+            outX[size] = sumX / sumCount;
+            outY[size] = sumY / sumCount;
+            outCount[size] = sumCount;
+            outFrp[size] = sumFrp;
+            outFire[size] = sumCount == 1 ? level.fire[seed] : -1;
+            size++;
+        }
+    }
+}
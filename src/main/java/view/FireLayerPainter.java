@@ -0,0 +1,131 @@
+package view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.util.Arrays;
+import org.jxmapviewer.JXMapViewer;
+import org.jxmapviewer.painter.AbstractPainter;
+
+/**
+ * Paints a {@link FireLayer} at the current zoom level of the map.
+ * Clusters of one fire are drawn with the fire renderers, first all circles and then all markers; larger clusters
+ * are drawn as a badge with their fire count and total FRP. Only clusters that may reach into the viewport are
+ * visited, so the cost of a paint follows what is visible rather than the number of fires. Positions and radii come
+ * from the projections cached in the layer, so painting a fire neither projects nor allocates.
+ * Installing a new layer only swaps a reference, so a prebuilt layer of any size is shown in constant time.
+ */
+public class FireLayerPainter extends AbstractPainter<JXMapViewer> implements AreaPainter {
+
+    private static final Stroke BADGE_STROKE = new BasicStroke(MapViewConfig.FIRE_STROKE_WIDTH);
+
+    private final FireWaypointRenderer circleRenderer;
+    private final FireMarkerRenderer markerRenderer;
+    private volatile FireLayer layer = FireLayer.EMPTY;
+    // the clusters visible in the current paint, reused between paints
+    private int[] visible = new int[0];
+    private int visibleCount;
+
+    /**
+     * Constructs a FireLayerPainter.
+     * @param circleRenderer the renderer that draws the extent of each fire
+     * @param markerRenderer the renderer that draws the marker of each fire, above all circles
+     */
+    public FireLayerPainter(final FireWaypointRenderer circleRenderer, final FireMarkerRenderer markerRenderer) {
+        this.circleRenderer = circleRenderer;
+        this.markerRenderer = markerRenderer;
+    }
+
+    /**
+     * Replaces the painted fires.
+     * @param fireLayer the fires to paint
+     */
+    public void setLayer(final FireLayer fireLayer) {
+        this.layer = fireLayer;
+    }
+
+    public FireLayer getLayer() {
+        return this.layer;
+    }
+
+    @Override
+    protected void doPaint(final Graphics2D g, final JXMapViewer map, final int width, final int height) {
+        this.paintArea(g, map, map.getViewportBounds());
+    }
+
+    @Override
+    public void paintArea(final Graphics2D g, final JXMapViewer map, final Rectangle area) {
+        final FireLayer fireLayer = this.layer;
+        final FireLayer.Level level = fireLayer.level(map.getZoom());
+        if (level == null) {
+            return;
+        }
+        final double margin = Math.max(MapViewConfig.CLUSTER_MAX_BADGE_RADIUS * 2,
+                fireLayer.maxRadiusInPixels(level));
+        this.visibleCount = 0;
+        level.query(area, margin, this::addVisible);
+
+        g.translate(-area.getX(), -area.getY());
+        for (int k = 0; k < this.visibleCount; k++) {
+            final int cluster = this.visible[k];
+            final int fire = level.fire[cluster];
+            if (fire >= 0) {
+                final double radius = Math.max(MapViewConfig.MIN_FIRE_RADIUS, fireLayer.radiusInPixels(fire, level));
+                final double x = level.x[cluster] * level.worldSize;
+                final double y = level.y[cluster] * level.worldSize;
+                if (area.intersects(x - radius, y - radius, radius * 2, radius * 2)) {
+                    this.circleRenderer.paintFire(g, x, y, radius);
+                }
+            }
+        }
+        for (int k = 0; k < this.visibleCount; k++) {
+            final int cluster = this.visible[k];
+            if (level.fire[cluster] >= 0) {
+                this.markerRenderer.paintMarker(g, level.x[cluster] * level.worldSize,
+                        level.y[cluster] * level.worldSize);
+            }
+        }
+        for (int k = 0; k < this.visibleCount; k++) {
+            final int cluster = this.visible[k];
+            if (level.fire[cluster] < 0) {
+                paintBadge(g, level, cluster);
+            }
+        }
+        g.translate(area.getX(), area.getY());
+    }
+
+    private void addVisible(final int cluster) {
+        if (this.visibleCount == this.visible.length) {
+            this.visible = Arrays.copyOf(this.visible, Math.max(16, this.visible.length * 2));
+        }
+        this.visible[this.visibleCount++] = cluster;
+    }
+
+    private static void paintBadge(final Graphics2D g, final FireLayer.Level level, final int cluster) {
+        final int count = level.count[cluster];
+        final int radius = (int) Math.min(MapViewConfig.CLUSTER_MAX_BADGE_RADIUS,
+                MapViewConfig.CLUSTER_MIN_BADGE_RADIUS + 2 * Math.log(count));
+        final int x = (int) (level.x[cluster] * level.worldSize);
+        final int y = (int) (level.y[cluster] * level.worldSize);
+
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(MapViewConfig.CLUSTER_FILL_COLOR);
+        g.fillOval(x - radius, y - radius, radius * 2, radius * 2);
+        g.setColor(Color.WHITE);
+        g.setStroke(BADGE_STROKE);
+        g.drawOval(x - radius, y - radius, radius * 2, radius * 2);
+
+        g.setFont(MapViewConfig.CLUSTER_FONT);
+        final FontMetrics metrics = g.getFontMetrics();
+        final String countText = Integer.toString(count);
+        g.drawString(countText, x - metrics.stringWidth(countText) / 2, y + metrics.getAscent() / 2 - 1);
+
+        final String frpText = String.format("%.0f MW", level.frp[cluster]);
+        g.setColor(Color.BLACK);
+        g.drawString(frpText, x - metrics.stringWidth(frpText) / 2, y + radius + metrics.getAscent());
+    }
+}
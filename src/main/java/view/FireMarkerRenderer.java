@@ -12,9 +12,18 @@ public class FireMarkerRenderer implements WaypointRenderer<FireWaypoint> {
     @Override
     public void paintWaypoint(final Graphics2D g, final JXMapViewer map, final FireWaypoint wp) {
         Point2D centerPoint = map.getTileFactory().geoToPixel(wp.getPosition(), map.getZoom());
+        paintMarker(g, centerPoint.getX(), centerPoint.getY());
+    }
 
-        int x = (int) centerPoint.getX() - MARKER_SIZE / 2;
-        int y = (int) centerPoint.getY() - MARKER_SIZE / 2;
+    /**
+     * Paints a marker at a position that is already projected.
+     * @param g the graphics, translated so that world pixels can be used directly
+     * @param centerX the x coordinate of the marker in world pixels
+     * @param centerY the y coordinate of the marker in world pixels
+     */
+    public void paintMarker(final Graphics2D g, final double centerX, final double centerY) {
+        int x = (int) centerX - MARKER_SIZE / 2;
+        int y = (int) centerY - MARKER_SIZE / 2;
 
         // dot's outline
         g.setColor(Color.WHITE);
@@ -24,4 +33,4 @@ public class FireMarkerRenderer implements WaypointRenderer<FireWaypoint> {
         g.setColor(Color.RED);
         g.fillOval(x, y, MARKER_SIZE, MARKER_SIZE);
     }
-}
\ No newline at end of file
+}
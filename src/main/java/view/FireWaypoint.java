@@ -1,5 +1,6 @@
 package view;
 
+import entities.Fire;
 import org.jxmapviewer.viewer.DefaultWaypoint;
 import org.jxmapviewer.viewer.GeoPosition;
 
@@ -8,6 +9,7 @@ import org.jxmapviewer.viewer.GeoPosition;
  */
 public class FireWaypoint extends DefaultWaypoint {
     private final double radius;
+    private final Fire fire;
 
     /**
      * Constructs a FireWaypoint.
@@ -15,8 +17,19 @@ public class FireWaypoint extends DefaultWaypoint {
      * @param radius The radius of the fire.
      */
     public FireWaypoint(final GeoPosition coord, final double radius) {
+        this(coord, radius, null);
+    }
+
+    /**
+     * Constructs a FireWaypoint for a displayed fire.
+     * @param coord The geographical coordinate.
+     * @param radius The radius of the fire.
+     * @param fire The fire the waypoint shows, or null if it shows no particular fire.
+     */
+    public FireWaypoint(final GeoPosition coord, final double radius, final Fire fire) {
         super(coord);
         this.radius = radius;
+        this.fire = fire;
     }
 
     /**
@@ -27,4 +40,11 @@ public class FireWaypoint extends DefaultWaypoint {
         return this.radius;
     }
 
+    /**
+     * Gets the fire shown by this waypoint.
+     * @return the fire, or null if the waypoint shows no particular fire.
+     */
+    public Fire getFire() {
+        return this.fire;
+    }
 }
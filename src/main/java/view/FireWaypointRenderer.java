@@ -3,6 +3,7 @@ package view;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Stroke;
 import java.awt.geom.Point2D;
 import org.jxmapviewer.JXMapViewer;
 import org.jxmapviewer.viewer.GeoPosition;
@@ -12,6 +13,8 @@ import org.jxmapviewer.viewer.WaypointRenderer;
  * A renderer for painting FireWaypoint objects on the map.
  */
 public class FireWaypointRenderer implements WaypointRenderer<FireWaypoint> {
+    private static final Stroke STROKE = new BasicStroke(MapViewConfig.FIRE_STROKE_WIDTH);
+
     @Override
     public void paintWaypoint(final Graphics2D g, final JXMapViewer map, final FireWaypoint wp) {
         final Point2D centerPoint = map.getTileFactory().geoToPixel(wp.getPosition(), map.getZoom());
@@ -22,18 +25,29 @@ public class FireWaypointRenderer implements WaypointRenderer<FireWaypoint> {
         final Point2D radiusPoint = map.getTileFactory().geoToPixel(northPoint, map.getZoom());
 
         final double pixelRadius = Math.abs(centerPoint.getY() - radiusPoint.getY());
+        this.paintFire(g, centerPoint.getX(), centerPoint.getY(), pixelRadius);
+    }
+
+    /**
+     * Paints a fire whose position and radius are already projected.
+     * @param g the graphics, translated so that world pixels can be used directly
+     * @param x the x coordinate of the fire in world pixels
+     * @param y the y coordinate of the fire in world pixels
+     * @param pixelRadius the radius of the fire in pixels
+     */
+    public void paintFire(final Graphics2D g, final double x, final double y, final double pixelRadius) {
         int radius = (int) pixelRadius;
         if (radius < MapViewConfig.MIN_FIRE_RADIUS) {
             radius = MapViewConfig.MIN_FIRE_RADIUS;
         }
         final int diameter = radius * 2;
-        final int x = (int) (centerPoint.getX() - radius);
-        final int y = (int) (centerPoint.getY() - radius);
+        final int left = (int) (x - radius);
+        final int top = (int) (y - radius);
 
         g.setColor(MapViewConfig.FIRE_FILL_COLOR);
-        g.fillOval(x, y, diameter, diameter);
+        g.fillOval(left, top, diameter, diameter);
         g.setColor(Color.RED);
-        g.setStroke(new BasicStroke(MapViewConfig.FIRE_STROKE_WIDTH));
-        g.drawOval(x, y, diameter, diameter);
+        g.setStroke(STROKE);
+        g.drawOval(left, top, diameter, diameter);
     }
 }
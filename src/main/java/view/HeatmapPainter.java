@@ -0,0 +1,302 @@
+package view;
+
+import entities.Coordinate;
+import entities.Fire;
+import entities.FireBatch;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+import org.jxmapviewer.JXMapViewer;
+import org.jxmapviewer.painter.Painter;
+import org.jxmapviewer.viewer.TileFactoryInfo;
+
+/**
+ * A painter that shows the density of fire detections as a heatmap.
+ * The map is divided into the same tiles as the base map. Each tile is rendered on a background thread: detections
+ * are binned into a density grid, smoothed, and coloured with a ramp from yellow to red. Painting only draws the
+ * tiles that are already rendered and queues the missing ones, so the EDT never touches individual detections.
+ * The painter is hidden until {@link #setVisible(boolean)} turns it on.
+ */
+public class HeatmapPainter implements Painter<JXMapViewer> {
+
+    // the width and height of a density bin, in pixels
+    static final int BIN_SIZE = 4;
+    // the radius of the box blur, in bins; it is applied twice, which approximates a Gaussian
+    static final int BLUR_RADIUS = 2;
+    // the smoothed number of detections per bin at which the ramp reaches full red
+    static final double SATURATION = 6;
+    private static final int MAX_ALPHA = 190;
+    // about 32 MB of rendered 256-pixel tiles
+    private static final int MAX_CACHED_TILES = 128;
+    // cells of the detection index: one tile when the world is 1024 tiles wide
+    private static final double INDEX_CELL_SIZE = 1.0 / 1024;
+
+    private final ExecutorService executor;
+    private final Runnable onTileReady;
+    private volatile Density density = Density.EMPTY;
+    private volatile int generation;
+    private boolean visible;
+    // rendered tiles and tiles being rendered; only used on the EDT
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(MAX_CACHED_TILES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+    private final Set<Long> pending = new HashSet<>();
+
+    /**
+     * Constructs a HeatmapPainter.
+     * @param onTileReady called on the EDT whenever a tile has been rendered, typically to repaint the map
+     */
+    public HeatmapPainter(final Runnable onTileReady) {
+        this.onTileReady = onTileReady;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "heatmap-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isVisible() {
+        return this.visible;
+    }
+
+    public void setVisible(final boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * Replaces the detections shown by the heatmap. The detections are indexed on a background thread and the
+     * rendered tiles are discarded. Must be called on the EDT.
+     * @param fires the fires whose detections to show
+     */
+    public void setFires(final List<Fire> fires) {
+        final int current = ++this.generation;
+        this.density = Density.EMPTY;
+        this.tiles.clear();
+        this.pending.clear();
+        this.executor.execute(() -> {
+            final Density built = Density.of(fires);
+            SwingUtilities.invokeLater(() -> {
+                if (current == this.generation) {
+                    this.density = built;
+                    this.onTileReady.run();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void paint(final Graphics2D g, final JXMapViewer map, final int w, final int h) {
+        final Density current = this.density;
+        if (!this.visible || current.size == 0) {
+            return;
+        }
+        final int zoom = map.getZoom();
+        final TileFactoryInfo info = map.getTileFactory().getInfo();
+        final int tileSize = info.getTileSize(zoom);
+        final long tilesAcross = info.getMapWidthInTilesAtZoom(zoom);
+        final Rectangle viewportBounds = map.getViewportBounds();
+
+        final long firstColumn = Math.max(0, Math.floorDiv(viewportBounds.x, tileSize));
+        final long lastColumn = Math.min(tilesAcross - 1, Math.floorDiv((int) viewportBounds.getMaxX(), tileSize));
+        final long firstRow = Math.max(0, Math.floorDiv(viewportBounds.y, tileSize));
+        final long lastRow = Math.min(tilesAcross - 1, Math.floorDiv((int) viewportBounds.getMaxY(), tileSize));
+        for (long column = firstColumn; column <= lastColumn; column++) {
+            for (long row = firstRow; row <= lastRow; row++) {
+                final BufferedImage tile = this.tile(current, zoom, column, row, tileSize, tilesAcross);
+                if (tile != null) {
+                    g.drawImage(tile, (int) (column * tileSize - viewportBounds.x),
+                            (int) (row * tileSize - viewportBounds.y), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a rendered tile, or queues it for rendering and returns null.
+     */
+    private BufferedImage tile(final Density data, final int zoom, final long column, final long row,
+                               final int tileSize, final long tilesAcross) {
+        final Long key = ((long) zoom << 56) | (column << 28) | row;
+        final BufferedImage tile = this.tiles.get(key);
+        if (tile != null || !this.pending.add(key)) {
+            return tile;
+        }
+        final int queuedGeneration = this.generation;
+        this.executor.execute(() -> {
+            if (queuedGeneration != this.generation) {
+                return;
+            }
+            final BufferedImage rendered = renderTile(data, column, row, tileSize, tilesAcross);
+            SwingUtilities.invokeLater(() -> {
+                if (queuedGeneration == this.generation && this.pending.remove(key)) {
+                    this.tiles.put(key, rendered);
+                    this.onTileReady.run();
+                }
+            });
+        });
+        return null;
+    }
+
+    /**
+     * Renders one tile of the heatmap.
+     * @param data the detections
+     * @param column the column of the tile
+     * @param row the row of the tile
+     * @param tileSize the width and height of a tile in pixels
+     * @param tilesAcross the number of tiles across the world at the tile's zoom level
+     * @return the tile, transparent where there are no detections nearby
+     */
+    static BufferedImage renderTile(final Density data, final long column, final long row, final int tileSize,
+                                    final long tilesAcross) {
+        final double worldSize = (double) tilesAcross * tileSize;
+        final int bins = tileSize / BIN_SIZE;
+        // the grid extends beyond the tile by the reach of the blur, so tiles join without seams
+        final int margin = 2 * BLUR_RADIUS;
+        final int gridSize = bins + 2 * margin;
+        final double[] grid = new double[gridSize * gridSize];
+
+        final double originX = column * tileSize - margin * BIN_SIZE;
+        final double originY = row * tileSize - margin * BIN_SIZE;
+        final double extent = gridSize * BIN_SIZE;
+        data.grid.query(originX / worldSize, originY / worldSize, (originX + extent) / worldSize,
+                (originY + extent) / worldSize, point -> {
+                    final int bx = (int) Math.floor((data.x[point] * worldSize - originX) / BIN_SIZE);
+                    final int by = (int) Math.floor((data.y[point] * worldSize - originY) / BIN_SIZE);
+                    if (bx >= 0 && by >= 0 && bx < gridSize && by < gridSize) {
+                        grid[by * gridSize + bx]++;
+                    }
+                });
+
+        final double[] scratch = new double[grid.length];
+        for (int pass = 0; pass < 2; pass++) {
+            boxBlur(grid, scratch, gridSize, 1, gridSize);
+            boxBlur(scratch, grid, gridSize, gridSize, 1);
+        }
+
+        final int[] pixels = new int[tileSize * tileSize];
+        for (int by = 0; by < bins; by++) {
+            for (int bx = 0; bx < bins; bx++) {
+                final int colour = colour(grid[(by + margin) * gridSize + bx + margin]);
+                if (colour == 0) {
+                    continue;
+                }
+                for (int dy = 0; dy < BIN_SIZE; dy++) {
+                    final int offset = (by * BIN_SIZE + dy) * tileSize + bx * BIN_SIZE;
+                    for (int dx = 0; dx < BIN_SIZE; dx++) {
+                        pixels[offset + dx] = colour;
+                    }
+                }
+            }
+        }
+        final BufferedImage image = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, tileSize, tileSize, pixels, 0, tileSize);
+        return image;
+    }
+
+    /**
+     * Averages each value of a square grid with its neighbours along one axis.
+     * @param step the distance between neighbours along the axis: 1 for rows, the grid size for columns
+     * @param lineStep the distance between the starts of consecutive lines
+     */
+    private static void boxBlur(final double[] from, final double[] to, final int size, final int step,
+                                final int lineStep) {
+        final double width = 2 * BLUR_RADIUS + 1;
+        for (int line = 0; line < size; line++) {
+            final int start = line * lineStep;
+            double sum = 0;
+            for (int i = 0; i < BLUR_RADIUS && i < size; i++) {
+                sum += from[start + i * step];
+            }
+            for (int i = 0; i < size; i++) {
+                if (i + BLUR_RADIUS < size) {
+                    sum += from[start + (i + BLUR_RADIUS) * step];
+                }
+                if (i - BLUR_RADIUS - 1 >= 0) {
+                    sum -= from[start + (i - BLUR_RADIUS - 1) * step];
+                }
+                to[start + i * step] = sum / width;
+            }
+        }
+    }
+
+    /**
+     * Maps a smoothed detection count to a colour: transparent for none, then yellow through orange to red,
+     * on a logarithmic scale so that isolated detections stay visible next to dense clusters.
+     */
+    private static int colour(final double value) {
+        if (value < 1e-3) {
+            return 0;
+        }
+        final double t = Math.min(1, Math.log1p(value) / Math.log1p(SATURATION));
+        final int alpha = (int) (MAX_ALPHA * Math.sqrt(t));
+        final int green = (int) (255 * (1 - t));
+        return alpha << 24 | 255 << 16 | green << 8;
+    }
+
+    /**
+     * The detections shown by the heatmap, in normalized map coordinates where the world spans 0 to 1.
+     */
+    static final class Density {
+        static final Density EMPTY = new Density(new double[0], new double[0], 0);
+
+        final double[] x;
+        final double[] y;
+        final int size;
+        final PointGrid grid;
+
+        private Density(double[] x, double[] y, int size) {
+            this.x = x;
+            this.y = y;
+            this.size = size;
+            this.grid = new PointGrid(x, y, size, INDEX_CELL_SIZE);
+        }
+
+        /**
+         * Indexes every detection of the given fires.
+         */
+        static Density of(final List<Fire> fires) {
+            int total = 0;
+            for (final Fire fire : fires) {
+                total += fire.getCoordinatesSize();
+            }
+            final double[] x = new double[total];
+            final double[] y = new double[total];
+            int size = 0;
+            for (final Fire fire : fires) {
+                if (fire.getCoordinates() == null) {
+                    continue;
+                }
+                if (fire.getCoordinates() instanceof FireBatch batch) {
+                    // read the columns directly rather than creating a Coordinate per detection
+                    final int count = Math.min(batch.size(), total - size);
+                    for (int i = 0; i < count; i++) {
+                        x[size] = FireLayer.normalizedX(batch.getLon(i));
+                        y[size] = FireLayer.normalizedY(batch.getLat(i));
+                        size++;
+                    }
+                    continue;
+                }
+                for (final Coordinate point : fire.getCoordinates()) {
+                    if (size == total) {
+                        break;
+                    }
+                    x[size] = FireLayer.normalizedX(point.getLon());
+                    y[size] = FireLayer.normalizedY(point.getLat());
+                    size++;
+                }
+            }
+            return new Density(x, y, size);
+        }
+    }
+}
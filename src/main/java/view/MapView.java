@@ -4,7 +4,6 @@ import entities.Fire;
 import entities.Region;
 import interface_adapter.marker.MarkerViewModel;
 import interface_adapter.region.RegionRepository;
-import interface_adapter.select_region.MapCoordinateConverter;
 import interface_adapter.select_region.SelectRegionController;
 import interface_adapter.select_region.SelectRegionPresenter;
 import interface_adapter.select_region.SelectRegionViewModel;
@@ -12,22 +11,23 @@ import interface_adapter.marker.MarkerController;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Rectangle;
 import java.awt.event.*;
-import java.awt.geom.Point2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.Serial;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
+import javax.swing.JToggleButton;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import org.jxmapviewer.JXMapKit;
 import org.jxmapviewer.JXMapViewer;
 import org.jxmapviewer.OSMTileFactoryInfo;
@@ -37,9 +37,8 @@ import org.jxmapviewer.painter.CompoundPainter;
 import org.jxmapviewer.painter.Painter;
 import org.jxmapviewer.viewer.DefaultTileFactory;
 import org.jxmapviewer.viewer.GeoPosition;
-import org.jxmapviewer.viewer.WaypointPainter;
+import org.jxmapviewer.viewer.TileFactoryInfo;
 import usecase.select_region.SelectRegionInteractor;
-import usecase.select_region.CoordinateConverter;
 
 /**
  * The main map view component for the application.
@@ -52,35 +51,33 @@ public class MapView extends JPanel implements PropertyChangeListener {
     private final transient RegionRepository regionRepo;
     private final JLabel provinceLabel = new JLabel("Province: None");
     private final JXMapKit mapKit;
-    private final transient Set<FireWaypoint> waypoints;
-    private final transient Set<FireWaypoint> markers;
-    private final transient WaypointPainter<FireWaypoint> waypointPainter;
-    private final transient WaypointPainter<FireWaypoint> fireMarkerPainter;
+    private final transient FireLayerPainter fireLayerPainter;
+    private final transient HeatmapPainter heatmapPainter;
+    private final JToggleButton heatmapToggle = new JToggleButton("Heatmap");
     private final transient SelectRegionController selectRegionController;
     private final transient RegionBoundaryPainter regionBoundaryPainter;
+    private final transient CachedOverlayPainter overlayPainter;
     private final transient MarkerController markerController;
     private final transient MarkerViewModel markerViewModel;
     private final MarkerInfoPanel markerInfoPanel;
     private boolean firesDisplayed = false;
+    // the province last selected, whose boundary is drawn as soon as its region is loaded
+    private String selectedProvince;
+    // the fire layer shown on the map; it is replaced as a whole and never modified
+    private transient FireLayer fireLayer = FireLayer.EMPTY;
+    // incremented whenever the fires change, so a layer built for an older request is discarded
+    private int fireLayerGeneration;
 
     /**
      * Constructs the MapView panel.
      * @param regionRepository The repository containing loaded region data.
      */
     public MapView(RegionRepository regionRepository, MarkerController markerController, MarkerViewModel markerViewModel) {
-        this.waypoints = new HashSet<>();
-        this.markers = new HashSet<>();
-      
         // Decoupling: Use the injected repository instead of creating a new one
         this.regionRepo = regionRepository;
 
-        this.waypointPainter = new WaypointPainter<>();
-        this.waypointPainter.setRenderer(new FireWaypointRenderer());
-        this.waypointPainter.setWaypoints(this.waypoints);
-
-        this.fireMarkerPainter = new WaypointPainter<>();
-        this.fireMarkerPainter.setRenderer(new FireMarkerRenderer());
-        this.fireMarkerPainter.setWaypoints(this.markers);
+        this.fireLayerPainter = new FireLayerPainter(new FireWaypointRenderer(), new FireMarkerRenderer());
+        this.heatmapPainter = new HeatmapPainter(this::repaintMap);
 
         this.mapKit = new JXMapKit();
         final JXMapViewer map = this.mapKit.getMainMap();
@@ -88,9 +85,8 @@ public class MapView extends JPanel implements PropertyChangeListener {
         final SelectRegionViewModel selectRegionViewModel = new SelectRegionViewModel();
         selectRegionViewModel.addPropertyChangeListener(this);
         final SelectRegionPresenter selectRegionPresenter = new SelectRegionPresenter(selectRegionViewModel);
-        final CoordinateConverter coordinateConverter = new MapCoordinateConverter(map);
         final SelectRegionInteractor selectRegionInteractor = new SelectRegionInteractor(
-                this.regionRepo, selectRegionPresenter, coordinateConverter
+                this.regionRepo, selectRegionPresenter
         );
         this.selectRegionController = new SelectRegionController(selectRegionInteractor);
 
@@ -103,6 +99,7 @@ public class MapView extends JPanel implements PropertyChangeListener {
         this.add(markerInfoPanel);
 
         this.regionBoundaryPainter = new RegionBoundaryPainter();
+        this.overlayPainter = new CachedOverlayPainter(this.regionBoundaryPainter, this.fireLayerPainter);
 
         this.setLayout(new BorderLayout());
 
@@ -113,6 +110,7 @@ public class MapView extends JPanel implements PropertyChangeListener {
         this.setupProvinceLabel(layeredPane);
         this.setupMapKit(layeredPane);
 
+        this.regionRepo.addOnRegionCallback(this::regionLoaded);
         this.regionRepo.addOnLoadCallback(this::repaint);
 
         SwingUtilities.invokeLater(this::updateChildBounds);
@@ -142,10 +140,10 @@ public class MapView extends JPanel implements PropertyChangeListener {
 
         this.addMouseListeners(map);
 
+        // the heatmap caches its own tiles; the boundary and fires are rendered once and reused while panning
         final List<Painter<JXMapViewer>> painters = new ArrayList<>();
-        painters.add(this.regionBoundaryPainter);
-        painters.add(this.waypointPainter);
-        painters.add(this.fireMarkerPainter);
+        painters.add(this.heatmapPainter);
+        painters.add(this.overlayPainter);
 
         final CompoundPainter<JXMapViewer> compoundPainter = new CompoundPainter<>(painters);
         map.setOverlayPainter(compoundPainter);
@@ -155,6 +153,7 @@ public class MapView extends JPanel implements PropertyChangeListener {
 
         new MapBoundsEnforcer(map);
         this.setupZoomButtons(this.mapKit);
+        this.setupHeatmapToggle(layeredPane);
 
         layeredPane.add(this.mapKit, JLayeredPane.DEFAULT_LAYER);
 
@@ -166,6 +165,20 @@ public class MapView extends JPanel implements PropertyChangeListener {
         });
     }
 
+    private void setupHeatmapToggle(final JLayeredPane layeredPane) {
+        this.heatmapToggle.setFont(MapViewConfig.LABEL_FONT);
+        this.heatmapToggle.setFocusable(false);
+        this.heatmapToggle.addActionListener(event -> {
+            this.heatmapPainter.setVisible(this.heatmapToggle.isSelected());
+            this.repaintMap();
+        });
+        layeredPane.add(this.heatmapToggle, JLayeredPane.PALETTE_LAYER);
+    }
+
+    private void repaintMap() {
+        this.mapKit.getMainMap().repaint();
+    }
+
     private void updateChildBounds() {
         final int w = getWidth();
         final int h = getHeight();
@@ -174,13 +187,18 @@ public class MapView extends JPanel implements PropertyChangeListener {
                 MapViewConfig.LABEL_X_OFFSET, MapViewConfig.LABEL_Y_OFFSET,
                 MapViewConfig.LABEL_WIDTH, MapViewConfig.LABEL_HEIGHT
         );
+        this.heatmapToggle.setBounds(
+                MapViewConfig.LABEL_X_OFFSET, MapViewConfig.LABEL_Y_OFFSET * 2 + MapViewConfig.LABEL_HEIGHT,
+                MapViewConfig.HEATMAP_TOGGLE_WIDTH, MapViewConfig.LABEL_HEIGHT
+        );
     }
 
     private void addMouseListeners(final JXMapViewer map) {
         map.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(final MouseEvent e) {
-                if (!regionRepo.isLoaded()) {
+                // provinces become clickable one by one as their boundaries arrive
+                if (regionRepo.getAllRegions().isEmpty()) {
                     return;
                 }
 
@@ -207,8 +225,10 @@ public class MapView extends JPanel implements PropertyChangeListener {
                 if (firesDisplayed){
                     FireWaypoint fireWayPoint = fireAtPoint(map, e.getX(), e.getY());
                     if (fireWayPoint != null) {
-                        double lat = fireWayPoint.getPosition().getLatitude();
-                        double lon = fireWayPoint.getPosition().getLongitude();
+                        // the marker sits on the fire's first detection; the fire itself is found by its center
+                        final Fire fire = fireWayPoint.getFire();
+                        double lat = fire != null ? fire.getLat() : fireWayPoint.getPosition().getLatitude();
+                        double lon = fire != null ? fire.getLon() : fireWayPoint.getPosition().getLongitude();
                         markerController.execute(lat, lon);
                         markerInfoPanel.setVisible(true);
                     }else{
@@ -233,9 +253,11 @@ public class MapView extends JPanel implements PropertyChangeListener {
     public void propertyChange(final PropertyChangeEvent evt) {
         if ("selectedProvince".equals(evt.getPropertyName())) {
             final String newProvince = (String) evt.getNewValue();
+            this.selectedProvince = newProvince;
             this.provinceLabel.setText(SelectRegionViewModel.PROVINCE_LABEL + newProvince);
             final Region selectedRegion = this.regionRepo.getRegion(newProvince);
             this.regionBoundaryPainter.setRegion(selectedRegion);
+            this.overlayPainter.invalidate();
             this.repaint();
         }else if ("markerHover".equals(evt.getPropertyName())){
             displayMarkerDetails();
@@ -244,52 +266,77 @@ public class MapView extends JPanel implements PropertyChangeListener {
     }
 
     /**
-     * Adds a fire marker to the map.
-     * @param location The geographical location of the fire.
-     * @param radius The radius of the fire marker.
+     * Called on the EDT with each province as it is loaded: a province that was selected before its boundary arrived
+     * is outlined now, and the map is repainted so the province can be clicked.
+     * @param region the province that was loaded
      */
-    public void addFireMarker(final GeoPosition location, final double radius) {
-        this.waypoints.add(new FireWaypoint(location, radius));
-        this.markers.add(new FireWaypoint(location, radius));
-        this.waypointPainter.setWaypoints(this.waypoints);
-        this.fireMarkerPainter.setWaypoints(this.markers);
-        this.mapKit.getMainMap().repaint();
+    private void regionLoaded(final Region region) {
+        if (region.getProvinceName().equals(this.selectedProvince)) {
+            this.regionBoundaryPainter.setRegion(region);
+            this.overlayPainter.invalidate();
+        }
+        this.repaint();
     }
 
     public void clearFires() {
-        this.waypoints.clear();
-        this.markers.clear();
-        this.waypointPainter.setWaypoints(this.waypoints);
-        this.fireMarkerPainter.setWaypoints(this.markers);
-        this.mapKit.getMainMap().repaint();
+        this.fireLayerGeneration++;
+        this.heatmapPainter.setFires(List.of());
+        this.showFireLayer(FireLayer.EMPTY);
         this.firesDisplayed = false;
     }
 
+    /**
+     * Shows the given fires in place of the current ones.
+     * The layer, including its clusters for every zoom level, is built on a background thread; the map keeps
+     * showing the previous fires until the new layer is swapped in with a single repaint. If this is called again
+     * before the build finishes, the older layer is discarded.
+     * @param fires the fires to show
+     */
     public void displayFires(final List<Fire> fires) {
-        this.clearFires();
-        for (final Fire fire : fires) {
-            if (fire.getCoordinates() != null && !fire.getCoordinates().isEmpty()) {
-                final GeoPosition geo = new GeoPosition(
-                        fire.getCoordinates().get(0).getLat(),
-                        fire.getCoordinates().get(0).getLon()
-                );
-                this.addFireMarker(geo, fire.getRadius());
+        final int generation = ++this.fireLayerGeneration;
+        final TileFactoryInfo info = this.tileFactoryInfo();
+        this.heatmapPainter.setFires(fires);
+        new SwingWorker<FireLayer, Void>() {
+            @Override
+            protected FireLayer doInBackground() {
+                return FireLayer.build(fires, info);
             }
-        }
-        this.firesDisplayed = true;
+
+            @Override
+            protected void done() {
+                if (generation != fireLayerGeneration) {
+                    return;
+                }
+                try {
+                    showFireLayer(get());
+                    firesDisplayed = true;
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
     }
 
-    private FireWaypoint fireAtPoint(JXMapViewer map, final double x, final double y) {
-        for (FireWaypoint fireWaypoint: this.markers){
-            Point2D marker = map.convertGeoPositionToPoint(fireWaypoint.getPosition());
-            double dx = marker.getX() - x;
-            double dy = marker.getY() - y;
+    /**
+     * Replaces the fires on the map with a prebuilt layer and repaints once. Must be called on the EDT.
+     * @param layer the layer to show
+     */
+    public void showFireLayer(final FireLayer layer) {
+        this.fireLayer = layer;
+        this.fireLayerPainter.setLayer(layer);
+        this.overlayPainter.invalidate();
+        this.repaintMap();
+    }
 
-            if (dx*dx + dy*dy < 8*8){
-                return fireWaypoint;
-            }
-        }
-        return null;
+    private TileFactoryInfo tileFactoryInfo() {
+        return this.mapKit.getMainMap().getTileFactory().getInfo();
+    }
+
+    private FireWaypoint fireAtPoint(JXMapViewer map, final double x, final double y) {
+        // the layer indexes markers in world pixels, so panning only shifts the point by the viewport's origin
+        final Rectangle viewportBounds = map.getViewportBounds();
+        return this.fireLayer.fireAt(map.getZoom(), viewportBounds.getX() + x, viewportBounds.getY() + y,
+                MapViewConfig.MARKER_HIT_RADIUS);
     }
 
     private void displayMarkerDetails() {
@@ -12,6 +12,7 @@ public final class MapViewConfig {
     public static final int INITIAL_ZOOM = 12;
     public static final int LABEL_WIDTH = 250;
     public static final int LABEL_HEIGHT = 40;
+    public static final int HEATMAP_TOGGLE_WIDTH = 120;
     public static final int LABEL_X_OFFSET = 20;
     public static final int LABEL_Y_OFFSET = 20;
     public static final int LABEL_FONT_SIZE = 14;
@@ -19,10 +20,16 @@ public final class MapViewConfig {
     public static final int INITIAL_WIDTH = 800;
     public static final int INITIAL_HEIGHT = 600;
     public static final float BOUNDARY_STROKE_WIDTH = 3.0f;
+    public static final double BOUNDARY_SIMPLIFY_TOLERANCE = 0.5;
     public static final float FIRE_STROKE_WIDTH = 2.0f;
     public static final int MIN_FIRE_RADIUS = 5;
     public static final double CENTER_POSITION_TOLERANCE = 1.0;
     public static final int MIN_POLYGON_POINTS = 3;
+    public static final int CLUSTER_RADIUS = 40;
+    public static final int MARKER_HIT_RADIUS = 8;
+    public static final int OVERLAY_CACHE_MARGIN = 256;
+    public static final int CLUSTER_MIN_BADGE_RADIUS = 10;
+    public static final int CLUSTER_MAX_BADGE_RADIUS = 24;
 
     public static final double MIN_LAT = 25.0;
     public static final double MAX_LAT = 75.0;
@@ -34,8 +41,10 @@ public final class MapViewConfig {
     public static final Color LABEL_BACKGROUND_COLOR = new Color(255, 255, 255, 200);
     public static final Color BOUNDARY_COLOR = new Color(0, 102, 204, 200);
     public static final Color FIRE_FILL_COLOR = new Color(255, 0, 0, 100);
+    public static final Color CLUSTER_FILL_COLOR = new Color(230, 80, 0, 220);
 
     public static final Font LABEL_FONT = new Font("SansSerif", Font.BOLD, LABEL_FONT_SIZE);
+    public static final Font CLUSTER_FONT = new Font("SansSerif", Font.BOLD, 11);
 
     private MapViewConfig() {
         // Private constructor to prevent instantiation.
@@ -94,6 +94,16 @@ public class MultiRegionStatsPopupView extends JDialog {
 
         }
     }
+    // Shown above the chart when some days could not be loaded, so the user knows the lines are incomplete.
+    public void showWarning(String warningMessage) {
+        final JLabel warningLabel = new JLabel(warningMessage);
+        warningLabel.setForeground(Color.RED.darker());
+        warningLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        add(warningLabel, BorderLayout.NORTH);
+        revalidate();
+        repaint();
+    }
+
     public void showError(String errorMessage) {
         remove(loadingLabel);
         final JLabel errorLabel = new JLabel(errorMessage);
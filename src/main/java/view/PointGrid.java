@@ -0,0 +1,142 @@
+package view;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid over points in normalized map coordinates, where both axes run from 0 to 1 across the world.
+ * It finds the points near a position or inside a rectangle without scanning all of them.
+ * Only occupied cells are stored: a hash table maps each cell to a run of point indices.
+ */
+final class PointGrid {
+
+    private static final long EMPTY = -1;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final double cellSize;
+    private final long columns;
+    private final int shift;
+    private final long[] tableKeys;
+    private final int[] tableCells;
+    // the points of cell c are items[cellStart[c]] to items[cellStart[c + 1] - 1]
+    private final int[] cellStart;
+    private final int[] items;
+
+    /**
+     * Indexes the first count points.
+     * @param x the x coordinate of each point, from 0 to 1
+     * @param y the y coordinate of each point, from 0 to 1
+     * @param count the number of points to index
+     * @param cellSize the width and height of a cell, in normalized units
+     */
+    PointGrid(double[] x, double[] y, int count, double cellSize) {
+        this.cellSize = cellSize;
+        this.columns = (long) Math.ceil(1 / cellSize) + 1;
+
+        // a power of two at least twice the number of points, so the table is at most half full
+        final int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        this.shift = Long.numberOfLeadingZeros(capacity - 1L);
+        this.tableKeys = new long[capacity];
+        this.tableCells = new int[capacity];
+        Arrays.fill(tableKeys, EMPTY);
+
+        final int[] cellOfPoint = new int[count];
+        final int[] counts = new int[count + 1];
+        int cells = 0;
+        for (int i = 0; i < count; i++) {
+            final long key = key(column(x[i]), column(y[i]));
+            int slot = slot(key);
+            while (tableKeys[slot] != EMPTY && tableKeys[slot] != key) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (tableKeys[slot] == EMPTY) {
+                tableKeys[slot] = key;
+                tableCells[slot] = cells++;
+            }
+            cellOfPoint[i] = tableCells[slot];
+            counts[cellOfPoint[i]]++;
+        }
+
+        this.cellStart = new int[cells + 1];
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] = cellStart[c] + counts[c];
+            counts[c] = cellStart[c];
+        }
+        this.items = new int[count];
+        for (int i = 0; i < count; i++) {
+            items[counts[cellOfPoint[i]]++] = i;
+        }
+    }
+
+    /**
+     * Visits every point in the cells that overlap a rectangle. Points near the edges of the rectangle may lie
+     * just outside it, so callers that need an exact answer check each point again.
+     * @param minX the left edge of the rectangle
+     * @param minY the top edge of the rectangle
+     * @param maxX the right edge of the rectangle
+     * @param maxY the bottom edge of the rectangle
+     * @param action called with the index of each point
+     */
+    void query(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        if (maxX < 0 || maxY < 0 || minX > 1 || minY > 1) {
+            return;
+        }
+        final long firstColumn = column(minX);
+        final long lastColumn = column(maxX);
+        final long firstRow = column(minY);
+        final long lastRow = column(maxY);
+
+        if ((lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > cellStart.length) {
+            // the rectangle covers more cells than are occupied, so check the occupied ones instead
+            for (int slot = 0; slot < tableKeys.length; slot++) {
+                final long key = tableKeys[slot];
+                if (key != EMPTY) {
+                    final long cx = key / columns;
+                    final long cy = key % columns;
+                    if (cx >= firstColumn && cx <= lastColumn && cy >= firstRow && cy <= lastRow) {
+                        visit(tableCells[slot], action);
+                    }
+                }
+            }
+            return;
+        }
+
+        for (long cx = firstColumn; cx <= lastColumn; cx++) {
+            for (long cy = firstRow; cy <= lastRow; cy++) {
+                final int cell = find(key(cx, cy));
+                if (cell >= 0) {
+                    visit(cell, action);
+                }
+            }
+        }
+    }
+
+    private void visit(int cell, IntConsumer action) {
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            action.accept(items[k]);
+        }
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        while (tableKeys[slot] != EMPTY) {
+            if (tableKeys[slot] == key) {
+                return tableCells[slot];
+            }
+            slot = (slot + 1) & (tableKeys.length - 1);
+        }
+        return -1;
+    }
+
+    private long column(double value) {
+        return Math.max(0, Math.min(columns - 1, (long) (value / cellSize)));
+    }
+
+    private long key(long cx, long cy) {
+        return cx * columns + cy;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> shift);
+    }
+}
@@ -1,5 +1,7 @@
 package view;
 
+import entities.BoundaryPyramid;
+import entities.PackedBoundary;
 import entities.Region;
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
@@ -8,18 +10,41 @@ import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.jxmapviewer.JXMapViewer;
 import org.jxmapviewer.painter.Painter;
 import org.jxmapviewer.viewer.GeoPosition;
 import org.jxmapviewer.viewer.TileFactory;
+import org.jxmapviewer.viewer.TileFactoryInfo;
 
 /**
  * A painter for drawing the boundary of a given region.
+ * The boundary is projected and simplified once per zoom level and reused while the map is panned. Only the
+ * coarsest level of the region's {@link BoundaryPyramid} that stays within the simplification tolerance at the zoom
+ * level is projected, so a zoomed-out map does not project every vertex of the exact boundary.
  */
-public class RegionBoundaryPainter implements Painter<JXMapViewer> {
+public class RegionBoundaryPainter implements Painter<JXMapViewer>, AreaPainter {
+
+    private static final BasicStroke STROKE = new BasicStroke(
+            MapViewConfig.BOUNDARY_STROKE_WIDTH, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND
+    );
+    // zoom levels whose projected boundary is kept; zooming back and forth stays within a few levels
+    private static final int CACHED_ZOOM_LEVELS = 4;
 
     private Region region;
+    private Region projectedRegion;
+    private TileFactory projectedFactory;
+    private final Map<Integer, ProjectedBoundary> projectedByZoom =
+            new LinkedHashMap<>(CACHED_ZOOM_LEVELS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Integer, ProjectedBoundary> eldest) {
+                    return size() > CACHED_ZOOM_LEVELS;
+                }
+            };
 
     /**
      * Creates a new instance of RegionBoundaryPainter.
@@ -51,41 +76,17 @@ public class RegionBoundaryPainter implements Painter<JXMapViewer> {
      * @return true if the point is inside the region, false otherwise.
      */
     public boolean isPointInside(final Point p, final JXMapViewer map) {
-        if (this.region == null) {
+        final ProjectedBoundary projected = this.projectedBoundary(map);
+        if (projected == null) {
             return false;
         }
-        final List<List<GeoPosition>> boundaries = this.region.getBoundary();
-        if (boundaries == null) {
-            return false;
-        }
-
-        final int zoom = map.getZoom();
-        final TileFactory tf = map.getTileFactory();
         final Rectangle viewportBounds = map.getViewportBounds();
 
         // The point 'p' is in viewport coordinates. We need to convert it to world coordinates
-        // to match the path created from geoToPixel coordinates.
+        // to match the paths created from geoToPixel coordinates.
         final Point2D pWorld = new Point2D.Double(p.x + viewportBounds.x, p.y + viewportBounds.y);
 
-        for (final List<GeoPosition> poly : boundaries) {
-            if (poly.size() < 2) {
-                continue;
-            }
-
-            // Create a path in world coordinates
-            final Path2D path = new Path2D.Double();
-            boolean first = true;
-            for (final GeoPosition gp : poly) {
-                final Point2D pt = tf.geoToPixel(gp, zoom);
-                if (first) {
-                    path.moveTo(pt.getX(), pt.getY());
-                    first = false;
-                } else {
-                    path.lineTo(pt.getX(), pt.getY());
-                }
-            }
-            path.closePath();
-
+        for (final Path2D path : projected.paths) {
             if (path.contains(pWorld)) {
                 return true;
             }
@@ -95,11 +96,13 @@ public class RegionBoundaryPainter implements Painter<JXMapViewer> {
 
     @Override
     public void paint(final Graphics2D g, final JXMapViewer map, final int w, final int h) {
-        if (this.region == null) {
-            return;
-        }
-        final List<List<GeoPosition>> boundaries = this.region.getBoundary();
-        if (boundaries == null) {
+        this.paintArea(g, map, map.getViewportBounds());
+    }
+
+    @Override
+    public void paintArea(final Graphics2D g, final JXMapViewer map, final Rectangle area) {
+        final ProjectedBoundary projected = this.projectedBoundary(map);
+        if (projected == null) {
             return;
         }
 
@@ -107,38 +110,129 @@ public class RegionBoundaryPainter implements Painter<JXMapViewer> {
         try {
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            final Rectangle viewportBounds = map.getViewportBounds();
-            g2.translate(-viewportBounds.x, -viewportBounds.y);
+            g2.translate(-area.x, -area.y);
 
             g2.setColor(MapViewConfig.BOUNDARY_COLOR);
-            g2.setStroke(new BasicStroke(
-                    MapViewConfig.BOUNDARY_STROKE_WIDTH, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND
-            ));
+            g2.setStroke(STROKE);
+
+            // the stroke reaches half its width beyond the path
+            final Rectangle2D visible = new Rectangle2D.Double(
+                    area.x - MapViewConfig.BOUNDARY_STROKE_WIDTH,
+                    area.y - MapViewConfig.BOUNDARY_STROKE_WIDTH,
+                    area.width + 2 * MapViewConfig.BOUNDARY_STROKE_WIDTH,
+                    area.height + 2 * MapViewConfig.BOUNDARY_STROKE_WIDTH);
+            for (int i = 0; i < projected.paths.size(); i++) {
+                if (projected.bounds.get(i).intersects(visible)) {
+                    g2.draw(projected.paths.get(i));
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
 
-            final int zoom = map.getZoom();
-            final TileFactory tf = map.getTileFactory();
+    /**
+     * Gets the region's boundary in world pixels at the map's zoom level, projecting and simplifying it only
+     * the first time that zoom level is seen. Panning only moves the viewport, so it reuses the same paths.
+     * @return the projected boundary, or null if there is nothing to draw
+     */
+    private ProjectedBoundary projectedBoundary(final JXMapViewer map) {
+        final Region current = this.region;
+        if (current == null || current.getBoundary() == null) {
+            return null;
+        }
+        final TileFactory tf = map.getTileFactory();
+        if (current != this.projectedRegion || tf != this.projectedFactory) {
+            this.projectedByZoom.clear();
+            this.projectedRegion = current;
+            this.projectedFactory = tf;
+        }
+        final int zoom = map.getZoom();
+        ProjectedBoundary projected = this.projectedByZoom.get(zoom);
+        if (projected == null) {
+            final BoundaryPyramid pyramid = current.getPyramid();
+            projected = project(pyramid.getBoundary(toleranceInDegrees(pyramid, tf, zoom)), tf, zoom);
+            this.projectedByZoom.put(zoom, projected);
+        }
+        return projected;
+    }
 
-            for (final List<GeoPosition> poly : boundaries) {
-                if (poly.size() < 2) {
+    /**
+     * Converts the simplification tolerance from pixels to degrees at a zoom level. A degree of latitude spans the
+     * most pixels at the region's highest latitude, so the conversion uses that latitude to stay within tolerance
+     * everywhere in the region.
+     * @return the tolerance in degrees, or 0 if the tile factory does not describe its tiles
+     */
+    private static double toleranceInDegrees(final BoundaryPyramid pyramid, final TileFactory tf, final int zoom) {
+        final TileFactoryInfo info = tf.getInfo();
+        if (info == null) {
+            return 0;
+        }
+        final double worldSize = (double) info.getMapWidthInTilesAtZoom(zoom) * info.getTileSize(zoom);
+        final double highestLatitude = Math.max(Math.abs(pyramid.getMinLat()), Math.abs(pyramid.getMaxLat()));
+        return MapViewConfig.BOUNDARY_SIMPLIFY_TOLERANCE * 360 / worldSize
+                * Math.cos(Math.toRadians(highestLatitude));
+    }
+
+    private static ProjectedBoundary project(final List<List<GeoPosition>> boundaries, final TileFactory tf,
+                                             final int zoom) {
+        final TileFactoryInfo info = tf.getInfo();
+        double worldSize = 0;
+        if (info != null) {
+            worldSize = (double) info.getMapWidthInTilesAtZoom(zoom) * info.getTileSize(zoom);
+        }
+        final List<Path2D> paths = new ArrayList<>(boundaries.size());
+        final List<Rectangle2D> bounds = new ArrayList<>(boundaries.size());
+        for (final List<GeoPosition> poly : boundaries) {
+            if (poly.size() < 2) {
+                continue;
+            }
+            // the vertices are read as primitives and projected in place, without a position per vertex
+            final double[] xs = new double[poly.size()];
+            final double[] ys = new double[poly.size()];
+            PackedBoundary.copyVertices(poly, ys, xs);
+            for (int i = 0; i < xs.length; i++) {
+                if (info == null) {
+                    final Point2D pt = tf.geoToPixel(new GeoPosition(ys[i], xs[i]), zoom);
+                    xs[i] = pt.getX();
+                    ys[i] = pt.getY();
                     continue;
                 }
+                xs[i] = FireLayer.normalizedX(xs[i]) * worldSize;
+                ys[i] = FireLayer.normalizedY(ys[i]) * worldSize;
+            }
+            final boolean[] keep = BoundaryPyramid.simplify(xs, ys, MapViewConfig.BOUNDARY_SIMPLIFY_TOLERANCE);
 
-                final Path2D path = new Path2D.Double();
-                boolean first = true;
-                for (final GeoPosition gp : poly) {
-                    final Point2D pt = tf.geoToPixel(gp, zoom);
-                    if (first) {
-                        path.moveTo(pt.getX(), pt.getY());
-                        first = false;
-                    } else {
-                        path.lineTo(pt.getX(), pt.getY());
-                    }
+            final Path2D path = new Path2D.Double();
+            boolean first = true;
+            for (int i = 0; i < xs.length; i++) {
+                if (!keep[i]) {
+                    continue;
+                }
+                if (first) {
+                    path.moveTo(xs[i], ys[i]);
+                    first = false;
+                } else {
+                    path.lineTo(xs[i], ys[i]);
                 }
-                path.closePath();
-                g2.draw(path);
             }
-        } finally {
-            g2.dispose();
+            path.closePath();
+            paths.add(path);
+            bounds.add(path.getBounds2D());
+        }
+        return new ProjectedBoundary(paths, bounds);
+    }
+
+    /**
+     * A region's boundary projected to world pixels at one zoom level, one closed path per polygon.
+     */
+    private static final class ProjectedBoundary {
+        private final List<Path2D> paths;
+        private final List<Rectangle2D> bounds;
+
+        ProjectedBoundary(List<Path2D> paths, List<Rectangle2D> bounds) {
+            this.paths = paths;
+            this.bounds = bounds;
         }
     }
 }
@@ -0,0 +1,97 @@
+package FireDataAccess;
+
+import entities.BoundaryPyramid;
+import entities.PreparedRegion;
+import entities.Region;
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.viewer.GeoPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundaryPyramidTest {
+
+    /**
+     * Tests if point tests through the pyramid give the same answers as the exact boundary, including near it.
+     */
+    @Test
+    void containsMatchesExactBoundary() {
+
+        List<List<GeoPosition>> boundary = List.of(coastline(55, -100, 8, 2000, 7), coastline(47, -64, 0.05, 40, 3));
+        Region region = new Region("Test", boundary);
+        PreparedRegion exact = new PreparedRegion(boundary);
+        BoundaryPyramid pyramid = region.getPyramid();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            double lat = 44 + random.nextDouble() * 22;
+            double lon = -110 + random.nextDouble() * 50;
+            assertEquals(exact.contains(lat, lon), pyramid.contains(lat, lon), lat + ", " + lon);
+        }
+        // points just either side of the vertices are the border-line cases
+        for (List<GeoPosition> polygon : boundary) {
+            for (GeoPosition vertex : polygon) {
+                for (double offset : new double[]{-1e-4, 0, 1e-4}) {
+                    double lat = vertex.getLatitude() + offset;
+                    double lon = vertex.getLongitude() - offset;
+                    assertEquals(exact.contains(lat, lon), pyramid.contains(lat, lon), lat + ", " + lon);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if a larger tolerance gives a coarser level made of the boundary's own vertices.
+     */
+    @Test
+    void coarserLevelsHaveFewerVertices() {
+
+        List<List<GeoPosition>> boundary = List.of(coastline(55, -100, 8, 2000, 7));
+        BoundaryPyramid pyramid = new Region("Test", boundary).getPyramid();
+
+        assertSame(boundary, pyramid.getBoundary(0));
+        List<GeoPosition> fine = pyramid.getBoundary(0.02).get(0);
+        List<GeoPosition> coarse = pyramid.getBoundary(1).get(0);
+        assertTrue(fine.size() < boundary.get(0).size());
+        assertTrue(coarse.size() < fine.size());
+        assertTrue(boundary.get(0).containsAll(coarse));
+        assertEquals(boundary.get(0).get(0), coarse.get(0));
+    }
+
+    /**
+     * Tests if points are near the boundary exactly when an edge is within the distance.
+     */
+    @Test
+    void nearBoundaryMeasuresDistanceToEdges() {
+
+        PreparedRegion prepared = new PreparedRegion(List.of(List.of(new GeoPosition(0, 0), new GeoPosition(0, 10),
+                new GeoPosition(10, 10), new GeoPosition(10, 0))));
+
+        assertTrue(prepared.isNearBoundary(5, 9.5, 0.6));
+        assertTrue(prepared.isNearBoundary(10.5, 5, 0.6));
+        assertFalse(prepared.isNearBoundary(5, 5, 0.6));
+        assertFalse(prepared.isNearBoundary(5, 11, 0.6));
+        assertFalse(new Region("Empty", null).getPyramid().contains(0, 0));
+    }
+
+    /**
+     * A closed ring around a center whose radius wobbles, like a coastline with many small bays.
+     */
+    private static List<GeoPosition> coastline(double lat, double lon, double radius, int points, long seed) {
+        Random random = new Random(seed);
+        List<GeoPosition> vertices = new ArrayList<>();
+        for (int i = 0; i < points; i++) {
+            double angle = 2 * Math.PI * i / points;
+            double r = radius * (1 + 0.05 * Math.sin(7 * angle) + 0.02 * (random.nextDouble() - 0.5));
+            vertices.add(new GeoPosition(lat + r * Math.sin(angle), lon + r * Math.cos(angle)));
+        }
+        vertices.add(vertices.get(0));
+        return vertices;
+    }
+}
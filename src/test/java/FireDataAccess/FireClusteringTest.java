@@ -0,0 +1,220 @@
+package FireDataAccess;
+
+import entities.Coordinate;
+import entities.Fire;
+import entities.FireBatch;
+import entities.FireClusterer;
+import entities.FireFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import usecase.common.FireService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FireClusteringTest {
+
+    private static final double THRESHOLD = 0.001;
+
+    /**
+     * Tests if points linked through a third point form one fire even when they are not neighbours in
+     * latitude order.
+     */
+    @Test
+    void chainedPointsFormOneFire() {
+
+        // sorted by latitude the order is A, B, C; B is far from both, but A and C are linked
+        List<Coordinate> testPoints = new ArrayList<>(List.of(
+                point(0, 0), point(0.0005, 0.5), point(0.0009, 0.0005)));
+
+        List<List<Coordinate>> bundles = FireFactory.bundleDataPoints(testPoints);
+
+        assertEquals(2, bundles.size());
+        assertEquals(2, bundles.get(0).size());
+        assertEquals(0.0, bundles.get(0).get(0).getLat());
+        assertEquals(0.0009, bundles.get(0).get(1).getLat());
+        assertEquals(1, bundles.get(1).size());
+    }
+
+    /**
+     * Tests if a chain of points forms one fire even though its ends are further apart than the threshold.
+     */
+    @Test
+    void transitiveChainFormsOneFire() {
+
+        double[] lats = {0, 0.0008, 0.0016, 0.0024, 5};
+        double[] lons = {0, 0.0008, 0.0016, 0.0024, 5};
+
+        int[][] clusters = new FireClusterer(THRESHOLD).cluster(lats, lons);
+
+        assertEquals(2, clusters.length);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, clusters[0]);
+        assertArrayEquals(new int[]{4}, clusters[1]);
+    }
+
+    /**
+     * Tests if points on either side of a grid cell border are still linked.
+     */
+    @Test
+    void linksAcrossCellBorders() {
+
+        double[] lats = {-0.0004, 0.0004, 52.9999, 53.0003};
+        double[] lons = {-120.0001, -119.9999, -0.0004, 0.0004};
+
+        int[][] clusters = new FireClusterer(THRESHOLD).cluster(lats, lons);
+
+        assertEquals(2, clusters.length);
+        assertArrayEquals(new int[]{0, 1}, clusters[0]);
+        assertArrayEquals(new int[]{2, 3}, clusters[1]);
+    }
+
+    /**
+     * Tests if the threshold decides which points are linked.
+     */
+    @Test
+    void thresholdIsConfigurable() {
+
+        List<Coordinate> testPoints = List.of(point(50, -120), point(50.004, -120.004), point(50.5, -120));
+
+        assertEquals(3, FireFactory.bundleDataPoints(testPoints, THRESHOLD).size());
+        assertEquals(2, FireFactory.bundleDataPoints(testPoints, 0.01).size());
+        assertEquals(1, FireFactory.bundleDataPoints(testPoints, 1).size());
+        assertEquals(3, new FireService().createFiresFromPoints(testPoints).size());
+        assertEquals(2, new FireService(0.01).createFiresFromPoints(testPoints).size());
+    }
+
+    /**
+     * Tests if bundling leaves the caller's list in its original order.
+     */
+    @Test
+    void doesNotReorderInput() {
+
+        List<Coordinate> testPoints = new ArrayList<>(List.of(
+                point(3, 3), point(1, 1), point(2, 2), point(1, 1.0005)));
+        List<Coordinate> original = new ArrayList<>(testPoints);
+
+        FireFactory.bundleDataPoints(testPoints);
+        new FireService().createFiresFromPoints(testPoints);
+
+        assertEquals(original, testPoints);
+    }
+
+    /**
+     * Tests if a FireBatch and the equivalent Coordinate list give the same fires.
+     */
+    @Test
+    void batchMatchesCoordinateList() {
+
+        List<Coordinate> testPoints = randomPoints(new Random(7), 2_000, 0.05);
+        FireBatch batch = new FireBatch.Builder().addAll(testPoints).build();
+
+        List<Fire> expected = FireFactory.makeFireList(FireFactory.bundleDataPoints(testPoints));
+        List<Fire> actual = FireFactory.makeFireList(batch);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getCenter().getLat(), actual.get(i).getCenter().getLat(), 1e-9);
+            assertEquals(expected.get(i).getCenter().getLon(), actual.get(i).getCenter().getLon(), 1e-9);
+            assertEquals(expected.get(i).getCoordinatesSize(), actual.get(i).getCoordinatesSize());
+        }
+    }
+
+    /**
+     * Tests if thresholds that cannot be indexed are rejected.
+     */
+    @Test
+    void rejectsInvalidThreshold() {
+
+        assertThrows(IllegalArgumentException.class, () -> new FireClusterer(0));
+        assertThrows(IllegalArgumentException.class, () -> new FireClusterer(-1));
+        assertThrows(IllegalArgumentException.class, () -> new FireClusterer(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new FireClusterer(1e-12));
+        assertThrows(IllegalArgumentException.class, () -> new FireService(0));
+    }
+
+    /**
+     * Compares the previous sort-and-chain bundling with the grid clustering on synthetic detections.
+     * Run with {@code mvn test -Pbenchmarks}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkClustering() {
+
+        for (int count : new int[]{100_000, 1_000_000, 5_000_000}) {
+            List<Coordinate> testPoints = randomPoints(new Random(count), count, 0.0006);
+
+            long start = System.nanoTime();
+            int legacyBundles = legacyBundleDataPoints(new ArrayList<>(testPoints)).size();
+            long legacyNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int bundles = FireFactory.bundleDataPoints(testPoints).size();
+            long gridNanos = System.nanoTime() - start;
+
+            double[] lats = new double[count];
+            double[] lons = new double[count];
+            for (int i = 0; i < count; i++) {
+                lats[i] = testPoints.get(i).getLat();
+                lons[i] = testPoints.get(i).getLon();
+            }
+            start = System.nanoTime();
+            int clusters = new FireClusterer(THRESHOLD).cluster(lats, lons).length;
+            long clusterNanos = System.nanoTime() - start;
+
+            System.out.printf("%,d points: sort-and-chain %d ms (%,d fires), grid bundling %d ms (%,d fires), "
+                    + "grid clustering only %d ms (%,d fires)%n", count, legacyNanos / 1_000_000, legacyBundles,
+                    gridNanos / 1_000_000, bundles, clusterNanos / 1_000_000, clusters);
+            assertEquals(bundles, clusters);
+        }
+    }
+
+    /**
+     * The sort-and-chain bundling used before the grid clustering, kept for the benchmark.
+     */
+    private static List<List<Coordinate>> legacyBundleDataPoints(List<Coordinate> dataPoints) {
+        final List<List<Coordinate>> ptBundles = new ArrayList<>();
+        dataPoints.sort(Comparator.comparingDouble(Coordinate::getLat).thenComparingDouble(Coordinate::getLon));
+        List<Coordinate> constitutingPts = new ArrayList<>();
+        Coordinate previous = null;
+        for (Coordinate coord : dataPoints) {
+            if (previous != null && (Math.abs(previous.getLat() - coord.getLat()) >= THRESHOLD
+                    || Math.abs(previous.getLon() - coord.getLon()) >= THRESHOLD)) {
+                ptBundles.add(constitutingPts);
+                constitutingPts = new ArrayList<>();
+            }
+            constitutingPts.add(coord);
+            previous = coord;
+        }
+        ptBundles.add(constitutingPts);
+        return ptBundles;
+    }
+
+    /**
+     * Creates fires of one to eight detections scattered over Canada, each detection within spread of its fire.
+     */
+    private static List<Coordinate> randomPoints(Random random, int count, double spread) {
+        final String date = LocalDate.of(2025, 8, 1).toString();
+        final List<Coordinate> points = new ArrayList<>(count);
+        while (points.size() < count) {
+            final double lat = 42 + random.nextDouble() * 41;
+            final double lon = -141 + random.nextDouble() * 88;
+            final int detections = 1 + random.nextInt(8);
+            for (int i = 0; i < detections && points.size() < count; i++) {
+                points.add(new Coordinate(lat + random.nextDouble() * spread, lon + random.nextDouble() * spread,
+                        new String[]{date, "D", "n"}, new double[]{330, 290}, random.nextDouble() * 20));
+            }
+        }
+        return points;
+    }
+
+    private static Coordinate point(double lat, double lon) {
+        return new Coordinate(lat, lon, new String[]{"2025-11-23", "N", "n"}, new double[]{300, 280}, 5);
+    }
+}
@@ -1,6 +1,8 @@
 package FireDataAccess;
 
 import entities.Coordinate;
+import entities.Fire;
+import entities.FireBatch;
 import entities.FireFactory;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class FireDataBundlingTest {
 
@@ -76,6 +79,54 @@ class FireDataBundlingTest {
     }
 
 
+    /**
+     * Tests if bundling a columnar FireBatch gives the same fires as bundling the equivalent Coordinate list,
+     * without reordering the batch.
+     */
+    @Test
+    void batchBundlesLikeCoordinateList() {
+
+        List<Coordinate> testPoints = new ArrayList<>();
+        loadFakeDataPoints(testPoints);
+        FireBatch batch = new FireBatch.Builder().addAll(testPoints).build();
+        double firstLat = batch.getLat(0);
+
+        List<Fire> expected = FireFactory.makeFireList(FireFactory.bundleDataPoints(testPoints));
+        List<Fire> actual = FireFactory.makeFireList(batch);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getCenter().getLat(), actual.get(i).getCenter().getLat(), 1e-9);
+            assertEquals(expected.get(i).getCenter().getLon(), actual.get(i).getCenter().getLon(), 1e-9);
+            assertEquals(expected.get(i).getCenter().getFrp(), actual.get(i).getCenter().getFrp(), 1e-5);
+            assertEquals(expected.get(i).getRadius(), actual.get(i).getRadius(), 1e-9);
+            assertEquals(expected.get(i).getCoordinatesSize(), actual.get(i).getCoordinatesSize());
+        }
+        assertEquals(firstLat, batch.getLat(0));
+    }
+
+    /**
+     * Tests if a FireBatch hands back the original values as Coordinates, sharing one date String per day.
+     */
+    @Test
+    void batchRoundTripsCoordinates() {
+
+        List<Coordinate> testPoints = new ArrayList<>();
+        loadRealDataPoints(testPoints);
+        FireBatch batch = new FireBatch.Builder().addAll(testPoints).build();
+
+        assertEquals(testPoints.size(), batch.size());
+        Coordinate first = batch.get(0);
+        assertEquals(59.13208, first.getLat());
+        assertEquals(37.7947, first.getLon());
+        assertEquals("2025-11-23", first.getDate());
+        assertEquals("N", first.getDayNight());
+        assertEquals("n", first.getConfidence());
+        assertEquals(338.18, first.getBrightness()[0], 1e-4);
+        assertEquals(4.69, first.getFrp(), 1e-5);
+        assertSame(first.getDate(), batch.get(5).getDate());
+    }
+
     /**
      * Loads a set of simple coordinates.
      * @param testFires the list to load the coordinates in
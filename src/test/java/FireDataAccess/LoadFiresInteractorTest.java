@@ -6,8 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.jxmapviewer.viewer.GeoPosition;
 import usecase.common.FireService;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -211,6 +217,113 @@ class LoadFiresInteractorTest {
         assertTrue(presenter.outputData.getFires().isEmpty());
     }
 
+    /**
+     * Tests that moving the window forward by a day only fetches the day that entered it, and that the day which
+     * left the window no longer contributes fires.
+     */
+    @Test
+    void testSlidingWindowFetchesOnlyNewDay() {
+        final DailyFireDataAccess dataAccess = new DailyFireDataAccess();
+        final TestPresenter presenter = new TestPresenter();
+        final LoadFiresInteractor interactor = new LoadFiresInteractor(dataAccess, new TestBoundariesAccess(),
+                presenter, fireService);
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-20", 3));
+        assertEquals(3, presenter.outputData.getFires().size());
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-21", 3));
+        assertEquals(List.of("3 2025-11-20", "1 2025-11-23"), dataAccess.requests);
+        assertEquals(3, presenter.outputData.getFires().size());
+        assertEquals(21.0, presenter.outputData.getFires().get(0).getCenter().getLat());
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-20", 3));
+        assertEquals(List.of("3 2025-11-20", "1 2025-11-23", "1 2025-11-20"), dataAccess.requests);
+        assertEquals(20.0, presenter.outputData.getFires().get(0).getCenter().getLat());
+    }
+
+    /**
+     * Tests that repeating a request for the same finished days does not fetch anything.
+     */
+    @Test
+    void testSameWindowIsNotFetchedAgain() {
+        final DailyFireDataAccess dataAccess = new DailyFireDataAccess();
+        final TestPresenter presenter = new TestPresenter();
+        final LoadFiresInteractor interactor = new LoadFiresInteractor(dataAccess, new TestBoundariesAccess(),
+                presenter, fireService);
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-20", 2));
+        interactor.execute(new LoadFiresInputData("Ontario", "2025-11-20", 2));
+
+        assertEquals(List.of("2 2025-11-20"), dataAccess.requests);
+        assertTrue(presenter.outputData.getFires().isEmpty());
+    }
+
+    /**
+     * Tests that a long window is fetched in chunks, and that the fires of the days loaded so far are presented
+     * as each chunk arrives while others are still outstanding.
+     */
+    @Test
+    void testLongWindowPresentsPartialResults() {
+        final DailyFireDataAccess dataAccess = new DailyFireDataAccess();
+        final TestPresenter presenter = new TestPresenter();
+        final LoadFiresInteractor interactor = new LoadFiresInteractor(dataAccess, new TestBoundariesAccess(),
+                presenter, fireService);
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-01", 7));
+
+        assertEquals(Set.of("3 2025-11-01", "3 2025-11-04", "1 2025-11-07"), new HashSet<>(dataAccess.requests));
+        assertEquals(2, presenter.partialOutputs.size());
+        final int firstPartial = presenter.partialOutputs.get(0).getFires().size();
+        final int secondPartial = presenter.partialOutputs.get(1).getFires().size();
+        assertTrue(firstPartial > 0 && firstPartial < secondPartial && secondPartial < 7);
+        assertEquals(7, presenter.outputData.getFires().size());
+        assertEquals(7, presenter.outputData.getFireTrendData().get("Nov"));
+    }
+
+    /**
+     * Tests that the chunks of a window are requested concurrently rather than one after another.
+     * Each request waits until both have started, which can only happen if they overlap.
+     */
+    @Test
+    void testChunksAreFetchedConcurrently() {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final DailyFireDataAccess dataAccess = new DailyFireDataAccess() {
+            @Override
+            public List<Coordinate> getFireData(int dateRange, String date) throws Exception {
+                bothStarted.countDown();
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                    throw new Exception("chunks were fetched one at a time");
+                }
+                return super.getFireData(dateRange, date);
+            }
+        };
+        final TestPresenter presenter = new TestPresenter();
+        final LoadFiresInteractor interactor = new LoadFiresInteractor(dataAccess, new TestBoundariesAccess(),
+                presenter, fireService);
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-01", 6));
+
+        assertNull(presenter.errorMessage);
+        assertEquals(6, presenter.outputData.getFires().size());
+    }
+
+    /**
+     * Tests that a sliding window, which only misses one chunk, is presented once, without a partial result.
+     */
+    @Test
+    void testSlidingWindowHasNoPartialResult() {
+        final DailyFireDataAccess dataAccess = new DailyFireDataAccess();
+        final TestPresenter presenter = new TestPresenter();
+        final LoadFiresInteractor interactor = new LoadFiresInteractor(dataAccess, new TestBoundariesAccess(),
+                presenter, fireService);
+
+        interactor.execute(new LoadFiresInputData("All", "2025-11-20", 3));
+        interactor.execute(new LoadFiresInputData("All", "2025-11-21", 3));
+
+        assertTrue(presenter.partialOutputs.isEmpty());
+        assertEquals(3, presenter.outputData.getFires().size());
+    }
+
     /**
      * Below are helpers that mock data access objects and presenters required for tests.
      */
@@ -233,7 +346,28 @@ class LoadFiresInteractorTest {
         }
     }
 
+    /**
+     * Serves one fire per day, at a latitude equal to the day of the month, and records every request.
+     */
+    private static class DailyFireDataAccess implements LoadFiresFireDataAccess {
+        final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public List<Coordinate> getFireData(int dateRange, String date) throws Exception {
+            requests.add(dateRange + " " + date);
+            final List<Coordinate> coords = new ArrayList<>();
+            final LocalDate start = LocalDate.parse(date);
+            for (int i = 0; i < dateRange; i++) {
+                final LocalDate day = start.plusDays(i);
+                coords.add(new Coordinate(day.getDayOfMonth(), 10,
+                        new String[]{day.toString(), "D", "h"}, new double[]{300.0, 280.0}, 5.0));
+            }
+            return coords;
+        }
+    }
+
     private static class TestPresenter implements LoadFiresOutputBoundary {
+        final List<LoadFiresOutputData> partialOutputs = new ArrayList<>();
         LoadFiresOutputData outputData;
         String errorMessage;
 
@@ -242,6 +376,11 @@ class LoadFiresInteractorTest {
             this.outputData = outputData;
         }
 
+        @Override
+        public void preparePartialView(LoadFiresOutputData outputData) {
+            partialOutputs.add(outputData);
+        }
+
         @Override
         public void prepareFailView(String errorMessage) {
             this.errorMessage = errorMessage;
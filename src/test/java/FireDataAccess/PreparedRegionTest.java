@@ -0,0 +1,127 @@
+package FireDataAccess;
+
+import entities.Coordinate;
+import entities.Fire;
+import entities.PreparedRegion;
+import entities.Region;
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.viewer.GeoPosition;
+import usecase.common.FireService;
+
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreparedRegionTest {
+
+    /**
+     * Tests if a concave polygon with many vertices gives the same answers as Path2D.contains.
+     */
+    @Test
+    void matchesPath2DOnStarPolygon() {
+
+        List<List<GeoPosition>> boundary = List.of(star(55, -100, 10, 3, 500), star(45, -70, 2, 1, 7));
+        PreparedRegion prepared = new PreparedRegion(boundary);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            double lat = 40 + random.nextDouble() * 30;
+            double lon = -115 + random.nextDouble() * 50;
+            assertEquals(path2DContains(boundary, lat, lon), prepared.contains(lat, lon), lat + ", " + lon);
+        }
+        // points exactly on vertices follow the same half-open conventions as Path2D
+        for (List<GeoPosition> polygon : boundary) {
+            for (GeoPosition vertex : polygon) {
+                assertEquals(path2DContains(boundary, vertex.getLatitude(), vertex.getLongitude()),
+                        prepared.contains(vertex.getLatitude(), vertex.getLongitude()));
+            }
+        }
+    }
+
+    /**
+     * Tests if every polygon of a region is checked and the bounding box covers all of them.
+     */
+    @Test
+    void checksEveryPolygon() {
+
+        PreparedRegion prepared = new PreparedRegion(List.of(square(0, 0, 1), square(10, 10, 1)));
+
+        assertTrue(prepared.contains(0.5, 0.5));
+        assertTrue(prepared.contains(10.5, 10.5));
+        assertFalse(prepared.contains(5, 5));
+        assertFalse(prepared.contains(Double.NaN, 0.5));
+        assertEquals(0, prepared.getMinLat());
+        assertEquals(11, prepared.getMaxLon());
+    }
+
+    /**
+     * Tests if an empty or degenerate boundary contains nothing.
+     */
+    @Test
+    void emptyBoundaryContainsNothing() {
+
+        assertFalse(new PreparedRegion(new ArrayList<>()).contains(0, 0));
+        assertFalse(new PreparedRegion(null).contains(0, 0));
+        assertFalse(new PreparedRegion(List.of(List.of(new GeoPosition(0, 0)))).contains(0, 0));
+    }
+
+    /**
+     * Tests if a Region prepares its boundary once and FireService filters with it.
+     */
+    @Test
+    void regionFilteringUsesPreparedBoundary() {
+
+        Region region = new Region("Test", List.of(square(0, 0, 10)));
+        Coordinate inside = new Coordinate(5, 5, new String[]{"2025-11-23", "N", "n"}, new double[]{300, 280}, 5);
+        Coordinate outside = new Coordinate(20, 5, new String[]{"2025-11-23", "N", "n"}, new double[]{300, 280}, 5);
+        List<Fire> fires = List.of(new Fire(0.01, inside, List.of(inside)), new Fire(0.01, outside, List.of(outside)));
+
+        List<Fire> filtered = new FireService().filterFiresByRegion(fires, region);
+
+        assertEquals(1, filtered.size());
+        assertSame(fires.get(0), filtered.get(0));
+        assertSame(region.getPreparedRegion(), region.getPreparedRegion());
+    }
+
+    private static boolean path2DContains(List<List<GeoPosition>> boundary, double lat, double lon) {
+        for (List<GeoPosition> polygon : boundary) {
+            Path2D path = new Path2D.Double();
+            boolean first = true;
+            for (GeoPosition gp : polygon) {
+                if (first) {
+                    path.moveTo(gp.getLongitude(), gp.getLatitude());
+                    first = false;
+                }
+                else {
+                    path.lineTo(gp.getLongitude(), gp.getLatitude());
+                }
+            }
+            path.closePath();
+            if (path.contains(lon, lat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<GeoPosition> star(double lat, double lon, double outer, double inner, int points) {
+        List<GeoPosition> vertices = new ArrayList<>();
+        for (int i = 0; i < points * 2; i++) {
+            double radius = i % 2 == 0 ? outer : inner;
+            double angle = Math.PI * i / points;
+            vertices.add(new GeoPosition(lat + radius * Math.sin(angle), lon + radius * Math.cos(angle)));
+        }
+        return vertices;
+    }
+
+    private static List<GeoPosition> square(double lat, double lon, double size) {
+        return List.of(new GeoPosition(lat, lon), new GeoPosition(lat, lon + size),
+                new GeoPosition(lat + size, lon + size), new GeoPosition(lat + size, lon));
+    }
+}
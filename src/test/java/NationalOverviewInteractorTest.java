@@ -16,6 +16,8 @@ import usecase.national_overview.NationalOverviewOutputData;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,7 +38,7 @@ class NationalOverviewInteractorTest {
 
     private final FireService fireService = new FireService();
 
-    private static final String WORLD_BOUNDS = "-180,-90,180,90";
+    private static final String CANADA_BOUNDS = "-141.1,41.6,-52.5,83.2";
 
     /**
      * Sets up the test environment before each test.
@@ -87,15 +89,15 @@ class NationalOverviewInteractorTest {
 
         // Mock API Responses using mutable lists
         // Month 1 (Oct): Returns both points.
-        when(fireAccess.getFireData(eq(range), eq("2025-10-01"), eq(WORLD_BOUNDS)))
+        when(fireAccess.getFireData(eq(range), eq("2025-10-01"), eq(CANADA_BOUNDS)))
                 .thenReturn(new ArrayList<>(List.of(pointA, pointB)));
 
         // Month 2 (Sep): Returns only point A.
-        when(fireAccess.getFireData(eq(range), eq("2025-09-01"), eq(WORLD_BOUNDS)))
+        when(fireAccess.getFireData(eq(range), eq("2025-09-01"), eq(CANADA_BOUNDS)))
                 .thenReturn(new ArrayList<>(List.of(pointA)));
 
         // Month 3 (Aug): Returns empty.
-        when(fireAccess.getFireData(eq(range), eq("2025-08-01"), eq(WORLD_BOUNDS)))
+        when(fireAccess.getFireData(eq(range), eq("2025-08-01"), eq(CANADA_BOUNDS)))
                 .thenReturn(new ArrayList<>());
 
         // Act
@@ -197,4 +199,88 @@ class NationalOverviewInteractorTest {
 
         verify(presenter).prepareFailView(contains("Error processing national overview"));
     }
+
+    /**
+     * Tests that the three monthly windows are requested concurrently.
+     * Scenario:
+     * 1. Each mocked request blocks until all three requests have started.
+     * Expected Outcome:
+     * - The latch is released, which is only possible if the requests overlap, and the success view is shown.
+     * * @throws Exception if any data access operations fail.
+     */
+    @Test
+    void execute_MonthlyWindows_ShouldBeFetchedConcurrently() throws Exception {
+        NationalOverviewInputData inputData = new NationalOverviewInputData("2025-10-01", 1);
+        when(boundaryAccess.getRegion("Canada")).thenReturn(new Region("Canada", new ArrayList<>()));
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(fireAccess.getFireData(anyInt(), anyString(), eq(CANADA_BOUNDS))).thenAnswer(invocation -> {
+            allStarted.countDown();
+            if (!allStarted.await(5, TimeUnit.SECONDS)) {
+                throw new RuntimeException("windows were fetched one at a time");
+            }
+            return new ArrayList<>();
+        });
+
+        interactor.execute(inputData);
+
+        verify(presenter).prepareSuccessView(any());
+    }
+
+    /**
+     * Tests that each month is presented as soon as it has been processed, before the later months finish.
+     * Scenario:
+     * 1. August returns at once; September waits for the first partial view and October for the second.
+     * Expected Outcome:
+     * - Two partial views grow month by month, and the success view contains all three months in order.
+     * * @throws Exception if any data access operations fail.
+     */
+    @Test
+    void execute_FinishedMonths_ShouldBePresentedBeforeTheRest() throws Exception {
+        NationalOverviewInputData inputData = new NationalOverviewInputData("2025-10-01", 1);
+        List<GeoPosition> polygon = List.of(new GeoPosition(0, 0), new GeoPosition(0, 10),
+                new GeoPosition(10, 10), new GeoPosition(10, 0));
+        when(boundaryAccess.getRegion("Canada")).thenReturn(new Region("Canada", List.of(polygon)));
+        Coordinate point = new Coordinate(5, 5, new String[]{"2025-08-01", "D", "h"}, new double[]{300, 300}, 10);
+        CountDownLatch firstPartial = new CountDownLatch(1);
+        CountDownLatch secondPartial = new CountDownLatch(2);
+        when(fireAccess.getFireData(eq(1), eq("2025-08-01"), eq(CANADA_BOUNDS)))
+                .thenReturn(new ArrayList<>(List.of(point)));
+        when(fireAccess.getFireData(eq(1), eq("2025-09-01"), eq(CANADA_BOUNDS))).thenAnswer(invocation -> {
+            firstPartial.await(5, TimeUnit.SECONDS);
+            return new ArrayList<>(List.of(point));
+        });
+        when(fireAccess.getFireData(eq(1), eq("2025-10-01"), eq(CANADA_BOUNDS))).thenAnswer(invocation -> {
+            secondPartial.await(5, TimeUnit.SECONDS);
+            return new ArrayList<>(List.of(point));
+        });
+        List<NationalOverviewOutputData> partials = new ArrayList<>();
+        List<NationalOverviewOutputData> results = new ArrayList<>();
+        NationalOverviewOutputBoundary recordingPresenter = new NationalOverviewOutputBoundary() {
+            @Override
+            public void prepareSuccessView(NationalOverviewOutputData outputData) {
+                results.add(outputData);
+            }
+
+            @Override
+            public void preparePartialView(NationalOverviewOutputData outputData) {
+                partials.add(outputData);
+                firstPartial.countDown();
+                secondPartial.countDown();
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail(errorMessage);
+            }
+        };
+
+        new NationalOverviewInteractor(fireAccess, boundaryAccess, recordingPresenter, fireService).execute(inputData);
+
+        assertEquals(2, partials.size());
+        assertEquals(List.of("Aug"), new ArrayList<>(partials.get(0).getFireTrendData().keySet()));
+        assertEquals(List.of("Aug", "Sep"), new ArrayList<>(partials.get(1).getFireTrendData().keySet()));
+        assertEquals(1, results.size());
+        assertEquals(List.of("Aug", "Sep", "Oct"), new ArrayList<>(results.get(0).getFireTrendData().keySet()));
+        assertEquals(3, results.get(0).getFires().size());
+    }
 }
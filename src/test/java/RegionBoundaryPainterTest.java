@@ -1,12 +1,16 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import entities.Region;
+import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import view.RegionBoundaryPainter;
 class RegionBoundaryPainterTest {
 
     private JXMapViewer mapViewer;
+    private TileFactory tileFactory;
     private RegionBoundaryPainter regionBoundaryPainter;
     private Region region;
 
@@ -25,7 +30,7 @@ class RegionBoundaryPainterTest {
     void setUp() {
         // Mock JXMapViewer and its dependencies
         mapViewer = mock(JXMapViewer.class);
-        TileFactory tileFactory = mock(TileFactory.class);
+        tileFactory = mock(TileFactory.class);
 
         // Set up the map viewer mock
         when(mapViewer.getViewportBounds()).thenReturn(new Rectangle(0, 0, 1000, 1000));
@@ -83,4 +88,17 @@ class RegionBoundaryPainterTest {
         assertFalse(regionBoundaryPainter.isPointInside(anyPoint, mapViewer),
                 "Should return false when no region is set.");
     }
+
+    @Test
+    void paint_WhenPanning_ShouldProjectBoundaryOnce() {
+        // Paint, pan, paint again and hit-test: the boundary is only projected for the first paint
+        Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        regionBoundaryPainter.paint(graphics, mapViewer, 1000, 1000);
+        when(mapViewer.getViewportBounds()).thenReturn(new Rectangle(50, 50, 1000, 1000));
+        regionBoundaryPainter.paint(graphics, mapViewer, 1000, 1000);
+
+        assertTrue(regionBoundaryPainter.isPointInside(new Point(100, 400), mapViewer),
+                "The point should be inside the region after panning.");
+        verify(tileFactory, times(1)).geoToPixel(new GeoPosition(50, 10), 10);
+    }
 }
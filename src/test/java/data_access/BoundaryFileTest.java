@@ -0,0 +1,100 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import entities.PackedBoundary;
+import entities.Region;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jxmapviewer.viewer.GeoPosition;
+
+class BoundaryFileTest {
+
+    private static final long STAMP = 42;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that compiled regions are read back with their names, polygons and vertices, in the same order.
+     */
+    @Test
+    void compiledRegionsAreReadBack() throws IOException {
+        final Path file = tempDir.resolve("boundaries.bin");
+        final Region square = new Region("Québec", List.of(List.of(new GeoPosition(45.5, -73.5),
+                new GeoPosition(46.5, -73.5), new GeoPosition(46.5, -72.5), new GeoPosition(45.5, -72.5))));
+        final Region islands = new Region("Islands", List.of(
+                List.of(new GeoPosition(10, 20), new GeoPosition(10, 21), new GeoPosition(11, 20)),
+                List.of(new GeoPosition(30, 40), new GeoPosition(30, 41), new GeoPosition(31, 40))));
+        final Region empty = new Region("Empty", null);
+
+        BoundaryFile.write(file, STAMP, List.of(square, islands, empty));
+        final Map<String, Region> regions = BoundaryFile.read(file, STAMP);
+
+        assertNotNull(regions);
+        assertEquals(List.of("Québec", "Islands", "Empty"), List.copyOf(regions.keySet()));
+        final List<List<GeoPosition>> quebec = regions.get("Québec").getBoundary();
+        assertEquals(1, quebec.size());
+        assertEquals(4, quebec.get(0).size());
+        assertEquals(46.5, quebec.get(0).get(2).getLatitude(), 1e-5);
+        assertEquals(-72.5, quebec.get(0).get(2).getLongitude(), 1e-5);
+        assertEquals(2, regions.get("Islands").getBoundary().size());
+        assertEquals(31.0, regions.get("Islands").getBoundary().get(1).get(2).getLatitude(), 1e-5);
+        assertTrue(regions.get("Empty").getBoundary().isEmpty());
+        assertTrue(regions.get("Québec").getPreparedRegion().contains(46.0, -73.0));
+    }
+
+    /**
+     * Tests that the vertices of a mapped polygon are copied as primitives with the values its positions read.
+     */
+    @Test
+    void mappedVerticesAreCopiedAsPrimitives() throws IOException {
+        final Path file = tempDir.resolve("boundaries.bin");
+        final List<GeoPosition> triangle = List.of(new GeoPosition(10.25, 20.5), new GeoPosition(10.75, 21),
+                new GeoPosition(11, 20.125));
+        BoundaryFile.write(file, STAMP, List.of(new Region("Triangle", List.of(triangle))));
+        final List<GeoPosition> mapped = BoundaryFile.read(file, STAMP).get("Triangle").getBoundary().get(0);
+
+        final double[] lats = new double[mapped.size()];
+        final double[] lons = new double[mapped.size()];
+        PackedBoundary.copyVertices(mapped, lats, lons);
+        final double[] listLats = new double[triangle.size()];
+        final double[] listLons = new double[triangle.size()];
+        PackedBoundary.copyVertices(triangle, listLats, listLons);
+
+        for (int i = 0; i < mapped.size(); i++) {
+            assertEquals(mapped.get(i).getLatitude(), lats[i]);
+            assertEquals(mapped.get(i).getLongitude(), lons[i]);
+            assertEquals(listLats[i], lats[i]);
+            assertEquals(listLons[i], lons[i]);
+        }
+    }
+
+    /**
+     * Tests that a file compiled from another source, a truncated file and a missing file are all ignored.
+     */
+    @Test
+    void staleOrDamagedFilesAreIgnored() throws IOException {
+        final Path file = tempDir.resolve("boundaries.bin");
+        BoundaryFile.write(file, STAMP, List.of(new Region("Triangle",
+                List.of(List.of(new GeoPosition(0, 0), new GeoPosition(0, 1), new GeoPosition(1, 0))))));
+
+        assertNull(BoundaryFile.read(file, STAMP + 1));
+
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertNull(BoundaryFile.read(file, STAMP));
+
+        assertNull(BoundaryFile.read(tempDir.resolve("missing.bin"), STAMP));
+    }
+}
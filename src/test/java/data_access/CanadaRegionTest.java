@@ -0,0 +1,53 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import entities.Region;
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.viewer.GeoPosition;
+
+class CanadaRegionTest {
+
+    /**
+     * Tests that the derived Canada region contains the points of every province and nothing else.
+     */
+    @Test
+    void canadaIsUnionOfProvinces() {
+        final Map<String, Region> regions = new HashMap<>();
+        regions.put("Ontario", square("Ontario", 45, -85));
+        regions.put("Quebec", square("Quebec", 47, -72));
+        regions.put("Elsewhere", square("Elsewhere", 10, 10));
+
+        final Region canada = BoundariesDataAccess.unionOfProvinces(regions);
+
+        assertEquals("Canada", canada.getProvinceName());
+        assertEquals(2, canada.getBoundary().size());
+        assertTrue(canada.getPreparedRegion().contains(45.5, -84.5));
+        assertTrue(canada.getPreparedRegion().contains(47.5, -71.5));
+        assertFalse(canada.getPreparedRegion().contains(10.5, 10.5));
+        assertFalse(canada.getPreparedRegion().contains(46.5, -78));
+    }
+
+    /**
+     * Tests that no Canada region is derived when no province has been loaded.
+     */
+    @Test
+    void noCanadaWithoutProvinces() {
+        final Map<String, Region> regions = new HashMap<>();
+        regions.put("Yukon", new Region("Yukon", null));
+
+        assertNull(BoundariesDataAccess.unionOfProvinces(regions));
+    }
+
+    private static Region square(final String name, final double lat, final double lon) {
+        return new Region(name, List.of(List.of(new GeoPosition(lat, lon), new GeoPosition(lat + 1, lon),
+                new GeoPosition(lat + 1, lon + 1), new GeoPosition(lat, lon + 1))));
+    }
+}
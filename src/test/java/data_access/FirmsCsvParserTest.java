@@ -0,0 +1,232 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import entities.FireBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+class FirmsCsvParserTest {
+
+    private static final String HEADER = "latitude,longitude,bright_ti4,scan,track,acq_date,acq_time,satellite,"
+            + "instrument,confidence,version,bright_ti5,frp,daynight";
+    private static final String ROW_FORMAT =
+            "%.5f,%.5f,%.2f,0.39,0.36,2025-08-%02d,%04d,N,VIIRS,%c,2.0NRT,%.2f,%.2f,%c\n";
+    private static final long SYNTHETIC_FILE_BYTES = 300L * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that only nominal and high confidence rows reach the sink, with every used column parsed.
+     */
+    @Test
+    void parsesNominalAndHighConfidenceRows() throws IOException {
+        final String csv = HEADER + "\n"
+                + "59.13208,37.7947,338.18,0.39,0.44,2025-11-23,0012,N,VIIRS,n,2.0NRT,270.05,4.69,N\n"
+                + "59.52758,34.14426,304.53,0.39,0.44,2025-11-23,0012,N,VIIRS,l,2.0NRT,267.37,1.73,N\n"
+                + "-33.5,-70.25,330,0.5,0.5,2025-11-24,1530,N,VIIRS,h,2.0NRT,290.1,12,D\n";
+
+        final List<double[]> rows = new ArrayList<>();
+        final List<String> flags = new ArrayList<>();
+        final int accepted = new FirmsCsvParser().parse(stream(csv),
+                (lat, lon, bright4, bright5, frp, date, dayNight, confidence) -> {
+                    rows.add(new double[]{lat, lon, bright4, bright5, frp});
+                    flags.add(date + dayNight + confidence);
+                });
+
+        assertEquals(2, accepted);
+        assertEquals(2, rows.size());
+        assertEquals(59.13208, rows.get(0)[0]);
+        assertEquals(37.7947, rows.get(0)[1]);
+        assertEquals(338.18, rows.get(0)[2]);
+        assertEquals(270.05, rows.get(0)[3]);
+        assertEquals(4.69, rows.get(0)[4]);
+        assertEquals("2025-11-23Nn", flags.get(0));
+        assertEquals(-33.5, rows.get(1)[0]);
+        assertEquals(-70.25, rows.get(1)[1]);
+        assertEquals(12.0, rows.get(1)[4]);
+        assertEquals("2025-11-24Dh", flags.get(1));
+    }
+
+    /**
+     * Tests that the parser can fill a columnar batch directly, with epoch days and packed flags.
+     */
+    @Test
+    void parsesStraightIntoBatch() throws IOException {
+        final String csv = HEADER + "\n"
+                + "59.13208,37.7947,338.18,0.39,0.44,2025-11-23,0012,N,VIIRS,n,2.0NRT,270.05,4.69,N\n"
+                + "59.52758,34.14426,304.53,0.39,0.44,2025-11-23,0012,N,VIIRS,l,2.0NRT,267.37,1.73,N\n"
+                + "-33.5,-70.25,330,0.5,0.5,2025-11-24,1530,N,VIIRS,h,2.0NRT,290.1,12,D\n";
+
+        final FireBatch batch = new FirmsCsvParser().parseBatch(stream(csv));
+
+        assertEquals(2, batch.size());
+        assertEquals(LocalDate.of(2025, 11, 23).toEpochDay(), batch.getEpochDay(0));
+        assertEquals(LocalDate.of(2025, 11, 24).toEpochDay(), batch.getEpochDay(1));
+        assertEquals(FireBatch.packFlags('N', 'n'), batch.getFlags(0));
+        assertEquals(FireBatch.packFlags('D', 'h'), batch.getFlags(1));
+        assertEquals(-70.25, batch.getLon(1));
+        assertEquals("2025-11-24", batch.get(1).getDate());
+    }
+
+    /**
+     * Tests that lines split across buffer refills, CRLF endings and a missing final newline are all handled.
+     */
+    @Test
+    void handlesSmallBuffersAndLineEndings() throws IOException {
+        final StringBuilder csv = new StringBuilder(HEADER).append("\r\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("43.7,-79.4,300.0,0.4,0.4,2025-11-20,0100,N,VIIRS,n,2.0NRT,280.0,").append(i).append(",D\r\n");
+        }
+        csv.append("43.8,-79.5,300.0,0.4,0.4,2025-11-20,0100,N,VIIRS,h,2.0NRT,280.0,99.5,D");
+
+        final double[] frpSum = new double[1];
+        final int accepted = new FirmsCsvParser(16).parse(stream(csv.toString()),
+                (lat, lon, bright4, bright5, frp, date, dayNight, confidence) -> frpSum[0] += frp);
+
+        assertEquals(51, accepted);
+        assertEquals(49 * 50 / 2 + 99.5, frpSum[0], 1e-9);
+    }
+
+    /**
+     * Tests that rows of the same day share one date String instead of allocating one per row.
+     */
+    @Test
+    void reusesDateStringWithinADay() throws IOException {
+        final String csv = HEADER + "\n"
+                + "1,1,300,0,0,2025-11-20,0000,N,VIIRS,n,2.0NRT,280,1,D\n"
+                + "2,2,300,0,0,2025-11-20,0000,N,VIIRS,n,2.0NRT,280,1,D\n";
+        final List<String> dates = new ArrayList<>();
+        new FirmsCsvParser().parse(stream(csv),
+                (lat, lon, bright4, bright5, frp, date, dayNight, confidence) -> dates.add(date));
+
+        assertSame(dates.get(0), dates.get(1));
+    }
+
+    /**
+     * Tests that the in-place number parser agrees with Double.parseDouble, including the slow-path formats.
+     */
+    @Test
+    void parsesNumbersLikeDoubleParseDouble() {
+        final String[] values = {"0", "-0.5", "338.18", "-179.99999", "1.5E2", "+7", "123456789.123456789012",
+            "101155.73330982213"};
+        for (String value : values) {
+            final byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(value), FirmsCsvParser.parseDouble(bytes, 0, bytes.length), value);
+        }
+    }
+
+    /**
+     * Tests that an error message in place of the CSV header is reported instead of silently returning nothing.
+     */
+    @Test
+    void rejectsUnexpectedHeader() {
+        assertThrows(IOException.class, () -> new FirmsCsvParser().parse(stream("Invalid MAP_KEY.\n"),
+                (lat, lon, bright4, bright5, frp, date, dayNight, confidence) -> { }));
+    }
+
+    /**
+     * Throughput check against a multi-hundred-MB synthetic world pull, compared with the previous
+     * split-based reader. Run with {@code mvn test -Pbenchmarks}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void throughputOnSyntheticFile() throws IOException {
+        final Path file = tempDir.resolve("firms_synthetic.csv");
+        final long rows = writeSyntheticFile(file, SYNTHETIC_FILE_BYTES);
+        final double megabytes = Files.size(file) / (1024.0 * 1024.0);
+
+        final double[] checksum = new double[1];
+        long startNanos = System.nanoTime();
+        final int accepted;
+        try (InputStream in = Files.newInputStream(file)) {
+            accepted = new FirmsCsvParser().parse(in,
+                    (lat, lon, bright4, bright5, frp, date, dayNight, confidence) -> checksum[0] += lat + frp);
+        }
+        final double streamingSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        startNanos = System.nanoTime();
+        final int legacyAccepted = legacySplitParse(file);
+        final double legacySeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        System.out.printf("FIRMS parse of %.0f MB (%d rows): streaming %.2f s (%.0f MB/s), split-based %.2f s "
+                + "(%.0f MB/s)%n", megabytes, rows, streamingSeconds, megabytes / streamingSeconds,
+                legacySeconds, megabytes / legacySeconds);
+        assertEquals(legacyAccepted, accepted);
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Writes a VIIRS-style CSV of roughly the given size with a realistic mix of confidence values.
+     */
+    private static long writeSyntheticFile(Path file, long targetBytes) throws IOException {
+        final Random random = new Random(42);
+        final char[] confidences = {'l', 'n', 'n', 'h'};
+        long written = 0;
+        long rows = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            final byte[] header = (HEADER + "\n").getBytes(StandardCharsets.US_ASCII);
+            out.write(header);
+            written += header.length;
+            final StringBuilder line = new StringBuilder(128);
+            while (written < targetBytes) {
+                line.setLength(0);
+                line.append(String.format(Locale.ROOT, ROW_FORMAT,
+                        random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180,
+                        290 + random.nextDouble() * 80, 1 + (int) (rows / 200_000) % 28, (int) (rows % 2400),
+                        confidences[random.nextInt(confidences.length)], 260 + random.nextDouble() * 40,
+                        random.nextDouble() * 50, random.nextBoolean() ? 'D' : 'N'));
+                final byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+                out.write(bytes);
+                written += bytes.length;
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The reader FireDataAccess used before the streaming parser, kept here as the comparison baseline.
+     */
+    private static int legacySplitParse(Path file) throws IOException {
+        int accepted = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file)))) {
+            String line;
+            reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                final String[] values = line.split(",");
+                if (values[9].equals("n") || values[9].equals("h")) {
+                    final double[] row = {Float.parseFloat(values[0]), Float.parseFloat(values[1]),
+                        Float.parseFloat(values[2]), Float.parseFloat(values[11]), Float.parseFloat(values[12])};
+                    if (row.length > 0) {
+                        accepted++;
+                    }
+                }
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,158 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import entities.Coordinate;
+import entities.FireBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FirmsDayCacheTest {
+
+    private static final String SERVER = "https://firms.modaps.eosdis.nasa.gov/usfs/api/area/csv/";
+    private static final String SOURCE = "VIIRS_SNPP_NRT";
+    private static final String BOX = "-141,41.7,-52.6,83.1";
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 20);
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that a day downloaded after it ended is replayed with every field intact, long after the TTL.
+     */
+    @Test
+    void completedDayIsKeptForever() {
+        final MutableClock clock = new MutableClock(DAY.plusDays(2));
+        final FirmsDayCache cache = new FirmsDayCache(tempDir, TTL, clock);
+        cache.write(SERVER, SOURCE, BOX, DAY, batchOf(
+                new Coordinate(43.7, -79.4, new String[]{"2025-11-20", "D", "h"}, new double[]{330.5, 290.25}, 12.5),
+                new Coordinate(50.1, -100.2, new String[]{"2025-11-20", "N", "n"}, new double[]{300, 280}, 1.5)));
+
+        clock.advance(Duration.ofDays(365));
+        final FireBatch cached = cache.read(SERVER, SOURCE, BOX, DAY);
+
+        assertNotNull(cached);
+        assertEquals(2, cached.size());
+        final Coordinate first = cached.get(0);
+        assertEquals(43.7, first.getLat());
+        assertEquals(-79.4, first.getLon());
+        assertEquals(330.5, first.getBrightness()[0]);
+        assertEquals(290.25, first.getBrightness()[1]);
+        assertEquals(12.5, first.getFrp());
+        assertEquals("2025-11-20", first.getDate());
+        assertEquals("D", first.getDayNight());
+        assertEquals("h", first.getConfidence());
+        assertEquals("N", cached.get(1).getDayNight());
+        assertEquals("n", cached.get(1).getConfidence());
+    }
+
+    /**
+     * Tests that a cached day reads back exactly the values of the batch that was downloaded.
+     */
+    @Test
+    void cachedDayMatchesDownloadedBatch() {
+        final FirmsDayCache cache = new FirmsDayCache(tempDir, TTL, new MutableClock(DAY.plusDays(1)));
+        final FireBatch downloaded = new FireBatch.Builder()
+                .add(43.123456789, -79.987654321, 330.55, 290.17, 12.34, (int) DAY.toEpochDay(),
+                        FireBatch.packFlags('D', 'n'))
+                .build();
+        cache.write(SERVER, SOURCE, BOX, DAY, downloaded);
+
+        final FireBatch cached = cache.read(SERVER, SOURCE, BOX, DAY);
+
+        assertNotNull(cached);
+        assertEquals(downloaded.getLat(0), cached.getLat(0));
+        assertEquals(downloaded.getLon(0), cached.getLon(0));
+        assertEquals(downloaded.getBright4(0), cached.getBright4(0));
+        assertEquals(downloaded.getBright5(0), cached.getBright5(0));
+        assertEquals(downloaded.getFrp(0), cached.getFrp(0));
+    }
+
+    /**
+     * Tests that a day downloaded while still in progress expires after the TTL, even once the day is over.
+     */
+    @Test
+    void inProgressDayExpiresAfterTtl() {
+        final MutableClock clock = new MutableClock(DAY);
+        clock.advance(Duration.ofHours(23).plusMinutes(50));
+        final FirmsDayCache cache = new FirmsDayCache(tempDir, TTL, clock);
+        cache.write(SERVER, SOURCE, BOX, DAY, FireBatch.empty());
+
+        clock.advance(TTL.minusMinutes(1));
+        assertNotNull(cache.read(SERVER, SOURCE, BOX, DAY));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(cache.read(SERVER, SOURCE, BOX, DAY));
+    }
+
+    /**
+     * Tests that entries are separated by bounding box and day, and that a damaged file reads as a miss.
+     */
+    @Test
+    void missingAndDamagedEntriesAreMisses() throws IOException {
+        final FirmsDayCache cache = new FirmsDayCache(tempDir, TTL, new MutableClock(DAY.plusDays(1)));
+        cache.write(SERVER, SOURCE, BOX, DAY, batchOf(
+                new Coordinate(43.7, -79.4, new String[]{"2025-11-20", "D", "h"}, new double[]{330, 290}, 12)));
+
+        assertNull(cache.read(SERVER, SOURCE, "world", DAY));
+        assertNull(cache.read(SERVER, SOURCE, BOX, DAY.minusDays(1)));
+
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                final byte[] bytes = Files.readAllBytes(file);
+                Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+            }
+        }
+        assertNull(cache.read(SERVER, SOURCE, BOX, DAY));
+    }
+
+    private static FireBatch batchOf(Coordinate... points) {
+        return new FireBatch.Builder().addAll(List.of(points)).build();
+    }
+
+    /**
+     * A clock the tests can move forward.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(LocalDate startOfDay) {
+            this.now = startOfDay.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
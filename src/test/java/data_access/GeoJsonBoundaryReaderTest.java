@@ -0,0 +1,78 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.viewer.GeoPosition;
+
+class GeoJsonBoundaryReaderTest {
+
+    /**
+     * Tests that the outer ring of a Nominatim result is read and its other properties are skipped.
+     */
+    @Test
+    void readsOuterRingAndSkipsProperties() throws IOException {
+        final String json = "[{\"place_id\": 123, \"licence\": \"Data \\\"ODbL\\\" [x]\", \"importance\": 8.1e-1,"
+                + " \"extratags\": {\"a\": [1, {\"b\": null}], \"c\": true},"
+                + " \"name\": \"Qu\\u00e9bec\","
+                + " \"geojson\": {\"coordinates\": [[[-73.5, 45.5], [-72.5, 45.5], [-72.5, 46.5], [-73.5, 45.5]],"
+                + " [[-73.1, 45.9], [-72.9, 45.9], [-73.0, 46.1]]], \"type\": \"Polygon\"}},"
+                + " {\"name\": \"ignored\", \"geojson\": {\"type\": \"Polygon\", \"coordinates\": [[[0, 0]]]}}]";
+
+        final List<GeoJsonBoundaryReader.Place> places = GeoJsonBoundaryReader.read(stream(json), 1);
+
+        assertEquals(1, places.size());
+        assertEquals("Québec", places.get(0).getName());
+        final List<List<GeoPosition>> boundary = places.get(0).getBoundary().asLists();
+        assertEquals(1, boundary.size());
+        assertEquals(4, boundary.get(0).size());
+        assertEquals(46.5, boundary.get(0).get(2).getLatitude(), 1e-5);
+        assertEquals(-72.5, boundary.get(0).get(2).getLongitude(), 1e-5);
+    }
+
+    /**
+     * Tests that every polygon of a MultiPolygon is read, and that other geometries have no boundary.
+     */
+    @Test
+    void readsMultiPolygonsAndDropsOtherGeometries() throws IOException {
+        final String json = "[{\"name\": \"Islands\", \"geojson\": {\"type\": \"MultiPolygon\", \"coordinates\": ["
+                + "[[[10, 20], [10, 21], [11, 20]], [[10.1, 20.1], [10.2, 20.1], [10.1, 20.2]]],"
+                + "[[[30, 40, 5], [30, 41, 5], [3.1E1, 40, 5]]]]}},"
+                + "{\"name\": \"Point\", \"geojson\": {\"type\": \"Point\", \"coordinates\": [1.5, -2.5]}},"
+                + "{\"name\": \"Line\", \"geojson\": {\"type\": \"LineString\", \"coordinates\": [[1, 2], [3, 4]]}}]";
+
+        final List<GeoJsonBoundaryReader.Place> places = GeoJsonBoundaryReader.read(stream(json), Integer.MAX_VALUE);
+
+        assertEquals(3, places.size());
+        final List<List<GeoPosition>> islands = places.get(0).getBoundary().asLists();
+        assertEquals(2, islands.size());
+        assertEquals(3, islands.get(0).size());
+        assertEquals(3, islands.get(1).size());
+        assertEquals(31.0, islands.get(1).get(2).getLongitude(), 1e-5);
+        assertEquals(40.0, islands.get(1).get(2).getLatitude(), 1e-5);
+        assertTrue(places.get(1).getBoundary().asLists().isEmpty());
+        assertTrue(places.get(2).getBoundary().asLists().isEmpty());
+    }
+
+    /**
+     * Tests that an empty result has no places and that malformed input is reported.
+     */
+    @Test
+    void emptyAndMalformedInput() throws IOException {
+        assertTrue(GeoJsonBoundaryReader.read(stream(" [ ] "), 1).isEmpty());
+        assertThrows(IOException.class, () -> GeoJsonBoundaryReader.read(stream("{\"name\": \"x\"}"), 1));
+        assertThrows(IOException.class, () -> GeoJsonBoundaryReader.read(stream("[{\"name\": \"x\""), 1));
+    }
+
+    private static InputStream stream(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,367 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local stand-in for the FIRMS area API and the Nominatim search API, for offline tests and benchmarks.
+ * It serves recorded or synthetic CSV and GeoJSON with a configurable {@link Profile}: a fixed latency before the
+ * response starts, a bandwidth limit while the body is sent, and a rate of failed (HTTP 500) responses.
+ * Point {@link FireDataAccess} at {@link #firmsBaseUrl()} and {@link BoundariesDataAccess} at
+ * {@link #nominatimBaseUrl()}, either through their constructors or their base URL system properties.
+ */
+public final class StandInServer implements AutoCloseable {
+
+    private static final String FIRMS_PATH = "/api/area/csv/";
+    private static final String NOMINATIM_PATH = "/search";
+    private static final String FIRMS_HEADER = "latitude,longitude,bright_ti4,scan,track,acq_date,acq_time,satellite,"
+            + "instrument,confidence,version,bright_ti5,frp,daynight\n";
+    private static final String SL = "/";
+    private static final int CHUNK_BYTES = 8 * 1024;
+    // path segments after FIRMS_PATH: key, source, area, day range, date
+    private static final int FIRMS_SEGMENTS = 5;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final FirmsDataset firms;
+    private final NominatimDataset nominatim;
+    private final Random random = new Random(0);
+    private final AtomicInteger firmsRequests = new AtomicInteger();
+    private final AtomicInteger nominatimRequests = new AtomicInteger();
+    private volatile Profile profile;
+
+    private StandInServer(FirmsDataset firms, NominatimDataset nominatim, Profile profile) throws IOException {
+        this.firms = firms;
+        this.nominatim = nominatim;
+        this.profile = profile;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "stand-in-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(FIRMS_PATH, this::serveFirms);
+        server.createContext(NOMINATIM_PATH, this::serveNominatim);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a server on a free loopback port.
+     * @param firms the CSV served for FIRMS requests
+     * @param nominatim the JSON served for Nominatim requests
+     * @param profile the network conditions to simulate
+     * @return the running server
+     * @throws IOException if the server cannot be bound
+     */
+    public static StandInServer start(FirmsDataset firms, NominatimDataset nominatim, Profile profile)
+            throws IOException {
+        final StandInServer standIn = new StandInServer(firms, nominatim, profile);
+        standIn.server.start();
+        return standIn;
+    }
+
+    public String firmsBaseUrl() {
+        return baseUrl() + FIRMS_PATH;
+    }
+
+    public String nominatimBaseUrl() {
+        return baseUrl();
+    }
+
+    public int getFirmsRequests() {
+        return firmsRequests.get();
+    }
+
+    public int getNominatimRequests() {
+        return nominatimRequests.get();
+    }
+
+    /**
+     * Changes the simulated network conditions for the following requests.
+     * @param newProfile the new conditions
+     */
+    public void setProfile(Profile newProfile) {
+        this.profile = newProfile;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void serveFirms(HttpExchange exchange) throws IOException {
+        firmsRequests.incrementAndGet();
+        final String[] segments = exchange.getRequestURI().getPath().substring(FIRMS_PATH.length()).split(SL);
+        if (segments.length != FIRMS_SEGMENTS) {
+            respond(exchange, 400, "Invalid request".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        final byte[] body;
+        try {
+            body = firms.csv(segments[2], LocalDate.parse(segments[4]), Integer.parseInt(segments[3]));
+        }
+        catch (RuntimeException ex) {
+            respond(exchange, 400, ex.toString().getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        respond(exchange, 200, body);
+    }
+
+    private void serveNominatim(HttpExchange exchange) throws IOException {
+        nominatimRequests.incrementAndGet();
+        String query = "";
+        final String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                if (parameter.startsWith("q=")) {
+                    query = URLDecoder.decode(parameter.substring(2), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        respond(exchange, 200, nominatim.json(query));
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        final Profile current = profile;
+        try {
+            sleep(current.latency.toNanos());
+            final boolean fail;
+            synchronized (random) {
+                fail = random.nextDouble() < current.errorRate;
+            }
+            if (fail) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            final OutputStream out = exchange.getResponseBody();
+            for (int offset = 0; offset < body.length; offset += CHUNK_BYTES) {
+                final int length = Math.min(CHUNK_BYTES, body.length - offset);
+                out.write(body, offset, length);
+                if (current.bytesPerSecond > 0) {
+                    out.flush();
+                    sleep(length * 1_000_000_000L / current.bytesPerSecond);
+                }
+            }
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Simulated network conditions. Profiles are immutable; the {@code with} methods return a copy.
+     */
+    public static final class Profile {
+        private final Duration latency;
+        private final long bytesPerSecond;
+        private final double errorRate;
+
+        private Profile(Duration latency, long bytesPerSecond, double errorRate) {
+            this.latency = latency;
+            this.bytesPerSecond = bytesPerSecond;
+            this.errorRate = errorRate;
+        }
+
+        /**
+         * Returns a profile with no latency, no bandwidth limit and no errors.
+         * @return the profile
+         */
+        public static Profile instant() {
+            return new Profile(Duration.ZERO, 0, 0);
+        }
+
+        /**
+         * Returns a copy that waits before every response.
+         * @param delay the time between the request and the response headers
+         * @return the new profile
+         */
+        public Profile withLatency(Duration delay) {
+            return new Profile(delay, bytesPerSecond, errorRate);
+        }
+
+        /**
+         * Returns a copy that limits how fast response bodies are sent.
+         * @param limit the bandwidth in bytes per second, or 0 for no limit
+         * @return the new profile
+         */
+        public Profile withBandwidth(long limit) {
+            return new Profile(latency, limit, errorRate);
+        }
+
+        /**
+         * Returns a copy that answers a share of the requests with HTTP 500.
+         * @param rate the probability that a request fails, from 0 to 1
+         * @return the new profile
+         */
+        public Profile withErrorRate(double rate) {
+            return new Profile(latency, bytesPerSecond, rate);
+        }
+    }
+
+    /**
+     * Produces the CSV body of a FIRMS area request.
+     */
+    public interface FirmsDataset {
+
+        /**
+         * Returns the detections of the requested days.
+         * @param area the requested area, "world" or "west,south,east,north"
+         * @param firstDay the first requested day
+         * @param days the number of requested days
+         * @return the CSV response, header included
+         */
+        byte[] csv(String area, LocalDate firstDay, int days);
+
+        /**
+         * Generates random detections inside the requested area, with a fixed number per day.
+         * The same day and area always give the same detections, so the payload size scales with the day count.
+         * Responses are generated once and then reused, so generation does not count towards measured latency.
+         * @param detectionsPerDay the number of rows per day, which sets the payload size
+         * @param seed the random seed
+         * @return the dataset
+         */
+        static FirmsDataset synthetic(int detectionsPerDay, long seed) {
+            final Map<String, byte[]> generated = new ConcurrentHashMap<>();
+            return (area, firstDay, days) -> generated.computeIfAbsent(area + SL + firstDay + SL + days, key -> {
+                double[] box = {-180, -90, 180, 90};
+                if (!"world".equals(area)) {
+                    final String[] edges = area.split(",");
+                    for (int i = 0; i < box.length; i++) {
+                        box[i] = Double.parseDouble(edges[i]);
+                    }
+                }
+                final StringBuilder csv = new StringBuilder(FIRMS_HEADER);
+                for (int d = 0; d < days; d++) {
+                    final LocalDate day = firstDay.plusDays(d);
+                    final Random rows = new Random(seed ^ day.toEpochDay() * 31 ^ area.hashCode());
+                    for (int i = 0; i < detectionsPerDay; i++) {
+                        final char confidence = "lnh".charAt(rows.nextInt(3));
+                        final char dayNight = "DN".charAt(rows.nextInt(2));
+                        csv.append(String.format(Locale.ROOT, "%.5f,%.5f,%.2f,0.39,0.36,%s,%04d,N,VIIRS,%c,2.0NRT,"
+                                        + "%.2f,%.2f,%c%n",
+                                box[1] + rows.nextDouble() * (box[3] - box[1]),
+                                box[0] + rows.nextDouble() * (box[2] - box[0]),
+                                300 + rows.nextDouble() * 60, day, rows.nextInt(2400), confidence,
+                                270 + rows.nextDouble() * 30, rows.nextDouble() * 50, dayNight));
+                    }
+                }
+                return csv.toString().getBytes(StandardCharsets.UTF_8);
+            });
+        }
+
+        /**
+         * Replays a recorded FIRMS CSV file, returning the rows whose acquisition date was requested.
+         * The requested area is ignored.
+         * @param recording a CSV file with the FIRMS header
+         * @return the dataset
+         * @throws IOException if the file cannot be read
+         */
+        static FirmsDataset recorded(Path recording) throws IOException {
+            final List<String> lines = Files.readAllLines(recording, StandardCharsets.UTF_8);
+            final int dateColumn = List.of(lines.get(0).split(",")).indexOf("acq_date");
+            return (area, firstDay, days) -> {
+                final StringBuilder csv = new StringBuilder(lines.get(0)).append('\n');
+                for (String line : lines.subList(1, lines.size())) {
+                    final LocalDate day = LocalDate.parse(line.split(",")[dateColumn]);
+                    if (!day.isBefore(firstDay) && day.isBefore(firstDay.plusDays(days))) {
+                        csv.append(line).append('\n');
+                    }
+                }
+                return csv.toString().getBytes(StandardCharsets.UTF_8);
+            };
+        }
+    }
+
+    /**
+     * Produces the JSON body of a Nominatim search.
+     */
+    public interface NominatimDataset {
+
+        /**
+         * Returns the search result.
+         * @param query the decoded {@code q} parameter, for example "nova scotia canada"
+         * @return the JSON response
+         */
+        byte[] json(String query);
+
+        /**
+         * Answers every search with one square-ish polygon of the given number of vertices.
+         * Each query gets its own location, derived from the query text.
+         * @param vertices the vertex count, which sets the payload size
+         * @return the dataset
+         */
+        static NominatimDataset synthetic(int vertices) {
+            return query -> {
+                final Random random = new Random(query.hashCode());
+                final double lat = 45 + random.nextDouble() * 20;
+                final double lon = -130 + random.nextDouble() * 60;
+                final StringBuilder json = new StringBuilder("[{\"name\":\"").append(query)
+                        .append("\",\"geojson\":{\"type\":\"Polygon\",\"coordinates\":[[");
+                for (int i = 0; i <= vertices; i++) {
+                    final double angle = 2 * Math.PI * i / vertices;
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    json.append(String.format(Locale.ROOT, "[%.6f,%.6f]",
+                            lon + 3 * Math.cos(angle), lat + 2 * Math.sin(angle)));
+                }
+                return json.append("]]}}]").toString().getBytes(StandardCharsets.UTF_8);
+            };
+        }
+
+        /**
+         * Replays recorded searches: the query "nova scotia canada" is answered with
+         * {@code nova_scotia_canada.json} from the directory, and unknown queries with an empty result.
+         * @param directory the directory holding the recorded responses
+         * @return the dataset
+         */
+        static NominatimDataset recorded(Path directory) {
+            return query -> {
+                final Path recording = directory.resolve(query.replace(' ', '_') + ".json");
+                try {
+                    return Files.readAllBytes(recording);
+                }
+                catch (IOException ex) {
+                    return "[]".getBytes(StandardCharsets.UTF_8);
+                }
+            };
+        }
+    }
+}
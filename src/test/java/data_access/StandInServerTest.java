@@ -0,0 +1,295 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import entities.FireFactory;
+import entities.Province;
+import entities.Region;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.jxmapviewer.viewer.GeoPosition;
+import usecase.common.FireService;
+import usecase.compare.CompareInputData;
+import usecase.compare.CompareInteractor;
+import usecase.load_fires.LoadFiresInputData;
+import usecase.load_fires.LoadFiresInteractor;
+import usecase.load_fires.LoadFiresOutputBoundary;
+import usecase.load_fires.LoadFiresOutputData;
+import usecase.national_overview.NationalOverviewInputData;
+import usecase.national_overview.NationalOverviewInteractor;
+import usecase.national_overview.NationalOverviewOutputBoundary;
+import usecase.national_overview.NationalOverviewOutputData;
+
+class StandInServerTest {
+
+    private static final String CANADA = "-141.1,41.6,-52.5,83.2";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that FireDataAccess reads detections from a configured server and caches the finished days.
+     */
+    @Test
+    void fireDataComesFromConfiguredServer() throws Exception {
+        final StandInServer.FirmsDataset dataset = StandInServer.FirmsDataset.synthetic(300, 1);
+        try (StandInServer server = StandInServer.start(dataset, StandInServer.NominatimDataset.synthetic(8),
+                StandInServer.Profile.instant())) {
+            final FireDataAccess access = fireAccess(server, tempDir);
+            final byte[] expected = dataset.csv(CANADA, LocalDate.of(2025, 8, 1), 2);
+
+            final int fetched = access.getFireData(2, "2025-08-01", CANADA).size();
+            access.getFireData(2, "2025-08-01", CANADA);
+
+            assertEquals(new FirmsCsvParser().parseBatch(new ByteArrayInputStream(expected)).size(), fetched);
+            assertTrue(fetched > 0);
+            assertEquals(1, server.getFirmsRequests());
+        }
+    }
+
+    /**
+     * Tests that two servers sharing one cache directory never answer each other's requests.
+     */
+    @Test
+    void cachedDaysAreKeptPerServer() throws Exception {
+        final StandInServer.FirmsDataset first = StandInServer.FirmsDataset.synthetic(300, 1);
+        final StandInServer.FirmsDataset second = StandInServer.FirmsDataset.synthetic(50, 2);
+        try (StandInServer firstServer = StandInServer.start(first, StandInServer.NominatimDataset.synthetic(8),
+                StandInServer.Profile.instant());
+             StandInServer secondServer = StandInServer.start(second, StandInServer.NominatimDataset.synthetic(8),
+                     StandInServer.Profile.instant())) {
+            final int firstCount = fireAccess(firstServer, tempDir).getFireData(2, "2025-08-01", CANADA).size();
+            final int secondCount = fireAccess(secondServer, tempDir).getFireData(2, "2025-08-01", CANADA).size();
+            final int expected = new FirmsCsvParser().parseBatch(
+                    new ByteArrayInputStream(second.csv(CANADA, LocalDate.of(2025, 8, 1), 2))).size();
+
+            assertEquals(expected, secondCount);
+            assertTrue(secondCount != firstCount);
+            assertEquals(1, firstServer.getFirmsRequests());
+            assertEquals(1, secondServer.getFirmsRequests());
+        }
+    }
+
+    /**
+     * Tests that a response without a FIRMS header, such as an empty body, is not cached as empty finished days.
+     */
+    @Test
+    void responseWithoutHeaderIsNotCached() throws Exception {
+        final StandInServer.FirmsDataset synthetic = StandInServer.FirmsDataset.synthetic(300, 1);
+        final AtomicReference<Boolean> broken = new AtomicReference<>(true);
+        final StandInServer.FirmsDataset dataset = (area, firstDay, days) -> {
+            if (broken.get()) {
+                return new byte[0];
+            }
+            return synthetic.csv(area, firstDay, days);
+        };
+        try (StandInServer server = StandInServer.start(dataset, StandInServer.NominatimDataset.synthetic(8),
+                StandInServer.Profile.instant())) {
+            final FireDataAccess access = fireAccess(server, tempDir);
+
+            assertEquals(0, access.getFireData(2, "2025-08-01", CANADA).size());
+            broken.set(false);
+            final int fetched = access.getFireData(2, "2025-08-01", CANADA).size();
+
+            assertTrue(fetched > 0);
+            assertEquals(2, server.getFirmsRequests());
+        }
+    }
+
+    /**
+     * Tests that the latency and error rate of the profile are applied.
+     */
+    @Test
+    void profileAddsLatencyAndErrors() throws Exception {
+        try (StandInServer server = StandInServer.start(StandInServer.FirmsDataset.synthetic(10, 1),
+                StandInServer.NominatimDataset.synthetic(8), StandInServer.Profile.instant().withErrorRate(1))) {
+            final FireDataAccess access = fireAccess(server, tempDir);
+            assertThrows(GetFireData.InvalidDataException.class, () -> access.getFireData(1, "2025-08-01", CANADA));
+
+            server.setProfile(StandInServer.Profile.instant().withLatency(Duration.ofMillis(200)));
+            final long start = System.nanoTime();
+            access.getFireData(1, "2025-08-02", CANADA);
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(200).toNanos());
+        }
+    }
+
+    /**
+     * Tests that response bodies are sent no faster than the bandwidth limit.
+     */
+    @Test
+    void profileLimitsBandwidth() throws Exception {
+        final StandInServer.FirmsDataset dataset = StandInServer.FirmsDataset.synthetic(1_000, 1);
+        final int bytes = dataset.csv(CANADA, LocalDate.of(2025, 8, 1), 1).length;
+        try (StandInServer server = StandInServer.start(dataset, StandInServer.NominatimDataset.synthetic(8),
+                StandInServer.Profile.instant().withBandwidth(bytes * 4L))) {
+            final long start = System.nanoTime();
+            fireAccess(server, tempDir).getFireData(1, "2025-08-01", CANADA);
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(200).toNanos());
+        }
+    }
+
+    /**
+     * Tests that a recorded FIRMS file is replayed day by day.
+     */
+    @Test
+    void replaysRecordedCsv() throws Exception {
+        final Path recording = tempDir.resolve("recording.csv");
+        Files.writeString(recording, "latitude,longitude,bright_ti4,scan,track,acq_date,acq_time,satellite,"
+                + "instrument,confidence,version,bright_ti5,frp,daynight\n"
+                + "59.13208,-117.7947,338.18,0.39,0.44,2025-11-23,0012,N,VIIRS,n,2.0NRT,270.05,4.69,N\n"
+                + "50.5,-100.25,330,0.5,0.5,2025-11-24,1530,N,VIIRS,h,2.0NRT,290.1,12,D\n");
+        try (StandInServer server = StandInServer.start(StandInServer.FirmsDataset.recorded(recording),
+                StandInServer.NominatimDataset.synthetic(8), StandInServer.Profile.instant())) {
+            final FireDataAccess access = fireAccess(server, tempDir);
+
+            assertEquals(1, access.getFireData(1, "2025-11-24", CANADA).size());
+            assertEquals(2, access.getFireData(2, "2025-11-23", CANADA).size());
+        }
+    }
+
+    /**
+     * Tests that BoundariesDataAccess queries a configured server.
+     */
+    @Test
+    void boundariesComeFromConfiguredServer() throws Exception {
+        try (StandInServer server = StandInServer.start(StandInServer.FirmsDataset.synthetic(1, 1),
+                StandInServer.NominatimDataset.synthetic(64), StandInServer.Profile.instant())) {
+            final BoundariesDataAccess access = new BoundariesDataAccess(server.nominatimBaseUrl());
+
+            final List<List<GeoPosition>> boundary = access.getBoundariesData("nova+scotia");
+
+            assertEquals(1, boundary.size());
+            assertEquals(65, boundary.get(0).size());
+            assertEquals(1, server.getNominatimRequests());
+        }
+    }
+
+    /**
+     * Tests that without a boundaries file every province is fetched, reported as it arrives, and loaded from the
+     * local boundary cache on the next start.
+     */
+    @Test
+    void missingBoundariesFileFallsBackToCachedFetch() throws Exception {
+        try (StandInServer server = StandInServer.start(StandInServer.FirmsDataset.synthetic(1, 1),
+                StandInServer.NominatimDataset.synthetic(16), StandInServer.Profile.instant())) {
+            final List<String> reported = Collections.synchronizedList(new ArrayList<>());
+            new BoundariesDataAccess(server.nominatimBaseUrl(), "missing.json", tempDir, Duration.ZERO)
+                    .loadProvinces(region -> reported.add(region.getProvinceName()));
+
+            assertEquals(Province.values().length, server.getNominatimRequests());
+            assertEquals(Province.values().length + 1, reported.size());
+            assertEquals("Canada", reported.get(reported.size() - 1));
+
+            final BoundariesDataAccess restarted =
+                    new BoundariesDataAccess(server.nominatimBaseUrl(), "missing.json", tempDir, Duration.ZERO);
+            restarted.loadProvinces();
+
+            assertEquals(Province.values().length, server.getNominatimRequests());
+            assertEquals(17, restarted.getRegion(Province.ONTARIO.getDisplayName()).getBoundary().get(0).size());
+            assertEquals(Province.values().length, restarted.getRegion("Canada").getBoundary().size());
+        }
+    }
+
+    /**
+     * Measures the end-to-end time of Load, National Overview and Compare against the stand-in server under
+     * several network profiles, starting from an empty cache each time.
+     * Run with {@code mvn test -Pbenchmarks}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkUseCasesOverProfiles() throws Exception {
+        final Region canada = new Region("Canada", List.of(List.of(new GeoPosition(41.6, -141.1),
+                new GeoPosition(41.6, -52.5), new GeoPosition(83.2, -52.5), new GeoPosition(83.2, -141.1))));
+        final StandInServer.Profile[] profiles = {
+            StandInServer.Profile.instant(),
+            StandInServer.Profile.instant().withLatency(Duration.ofMillis(300)),
+            StandInServer.Profile.instant().withLatency(Duration.ofMillis(300)).withBandwidth(2_000_000),
+        };
+        final String[] names = {"instant", "300 ms", "300 ms + 2 MB/s"};
+
+        try (StandInServer server = StandInServer.start(StandInServer.FirmsDataset.synthetic(20_000, 7),
+                StandInServer.NominatimDataset.synthetic(8), StandInServer.Profile.instant())) {
+            // the first run generates the synthetic responses and warms up the JIT
+            runUseCases(server, canada);
+            for (int p = 0; p < profiles.length; p++) {
+                server.setProfile(profiles[p]);
+                final long[] millis = runUseCases(server, canada);
+                System.out.printf("%s: load %d ms, national overview %d ms, compare %d ms%n",
+                        names[p], millis[0], millis[1], millis[2]);
+            }
+        }
+    }
+
+    /**
+     * Runs Load, National Overview and Compare once each with empty caches.
+     * @return the time each use case took, in milliseconds
+     */
+    private long[] runUseCases(StandInServer server, Region canada) throws IOException {
+        final FireService fireService = new FireService();
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final long[] millis = new long[3];
+
+        final LoadFiresInteractor load = new LoadFiresInteractor(
+                fireAccess(server, Files.createTempDirectory(tempDir, "load")), name -> canada,
+                new LoadFiresOutputBoundary() {
+                    @Override
+                    public void prepareSuccessView(LoadFiresOutputData outputData) {
+                        // only the timing matters
+                    }
+
+                    @Override
+                    public void prepareFailView(String errorMessage) {
+                        failure.set(errorMessage);
+                    }
+                }, fireService);
+        long start = System.nanoTime();
+        load.execute(new LoadFiresInputData("All", "2025-08-01", 5));
+        millis[0] = (System.nanoTime() - start) / 1_000_000;
+
+        final NationalOverviewInteractor national = new NationalOverviewInteractor(
+                fireAccess(server, Files.createTempDirectory(tempDir, "national")), name -> canada,
+                new NationalOverviewOutputBoundary() {
+                    @Override
+                    public void prepareSuccessView(NationalOverviewOutputData outputData) {
+                        // only the timing matters
+                    }
+
+                    @Override
+                    public void prepareFailView(String errorMessage) {
+                        failure.set(errorMessage);
+                    }
+                }, fireService);
+        start = System.nanoTime();
+        national.execute(new NationalOverviewInputData("2025-09-01", 3));
+        millis[1] = (System.nanoTime() - start) / 1_000_000;
+
+        final CompareInteractor compare = new CompareInteractor(
+                fireAccess(server, Files.createTempDirectory(tempDir, "compare")), name -> canada, fireService);
+        start = System.nanoTime();
+        compare.execute(new CompareInputData(List.of("All", "Canada"), "2025-08-10", 8));
+        millis[2] = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(null, failure.get());
+        return millis;
+    }
+
+    private static FireDataAccess fireAccess(StandInServer server, Path cacheDir) throws IOException {
+        return new FireDataAccess(new FireFactory(Collections.emptyList()),
+                new FirmsDayCache(Files.createDirectories(cacheDir.resolve("cache")), Duration.ofMinutes(30)),
+                server.firmsBaseUrl());
+    }
+}
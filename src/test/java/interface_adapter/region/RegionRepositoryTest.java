@@ -0,0 +1,43 @@
+package interface_adapter.region;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import entities.Region;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+class RegionRepositoryTest {
+
+    /**
+     * Tests that a province whose published chunk is delivered after loading finished is already in the repository
+     * when the load callbacks run, and that every province is reported once.
+     */
+    @Test
+    void lateLastPublishIsLoadedBeforeCallbacks() throws Exception {
+        final Region ontario = new Region("Ontario", null);
+        final Region yukon = new Region("Yukon", null);
+        final List<String> reported = new ArrayList<>();
+        final AtomicReference<Region> yukonWhenLoaded = new AtomicReference<>();
+
+        SwingUtilities.invokeAndWait(() -> {
+            final RegionRepository repository = new RegionRepository();
+            repository.addOnRegionCallback(region -> reported.add(region.getProvinceName()));
+            repository.addOnLoadCallback(() -> yukonWhenLoaded.set(repository.getRegion("Yukon")));
+
+            repository.addRegions(List.of(ontario));
+            repository.finishLoading(List.of(ontario, yukon));
+            // the last published chunk, delivered by Swing after done
+            repository.addRegions(List.of(yukon));
+
+            assertTrue(repository.isLoaded());
+        });
+
+        assertSame(yukon, yukonWhenLoaded.get());
+        assertEquals(List.of("Ontario", "Yukon"), reported);
+    }
+}
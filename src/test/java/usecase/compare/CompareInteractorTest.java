@@ -1,6 +1,7 @@
 package usecase.compare;
 
 import entities.Coordinate;
+import entities.FireBatch;
 import entities.MultiRegionFireStats;
 import entities.Region;
 import kotlin.Pair;
@@ -9,9 +10,15 @@ import org.junit.jupiter.api.Test;
 import org.jxmapviewer.viewer.GeoPosition;
 import usecase.common.FireService;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -397,5 +404,142 @@ class CompareInteractorTest {
         Map<String, List<Pair<String, Integer>>> data = stats.getData();
         assertTrue(data.isEmpty());
     }
-}
 
+    /**
+     * Tests the province labelling with columnar data, "All" and a repeated province in one request.
+     * Expected Outcome:
+     * - Each province counts only its own points, per day
+     * - Each boundary is looked up once and every fire appears once in the aggregated list
+     */
+    @Test
+    void execute_ProvincesAndAll_ShouldLabelEachFireOnce() throws Exception {
+        // Arrange
+        CompareInputData inputData = new CompareInputData(List.of("Ontario", "All", "Quebec", "Ontario"),
+                "2025-11-20", 1);
+        Region ontarioRegion = new Region("Ontario", List.of(List.of(
+                new GeoPosition(43, -80), new GeoPosition(43, -79),
+                new GeoPosition(44, -79), new GeoPosition(44, -80))));
+        Region quebecRegion = new Region("Quebec", List.of(List.of(
+                new GeoPosition(46, -72), new GeoPosition(46, -71),
+                new GeoPosition(47, -71), new GeoPosition(47, -72))));
+        when(boundaryAccess.getRegion("Ontario")).thenReturn(ontarioRegion);
+        when(boundaryAccess.getRegion("Quebec")).thenReturn(quebecRegion);
+
+        int nov19 = (int) LocalDate.of(2025, 11, 19).toEpochDay();
+        byte flags = FireBatch.packFlags('D', 'h');
+        FireBatch batch = new FireBatch.Builder()
+                .add(43.5, -79.5, 300, 280, 5, nov19, flags)
+                .add(43.6, -79.6, 300, 280, 5, nov19 + 1, flags)
+                .add(46.5, -71.5, 300, 280, 5, nov19 + 1, flags)
+                .add(10, 10, 300, 280, 5, nov19 + 2, flags)
+                .build();
+        when(fireAccess.getFireData(eq(3), eq("2025-11-19"))).thenReturn(batch);
+
+        // Act
+        CompareOutputData result = interactor.execute(inputData);
+
+        // Assert
+        Map<String, List<Pair<String, Integer>>> data = result.getStats().getData();
+        assertEquals(List.of(1, 1, 0), data.get("Ontario").stream().map(Pair::getSecond).toList());
+        assertEquals(List.of(0, 1, 0), data.get("Quebec").stream().map(Pair::getSecond).toList());
+        assertEquals(List.of(1, 2, 1), data.get("All").stream().map(Pair::getSecond).toList());
+        assertEquals(4, result.getFires().size());
+        verify(boundaryAccess, times(1)).getRegion("Ontario");
+    }
+
+    /**
+     * Tests that a failing chunk is reported in the output while the other chunk's data is still used.
+     * Expected Outcome:
+     * - The failed 2025-11-25 to 2025-11-29 chunk is listed in getFailedChunks()
+     * - Fires from the successful chunk are still counted
+     */
+    @Test
+    void execute_ChunkFails_ShouldReportFailureAndKeepOtherChunks() throws Exception {
+        // Arrange
+        CompareInputData inputData = new CompareInputData(List.of("All"), "2025-11-20", 5);
+        Coordinate fire1 = new Coordinate(43.7, -79.4,
+                new String[]{"2025-11-16", "D", "h"}, new double[]{300.0, 280.0}, 5.0);
+
+        when(fireAccess.getFireData(eq(10), eq("2025-11-15"))).thenReturn(new ArrayList<>(List.of(fire1)));
+        when(fireAccess.getFireData(eq(5), eq("2025-11-25"))).thenThrow(new Exception("API Error"));
+
+        // Act
+        CompareOutputData result = interactor.execute(inputData);
+
+        // Assert
+        assertTrue(result.isPartial());
+        assertEquals(List.of("2025-11-25 to 2025-11-29: API Error"), result.getFailedChunks());
+        assertTrue(result.getStats().getData().get("All").stream()
+                .anyMatch(p -> p.getFirst().equals("2025-11-16") && p.getSecond() == 1));
+    }
+
+    /**
+     * Tests that chunks are requested concurrently rather than one after another.
+     * Each mocked request waits until both requests have started, which can only happen if they overlap.
+     */
+    @Test
+    void execute_MultipleChunks_ShouldFetchConcurrently() throws Exception {
+        // Arrange
+        CompareInputData inputData = new CompareInputData(List.of("All"), "2025-11-20", 5);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(fireAccess.getFireData(anyInt(), anyString())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new Exception("chunks were fetched one at a time");
+            }
+            return new ArrayList<>();
+        });
+
+        // Act
+        CompareOutputData result = interactor.execute(inputData);
+
+        // Assert
+        assertFalse(result.isPartial(), String.valueOf(result.getFailedChunks()));
+    }
+
+    /**
+     * Tests that a chunk exceeding the timeout is abandoned and reported instead of blocking the comparison.
+     */
+    @Test
+    void execute_ChunkTimesOut_ShouldReportTimeout() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        interactor = new CompareInteractor(fireAccess, boundaryAccess, fireService, executor, Duration.ofMillis(200));
+        CompareInputData inputData = new CompareInputData(List.of("All"), "2025-11-20", 1);
+        when(fireAccess.getFireData(anyInt(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return new ArrayList<>();
+        });
+
+        // Act
+        long start = System.nanoTime();
+        CompareOutputData result = interactor.execute(inputData);
+        executor.shutdownNow();
+
+        // Assert
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(List.of("2025-11-19 to 2025-11-21: timed out"), result.getFailedChunks());
+    }
+
+    /**
+     * Tests that a chunk queued behind a slow one gets its full timeout, counted from when its own request starts.
+     */
+    @Test
+    void execute_QueuedChunk_ShouldGetItsOwnTimeout() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        interactor = new CompareInteractor(fireAccess, boundaryAccess, fireService, executor, Duration.ofMillis(600));
+        CompareInputData inputData = new CompareInputData(List.of("All"), "2025-11-20", 5);
+        when(fireAccess.getFireData(anyInt(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            return new ArrayList<>();
+        });
+
+        // Act
+        CompareOutputData result = interactor.execute(inputData);
+        executor.shutdownNow();
+
+        // Assert
+        assertFalse(result.isPartial(), String.valueOf(result.getFailedChunks()));
+    }
+}
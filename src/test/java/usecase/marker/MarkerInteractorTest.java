@@ -214,4 +214,32 @@ class MarkerInteractorTest {
         assertNull(presenter.outputData);
         assertEquals("No fires are found", presenter.errorMessage);
     }
-}
\ No newline at end of file
+
+    /**
+     * Coverage: execute with a reader that publishes a FireLookup.
+     * Tests that the lookup resolves the hovered fire without scanning the displayed list.
+     */
+    @Test
+    void testExecute_PublishedLookup_DoesNotScan() {
+        List<Fire> fires = new ArrayList<>();
+        fires.add(new MockFire(35.0, -119.0, 1, 1.1));
+        // centers on either side of a rounding boundary of the lookup's grid
+        fires.add(new MockFire(34.00000005 + 4e-11, -118.50000005 + 4e-11, 7, 3.5));
+        FireLookup lookup = new FireLookup(fires);
+        fireDisplayStateReader = new TestFireDisplayStateReader(fires) {
+            @Override
+            public Fire findDisplayedFire(double lat, double lon) {
+                return lookup.find(lat, lon);
+            }
+        };
+        fireDisplayStateReader.setShouldThrowException(true);
+        interactor = new MarkerInteractor(presenter, fireDisplayStateReader);
+
+        interactor.execute(new MockMarkerInputData(34.00000005 - 4e-11, -118.50000005 - 4e-11));
+
+        assertNull(presenter.errorMessage);
+        assertEquals(7, presenter.outputData.getSize());
+        assertEquals(3.5, presenter.outputData.getFrp(), 0.001);
+        assertNull(lookup.find(34.0000001, -118.50000005));
+    }
+}
@@ -1,11 +1,10 @@
 package usecase.select_region;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import entities.Region;
 import interface_adapter.region.RegionRepository;
-import java.awt.geom.Point2D;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,15 +21,8 @@ class SelectRegionInteractorTest {
     void setUp() {
         regionRepository = mock(RegionRepository.class);
         selectRegionPresenter = mock(SelectRegionOutputBoundary.class);
-        CoordinateConverter coordinateConverter = mock(CoordinateConverter.class);
 
-        interactor = new SelectRegionInteractor(regionRepository, selectRegionPresenter, coordinateConverter);
-
-        // Mock coordinate conversions
-        when(coordinateConverter.geoToPixel(any(GeoPosition.class))).thenAnswer(invocation -> {
-            GeoPosition geo = invocation.getArgument(0);
-            return new Point2D.Double(geo.getLongitude(), geo.getLatitude());
-        });
+        interactor = new SelectRegionInteractor(regionRepository, selectRegionPresenter);
     }
 
     @Test
@@ -120,4 +112,22 @@ class SelectRegionInteractorTest {
         // Assert
         verify(selectRegionPresenter).prepareSuccessView(argThat(output -> output.getProvinceName().equals("MultiPolygonRegion")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExecute_WhenRegionsChangeBetweenClicks_ShouldUseCurrentRegions() {
+        // Arrange
+        List<GeoPosition> boundary = List.of(new GeoPosition(0, 0), new GeoPosition(0, 20), new GeoPosition(20, 20), new GeoPosition(20, 0));
+        List<Region> regions = new ArrayList<>();
+        when(regionRepository.getAllRegions()).thenReturn(regions);
+        SelectRegionInputData inputData = new SelectRegionInputData(new GeoPosition(10, 10));
+        interactor.execute(inputData);
+
+        // Act
+        regions.add(new Region("Manitoba", List.of(boundary)));
+        interactor.execute(inputData);
+
+        // Assert
+        verify(selectRegionPresenter).prepareSuccessView(argThat(output -> output.getProvinceName().equals("None")));
+        verify(selectRegionPresenter).prepareSuccessView(argThat(output -> output.getProvinceName().equals("Manitoba")));
+    }
+}
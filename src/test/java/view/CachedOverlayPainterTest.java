@@ -0,0 +1,90 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.JXMapViewer;
+import org.jxmapviewer.OSMTileFactoryInfo;
+import org.jxmapviewer.viewer.DefaultTileFactory;
+import org.jxmapviewer.viewer.GeoPosition;
+
+class CachedOverlayPainterTest {
+
+    private final List<Rectangle> renderedAreas = new ArrayList<>();
+    private JXMapViewer map;
+    private CachedOverlayPainter painter;
+    private BufferedImage screen;
+    private Point2D dot;
+
+    @BeforeEach
+    void setUp() {
+        map = new JXMapViewer();
+        map.setTileFactory(new DefaultTileFactory(new OSMTileFactoryInfo()));
+        map.setSize(400, 300);
+        map.setZoom(5);
+        map.setCenterPosition(new GeoPosition(50.0, -100.0));
+        dot = map.getCenter();
+        // paints one pixel at a fixed point of the world
+        painter = new CachedOverlayPainter((g, viewer, area) -> {
+            renderedAreas.add(area);
+            g.setColor(Color.RED);
+            g.fillRect((int) dot.getX() - area.x, (int) dot.getY() - area.y, 1, 1);
+        });
+        screen = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Tests that panning within the margin reuses the rendered overlay and shifts it with the map.
+     */
+    @Test
+    void panWithinMarginOnlyMovesImage() {
+        paint();
+        pan(50, -30);
+        paint();
+
+        assertEquals(1, renderedAreas.size());
+        final Rectangle viewport = map.getViewportBounds();
+        assertEquals(Color.RED.getRGB(), screen.getRGB((int) dot.getX() - viewport.x, (int) dot.getY() - viewport.y));
+    }
+
+    /**
+     * Tests that the overlay is rendered again when the pan leaves the margin, the zoom changes or it is invalidated.
+     */
+    @Test
+    void rendersAgainWhenCacheNoLongerApplies() {
+        paint();
+        pan(MapViewConfig.OVERLAY_CACHE_MARGIN + 1, 0);
+        paint();
+        assertEquals(2, renderedAreas.size());
+
+        map.setZoom(4);
+        paint();
+        assertEquals(3, renderedAreas.size());
+
+        painter.invalidate();
+        paint();
+        assertEquals(4, renderedAreas.size());
+    }
+
+    private void pan(final int dx, final int dy) {
+        final Point2D center = map.getCenter();
+        map.setCenter(new Point2D.Double(center.getX() + dx, center.getY() + dy));
+    }
+
+    private void paint() {
+        final Graphics2D g = screen.createGraphics();
+        try {
+            painter.paint(g, map, 400, 300);
+        } finally {
+            g.dispose();
+        }
+    }
+}
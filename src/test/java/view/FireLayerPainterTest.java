@@ -0,0 +1,78 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.JXMapViewer;
+import org.jxmapviewer.OSMTileFactoryInfo;
+import org.jxmapviewer.viewer.DefaultTileFactory;
+import org.jxmapviewer.viewer.GeoPosition;
+import org.jxmapviewer.viewer.TileFactoryInfo;
+
+class FireLayerPainterTest {
+
+    private final TileFactoryInfo info = new OSMTileFactoryInfo();
+    private final List<Point2D> circles = new ArrayList<>();
+    private final List<Point2D> markers = new ArrayList<>();
+    private JXMapViewer map;
+    private FireLayerPainter painter;
+    private Graphics2D graphics;
+
+    @BeforeEach
+    void setUp() {
+        map = new JXMapViewer();
+        map.setTileFactory(new DefaultTileFactory(info));
+        map.setSize(800, 600);
+        map.setZoom(info.getMinimumZoomLevel());
+        painter = new FireLayerPainter(new FireWaypointRenderer() {
+            @Override
+            public void paintFire(Graphics2D g, double x, double y, double pixelRadius) {
+                circles.add(new Point2D.Double(x, y));
+            }
+        }, new FireMarkerRenderer() {
+            @Override
+            public void paintMarker(Graphics2D g, double centerX, double centerY) {
+                markers.add(new Point2D.Double(centerX, centerY));
+            }
+        });
+        graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    }
+
+    /**
+     * Tests that only the fires inside the viewport are painted, where the tile factory would project them.
+     */
+    @Test
+    void paintsOnlyFiresInViewport() {
+        final GeoPosition visible = new GeoPosition(50.0, -120.0);
+        painter.setLayer(FireLayer.build(List.of(new FireWaypoint(visible, 0.001),
+                new FireWaypoint(new GeoPosition(45.0, -75.0), 0.001)), new double[]{1, 1}, info));
+        map.setCenterPosition(visible);
+
+        painter.paint(graphics, map, 800, 600);
+
+        final Point2D expected = map.getTileFactory().geoToPixel(visible, map.getZoom());
+        assertEquals(1, circles.size());
+        assertEquals(1, markers.size());
+        assertEquals(expected.getX(), markers.get(0).getX(), 1e-6);
+        assertEquals(expected.getY(), markers.get(0).getY(), 1e-6);
+        assertEquals(expected.getX(), circles.get(0).getX(), 1e-6);
+    }
+
+    /**
+     * Tests that the empty layer paints nothing.
+     */
+    @Test
+    void emptyLayerPaintsNothing() {
+        painter.paint(graphics, map, 800, 600);
+
+        assertTrue(circles.isEmpty());
+        assertTrue(markers.isEmpty());
+    }
+}
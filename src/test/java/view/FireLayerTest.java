@@ -0,0 +1,129 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import entities.Coordinate;
+import entities.Fire;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.jxmapviewer.OSMTileFactoryInfo;
+import org.jxmapviewer.viewer.TileFactoryInfo;
+
+class FireLayerTest {
+
+    private final TileFactoryInfo info = new OSMTileFactoryInfo();
+
+    /**
+     * Tests that nearby fires are shown alone when zoomed in and as one badge when zoomed out.
+     */
+    @Test
+    void nearbyFiresMergeWhenZoomedOut() {
+        final FireLayer layer = FireLayer.build(List.of(fire(50.0, -120.0, 10), fire(50.01, -120.01, 5),
+                fire(45.0, -75.0, 7)), info);
+
+        final FireLayer.Level detailed = layer.level(info.getMinimumZoomLevel());
+        assertEquals(3, detailed.size);
+        for (int i = 0; i < detailed.size; i++) {
+            assertEquals(1, detailed.count[i]);
+            assertTrue(detailed.fire[i] >= 0);
+        }
+
+        final FireLayer.Level national = layer.level(info.getMaximumZoomLevel());
+        assertEquals(2, national.size);
+        final int merged = national.count[0] == 2 ? 0 : 1;
+        assertEquals(2, national.count[merged]);
+        assertEquals(15.0, national.frp[merged], 1e-9);
+        assertEquals(-1, national.fire[merged]);
+        assertEquals(2, national.fire[1 - merged]);
+    }
+
+    /**
+     * Tests that every level accounts for every fire and its FRP.
+     */
+    @Test
+    void everyLevelKeepsAllFires() {
+        final Random random = new Random(3);
+        final List<Fire> fires = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            fires.add(fire(45 + random.nextDouble() * 15, -130 + random.nextDouble() * 60, 1));
+        }
+        final FireLayer layer = FireLayer.build(fires, info);
+
+        int previousSize = Integer.MAX_VALUE;
+        for (int zoom = info.getMinimumZoomLevel(); zoom <= info.getMaximumZoomLevel(); zoom++) {
+            final FireLayer.Level level = layer.level(zoom);
+            int count = 0;
+            double frp = 0;
+            for (int i = 0; i < level.size; i++) {
+                count += level.count[i];
+                frp += level.frp[i];
+            }
+            assertEquals(fires.size(), count);
+            assertEquals(fires.size(), frp, 1e-6);
+            assertTrue(level.size <= previousSize);
+            previousSize = level.size;
+        }
+    }
+
+    /**
+     * Tests that a viewport query visits the clusters inside it and skips those far away.
+     */
+    @Test
+    void queryVisitsOnlyClustersNearViewport() {
+        final FireLayer layer = FireLayer.build(List.of(fire(50.0, -120.0, 1), fire(45.0, -75.0, 1)), info);
+        final FireLayer.Level level = layer.level(info.getMinimumZoomLevel());
+        final int west = level.fire[0] == 0 ? 0 : 1;
+        final int x = (int) (level.x[west] * level.worldSize);
+        final int y = (int) (level.y[west] * level.worldSize);
+
+        final Set<Integer> visited = new HashSet<>();
+        level.query(new Rectangle(x - 500, y - 400, 1000, 800), 0, visited::add);
+
+        assertEquals(Set.of(west), visited);
+    }
+
+    /**
+     * Tests that hovering finds the nearest fire shown on its own, and nothing over a badge or empty map.
+     */
+    @Test
+    void fireAtFindsNearestMarker() {
+        final FireLayer layer = FireLayer.build(List.of(fire(50.0, -120.0, 10), fire(50.01, -120.01, 5),
+                fire(45.0, -75.0, 7)), info);
+        final int detailed = info.getMinimumZoomLevel();
+        final FireLayer.Level level = layer.level(detailed);
+        final int second = level.fire[0] == 1 ? 0 : level.fire[1] == 1 ? 1 : 2;
+        final double x = level.x[second] * level.worldSize;
+        final double y = level.y[second] * level.worldSize;
+
+        assertEquals(layer.getWaypoints().get(1), layer.fireAt(detailed, x + 3, y - 3, 8));
+        assertNull(layer.fireAt(detailed, x + 30, y, 8));
+
+        final FireLayer.Level national = layer.level(info.getMaximumZoomLevel());
+        final int badge = national.count[0] == 2 ? 0 : 1;
+        assertNull(layer.fireAt(info.getMaximumZoomLevel(), national.x[badge] * national.worldSize,
+                national.y[badge] * national.worldSize, 8));
+        assertNull(FireLayer.EMPTY.fireAt(detailed, x, y, 8));
+    }
+
+    /**
+     * Tests that the empty layer paints nothing.
+     */
+    @Test
+    void emptyLayerHasNoLevels() {
+        assertNull(FireLayer.EMPTY.level(info.getMinimumZoomLevel()));
+        assertTrue(FireLayer.build(List.of(), info).level(info.getMaximumZoomLevel()).size == 0);
+    }
+
+    private static Fire fire(double lat, double lon, double frp) {
+        final Coordinate point = new Coordinate(lat, lon, new String[]{"2025-08-01", "D", "h"},
+                new double[]{300, 300}, frp);
+        return new Fire(0.001, point, List.of(point));
+    }
+}
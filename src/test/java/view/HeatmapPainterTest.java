@@ -0,0 +1,96 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import entities.Coordinate;
+import entities.Fire;
+import entities.FireBatch;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HeatmapPainterTest {
+
+    private static final int TILE_SIZE = 256;
+    private static final long TILES_ACROSS = 1024;
+
+    /**
+     * Tests that detections colour the pixels around them and leave the rest of the tile transparent.
+     */
+    @Test
+    void rendersDensityAroundDetections() {
+        final HeatmapPainter.Density density = HeatmapPainter.Density.of(List.of(fire(50.0, -120.0, 50.0, -120.0)));
+        final double worldSize = (double) TILES_ACROSS * TILE_SIZE;
+        final double x = density.x[0] * worldSize;
+        final double y = density.y[0] * worldSize;
+        final long column = (long) (x / TILE_SIZE);
+        final long row = (long) (y / TILE_SIZE);
+
+        final BufferedImage tile = HeatmapPainter.renderTile(density, column, row, TILE_SIZE, TILES_ACROSS);
+
+        final int px = (int) (x - column * TILE_SIZE);
+        final int py = (int) (y - row * TILE_SIZE);
+        assertTrue(alpha(tile.getRGB(px, py)) > 0);
+        assertEquals(0, alpha(tile.getRGB((px + TILE_SIZE / 2) % TILE_SIZE, (py + TILE_SIZE / 2) % TILE_SIZE)));
+    }
+
+    /**
+     * Tests that a detection near the edge of a tile also colours the neighbouring tile, so tiles join up.
+     */
+    @Test
+    void detectionsReachIntoNeighbouringTiles() {
+        final double worldSize = (double) TILES_ACROSS * TILE_SIZE;
+        // a longitude one pixel west of the boundary between two tile columns
+        final long column = 300;
+        final double lon = ((column + 1) * TILE_SIZE - 1) / worldSize * 360 - 180;
+        final HeatmapPainter.Density density = HeatmapPainter.Density.of(List.of(fire(50.0, lon, 50.0, lon)));
+        final long row = (long) (density.y[0] * worldSize / TILE_SIZE);
+        final int py = (int) (density.y[0] * worldSize - row * TILE_SIZE);
+
+        final BufferedImage east = HeatmapPainter.renderTile(density, column + 1, row, TILE_SIZE, TILES_ACROSS);
+
+        assertTrue(alpha(east.getRGB(0, py)) > 0);
+    }
+
+    /**
+     * Tests that every detection of every fire is indexed.
+     */
+    @Test
+    void indexesAllDetections() {
+        final HeatmapPainter.Density density = HeatmapPainter.Density.of(List.of(
+                fire(50.0, -120.0, 50.01, -120.01), fire(45.0, -75.0, 45.0, -75.0)));
+
+        assertEquals(4, density.size);
+    }
+
+    /**
+     * Tests that fires backed by a FireBatch are indexed from its columns at the same positions as Coordinates.
+     */
+    @Test
+    void indexesBatchBackedFires() {
+        final Fire listFire = fire(50.0, -120.0, 50.01, -120.01);
+        final FireBatch batch = new FireBatch.Builder().addAll(listFire.getCoordinates()).build();
+        final Fire batchFire = new Fire(0.001, batch.get(0), batch);
+
+        final HeatmapPainter.Density fromList = HeatmapPainter.Density.of(List.of(listFire));
+        final HeatmapPainter.Density fromBatch = HeatmapPainter.Density.of(List.of(batchFire));
+
+        assertEquals(2, fromBatch.size);
+        assertArrayEquals(fromList.x, fromBatch.x);
+        assertArrayEquals(fromList.y, fromBatch.y);
+    }
+
+    private static int alpha(int argb) {
+        return argb >>> 24;
+    }
+
+    private static Fire fire(double lat1, double lon1, double lat2, double lon2) {
+        final Coordinate first = new Coordinate(lat1, lon1, new String[]{"2025-08-01", "D", "h"},
+                new double[]{300, 300}, 1);
+        final Coordinate second = new Coordinate(lat2, lon2, new String[]{"2025-08-01", "D", "h"},
+                new double[]{300, 300}, 1);
+        return new Fire(0.001, first, List.of(first, second));
+    }
+}